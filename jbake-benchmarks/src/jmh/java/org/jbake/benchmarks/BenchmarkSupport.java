@@ -0,0 +1,151 @@
+package org.jbake.benchmarks;
+
+import org.jbake.app.ContentStore;
+import org.jbake.app.InMemoryContentStore;
+import org.jbake.app.OrientContentStore;
+import org.jbake.app.configuration.ConfigUtil;
+import org.jbake.app.configuration.DefaultJBakeConfiguration;
+import org.jbake.model.DocumentTypes;
+import org.jbake.template.ModelExtractors;
+import org.jbake.template.ModelExtractorsDocumentTypeListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sets up the configuration, stores and folders the benchmarks bake generated sites with.
+ */
+public final class BenchmarkSupport {
+
+    /**
+     * System property holding the folder with the template folders of every template engine, set by the build to
+     * the fixture of the jbake-core tests.
+     */
+    public static final String FIXTURE_PROPERTY = "jbake.benchmark.fixture";
+
+    private static final Map<String, String[]> TEMPLATES = new HashMap<>();
+
+    static {
+        TEMPLATES.put("freemarker", new String[]{"freemarkerTemplates", "ftl"});
+        TEMPLATES.put("groovy", new String[]{"groovyTemplates", "gsp"});
+        TEMPLATES.put("groovy-markup", new String[]{"groovyMarkupTemplates", "tpl"});
+        TEMPLATES.put("jade", new String[]{"jadeTemplates", "jade"});
+        TEMPLATES.put("pebble", new String[]{"pebbleTemplates", "pebble"});
+        TEMPLATES.put("thymeleaf", new String[]{"thymeleafTemplates", "thyme"});
+    }
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Loads the configuration of a generated site, rendering it with the templates of a template engine.
+     *
+     * @param source         the source folder of the site
+     * @param templateEngine freemarker, groovy, groovy-markup, jade, pebble or thymeleaf
+     * @param store          the store type: heap, memory or plocal
+     * @return the configuration
+     * @throws Exception if the configuration can't be loaded
+     */
+    public static DefaultJBakeConfiguration configure(File source, String templateEngine, String store) throws Exception {
+        String[] templates = TEMPLATES.get(templateEngine);
+        if (templates == null) {
+            throw new IllegalArgumentException("Unknown template engine " + templateEngine);
+        }
+        String fixture = System.getProperty(FIXTURE_PROPERTY);
+        if (fixture == null) {
+            throw new IllegalStateException("System property " + FIXTURE_PROPERTY + " isn't set");
+        }
+
+        DefaultJBakeConfiguration config = (DefaultJBakeConfiguration) new ConfigUtil().loadConfig(source);
+        config.setDestinationFolder(new File(source, "output"));
+        config.setTemplateFolder(new File(fixture, templates[0]));
+        for (String docType : config.getDocumentTypes()) {
+            File templateFile = config.getTemplateFileByDocType(docType);
+            if (templateFile != null) {
+                String fileName = templateFile.getName();
+                config.setTemplateFileNameForDocType(docType, fileName.substring(0, fileName.lastIndexOf('.')) + "." + templates[1]);
+            }
+        }
+        config.setDatabaseStore(store);
+        config.setDatabasePath(new File(source, "db").getAbsolutePath());
+        return config;
+    }
+
+    /**
+     * Registers the document types of the configuration, as a bake does before crawling.
+     *
+     * @param config the configuration
+     */
+    public static void registerDocumentTypes(DefaultJBakeConfiguration config) {
+        DocumentTypes.resetDocumentTypes();
+        ModelExtractors.getInstance().reset();
+        DocumentTypes.addListener(new ModelExtractorsDocumentTypeListener());
+        for (String docType : config.getDocumentTypes()) {
+            DocumentTypes.addDocumentType(docType);
+        }
+    }
+
+    /**
+     * Opens a new, empty store. Unlike {@link org.jbake.app.DBUtil#createDataStore(org.jbake.app.configuration.JBakeConfiguration)}
+     * every call returns a new store.
+     *
+     * @param type the store type: heap, memory or plocal
+     * @param name the name of the database
+     * @return the started store
+     */
+    public static ContentStore openStore(String type, String name) {
+        ContentStore store = "heap".equals(type) ? new InMemoryContentStore() : new OrientContentStore(type, name);
+        store.startup();
+        return store;
+    }
+
+    /**
+     * @param store the store to close
+     */
+    public static void closeStore(ContentStore store) {
+        if (store != null) {
+            store.close();
+            store.shutdown();
+        }
+    }
+
+    /**
+     * @return a new temporary folder
+     * @throws IOException if the folder can't be created
+     */
+    public static File createTempFolder() throws IOException {
+        return Files.createTempDirectory("jbake-benchmark").toFile();
+    }
+
+    /**
+     * Deletes a folder and its contents.
+     *
+     * @param folder the folder
+     * @throws IOException if a file can't be deleted
+     */
+    public static void delete(File folder) throws IOException {
+        if (folder == null || !folder.exists()) {
+            return;
+        }
+        Files.walkFileTree(folder.toPath(), new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
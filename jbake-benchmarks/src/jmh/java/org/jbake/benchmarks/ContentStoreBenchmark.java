@@ -0,0 +1,113 @@
+package org.jbake.benchmarks;
+
+import org.jbake.app.ContentStore;
+import org.jbake.app.Crawler;
+import org.jbake.app.DocumentList;
+import org.jbake.app.configuration.DefaultJBakeConfiguration;
+import org.jbake.model.DocumentAttributes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the queries used while rendering against a store holding a crawled site.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentStoreBenchmark {
+
+    @Param({"1000", "10000"})
+    public int documents;
+
+    @Param({"heap", "memory"})
+    public String store;
+
+    @Param({"50", "1000"})
+    public int tags;
+
+    private File source;
+    private ContentStore db;
+    private String uri;
+
+    @Setup
+    public void setUp() throws Exception {
+        source = BenchmarkSupport.createTempFolder();
+        SiteGenerator generator = new SiteGenerator(42);
+        generator.setDocuments(documents);
+        generator.setTags(tags);
+        generator.generate(source);
+        DefaultJBakeConfiguration config = BenchmarkSupport.configure(source, "freemarker", store);
+        BenchmarkSupport.registerDocumentTypes(config);
+        db = BenchmarkSupport.openStore(store, "queries-" + documents + "-" + tags);
+        new Crawler(db, config).crawl();
+        uri = (String) db.getAllContent("post").get(0).get(String.valueOf(DocumentAttributes.SOURCE_URI));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        BenchmarkSupport.closeStore(db);
+        BenchmarkSupport.delete(source);
+    }
+
+    @Benchmark
+    public long documentCount() {
+        return db.getDocumentCount("post");
+    }
+
+    @Benchmark
+    public DocumentList documentByUri() {
+        return db.getDocumentByUri("post", uri);
+    }
+
+    @Benchmark
+    public DocumentList publishedPosts() {
+        return db.getPublishedPosts();
+    }
+
+    @Benchmark
+    public DocumentList publishedPages() {
+        return db.getPublishedPages();
+    }
+
+    @Benchmark
+    public DocumentList publishedPostsByTag() {
+        return db.getPublishedPostsByTag("tag-1");
+    }
+
+    @Benchmark
+    public DocumentList publishedDocumentsByTag() {
+        return db.getPublishedDocumentsByTag("tag-1");
+    }
+
+    @Benchmark
+    public Set<String> allTags() {
+        return db.getAllTags();
+    }
+
+    @Benchmark
+    public DocumentList unrenderedContent() {
+        return db.getUnrenderedContent("post");
+    }
+
+    @Benchmark
+    public DocumentList documentStatuses() {
+        return db.getDocumentStatuses("post");
+    }
+}
@@ -0,0 +1,83 @@
+package org.jbake.benchmarks;
+
+import org.jbake.app.ContentStore;
+import org.jbake.app.Crawler;
+import org.jbake.app.configuration.DefaultJBakeConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Crawls a whole generated site into an empty store, as the first bake of a site does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CrawlerBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int documents;
+
+    @Param({"heap", "memory"})
+    public String store;
+
+    @Param({"post:80,page:20"})
+    public String documentTypeMix;
+
+    @Param({"md:60,adoc:20,html:20"})
+    public String markupMix;
+
+    private File source;
+    private DefaultJBakeConfiguration config;
+    private ContentStore db;
+    private int invocation;
+
+    @Setup(Level.Trial)
+    public void generate() throws Exception {
+        source = BenchmarkSupport.createTempFolder();
+        SiteGenerator generator = new SiteGenerator(42);
+        generator.setDocuments(documents);
+        generator.setDocumentTypeMix(documentTypeMix);
+        generator.setMarkupMix(markupMix);
+        generator.generate(source);
+        config = BenchmarkSupport.configure(source, "freemarker", store);
+        BenchmarkSupport.registerDocumentTypes(config);
+    }
+
+    @Setup(Level.Invocation)
+    public void openStore() {
+        db = BenchmarkSupport.openStore(store, "crawl-" + invocation++);
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeStore() {
+        BenchmarkSupport.closeStore(db);
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws Exception {
+        BenchmarkSupport.delete(source);
+    }
+
+    @Benchmark
+    public long crawl() {
+        new Crawler(db, config).crawl();
+        return db.getDocumentCount("post");
+    }
+}
@@ -0,0 +1,62 @@
+package org.jbake.benchmarks;
+
+import org.jbake.app.Parser;
+import org.jbake.app.configuration.DefaultJBakeConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a document and renders its markdown or asciidoc body to HTML.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarkupBenchmark {
+
+    @Param({"md", "adoc"})
+    public String markup;
+
+    @Param({"5", "50"})
+    public int paragraphs;
+
+    private File source;
+    private File file;
+    private Parser parser;
+
+    @Setup
+    public void setUp() throws Exception {
+        source = BenchmarkSupport.createTempFolder();
+        SiteGenerator generator = new SiteGenerator(42);
+        generator.setParagraphs(paragraphs);
+        file = generator.generateDocument(new File(source, SiteGenerator.CONTENT_FOLDER + File.separator + "post." + markup), markup);
+        DefaultJBakeConfiguration config = BenchmarkSupport.configure(source, "freemarker", "heap");
+        parser = new Parser(config);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        BenchmarkSupport.delete(source);
+    }
+
+    @Benchmark
+    public Map<String, Object> parse() {
+        return parser.processFile(file);
+    }
+}
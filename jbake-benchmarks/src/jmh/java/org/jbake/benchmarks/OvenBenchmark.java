@@ -0,0 +1,88 @@
+package org.jbake.benchmarks;
+
+import org.jbake.app.DBUtil;
+import org.jbake.app.Oven;
+import org.jbake.app.configuration.DefaultJBakeConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bakes a whole generated site from scratch: crawling, rendering every document and page, and copying the assets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OvenBenchmark {
+
+    @Param({"1000", "10000"})
+    public int documents;
+
+    @Param({"heap", "memory"})
+    public String store;
+
+    @Param({"freemarker"})
+    public String engine;
+
+    @Param({"50"})
+    public int tags;
+
+    @Param({"post:80,page:20"})
+    public String documentTypeMix;
+
+    @Param({"md:60,adoc:20,html:20"})
+    public String markupMix;
+
+    private File source;
+    private DefaultJBakeConfiguration config;
+
+    @Setup(Level.Trial)
+    public void generate() throws Exception {
+        source = BenchmarkSupport.createTempFolder();
+        SiteGenerator generator = new SiteGenerator(42);
+        generator.setDocuments(documents);
+        generator.setTags(tags);
+        generator.setDocumentTypeMix(documentTypeMix);
+        generator.setMarkupMix(markupMix);
+        generator.generate(source);
+        config = BenchmarkSupport.configure(source, engine, store);
+        config.setClearCache(true);
+    }
+
+    @Setup(Level.Invocation)
+    public void clean() throws Exception {
+        DBUtil.closeDataStore();
+        BenchmarkSupport.delete(config.getDestinationFolder());
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws Exception {
+        DBUtil.closeDataStore();
+        BenchmarkSupport.delete(source);
+    }
+
+    @Benchmark
+    public void bake() {
+        Oven oven = new Oven(config);
+        oven.bake();
+        if (!oven.getErrors().isEmpty()) {
+            throw new IllegalStateException("Bake failed", oven.getErrors().get(0));
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package org.jbake.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TimeZone;
+
+/**
+ * Generates synthetic sites to bake in benchmarks.
+ * <p>
+ * Sites are reproducible: the same seed and settings always produce the same files, with the same contents. The type
+ * and the markup format of every document are drawn from weighted mixes like <code>post:80,page:20</code>, and its
+ * tags from a fixed number of distinct tags.
+ */
+public class SiteGenerator {
+
+    public static final String CONTENT_FOLDER = "content";
+    public static final String ASSET_FOLDER = "assets";
+
+    private static final String[] WORDS = {"lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing",
+        "elit", "quisque", "vel", "diam", "purus", "curabitur", "nisi", "lacus", "nam", "nisl", "quam", "donec",
+        "libero", "pretium", "vulputate", "suspendisse", "arcu", "mattis", "imperdiet", "luctus", "pulvinar", "vitae",
+        "fermentum", "sollicitudin", "feugiat", "mauris", "ligula", "vestibulum", "tristique", "odio", "risus"};
+    private static final long FIRST_DATE = 1262304000000L;
+    private static final long DAY = 24L * 60 * 60 * 1000;
+    private static final int DOCUMENTS_PER_FOLDER = 100;
+
+    private final long seed;
+    private int documents = 1000;
+    private int tags = 50;
+    private int tagsPerDocument = 3;
+    private int paragraphs = 5;
+    private int assets = 20;
+    private int draftRatio = 5;
+    private Map<String, Integer> documentTypeMix = parseMix("post:80,page:20");
+    private Map<String, Integer> markupMix = parseMix("md:60,adoc:20,html:20");
+
+    public SiteGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @param documents number of content files to generate
+     */
+    public void setDocuments(int documents) {
+        this.documents = documents;
+    }
+
+    /**
+     * @param tags number of distinct tags used by the documents
+     */
+    public void setTags(int tags) {
+        this.tags = tags;
+    }
+
+    /**
+     * @param tagsPerDocument maximum number of tags of a document
+     */
+    public void setTagsPerDocument(int tagsPerDocument) {
+        this.tagsPerDocument = tagsPerDocument;
+    }
+
+    /**
+     * @param paragraphs number of paragraphs in the body of a document
+     */
+    public void setParagraphs(int paragraphs) {
+        this.paragraphs = paragraphs;
+    }
+
+    /**
+     * @param assets number of asset files to generate
+     */
+    public void setAssets(int assets) {
+        this.assets = assets;
+    }
+
+    /**
+     * @param draftRatio percentage of documents in draft status
+     */
+    public void setDraftRatio(int draftRatio) {
+        this.draftRatio = draftRatio;
+    }
+
+    /**
+     * @param mix weights of the document types, e.g. <code>post:80,page:20</code>
+     */
+    public void setDocumentTypeMix(String mix) {
+        this.documentTypeMix = parseMix(mix);
+    }
+
+    /**
+     * @param mix weights of the markup formats by file extension, e.g. <code>md:60,adoc:20,html:20</code>
+     */
+    public void setMarkupMix(String mix) {
+        this.markupMix = parseMix(mix);
+    }
+
+    /**
+     * Writes a site: its configuration, content files and assets.
+     *
+     * @param source the source folder of the site
+     * @return the generated content files
+     * @throws IOException if a file can't be written
+     */
+    public List<File> generate(File source) throws IOException {
+        Random random = new Random(seed);
+        write(new File(source, "jbake.properties"), configuration());
+
+        List<File> files = new ArrayList<>();
+        File contentFolder = new File(source, CONTENT_FOLDER);
+        for (int i = 0; i < documents; i++) {
+            String type = pick(documentTypeMix, random);
+            String extension = pick(markupMix, random);
+            File folder = new File(contentFolder, type + File.separator + (i / DOCUMENTS_PER_FOLDER));
+            File file = new File(folder, type + "-" + i + "." + extension);
+            write(file, document(random, i, type, extension));
+            files.add(file);
+        }
+
+        File assetFolder = new File(source, ASSET_FOLDER);
+        for (int i = 0; i < assets; i++) {
+            write(new File(assetFolder, "css" + File.separator + "style-" + i + ".css"),
+                ".style-" + i + " { color: #" + String.format("%06x", random.nextInt(0xffffff)) + "; }\n");
+        }
+        return files;
+    }
+
+    /**
+     * Writes a single published post.
+     *
+     * @param file      the content file
+     * @param extension the file extension of its markup format
+     * @return the file
+     * @throws IOException if the file can't be written
+     */
+    public File generateDocument(File file, String extension) throws IOException {
+        Random random = new Random(seed);
+        write(file, document(random, 0, "post", extension));
+        return file;
+    }
+
+    private String configuration() {
+        return "site.host=http://www.example.org\n"
+            + "render.tags=true\n"
+            + "render.sitemap=true\n"
+            + "template.feed.thymeleaf.mode=XML\n"
+            + "template.sitemap.thymeleaf.mode=XML\n";
+    }
+
+    private String document(Random random, int index, String type, String extension) {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+        Set<String> documentTags = new LinkedHashSet<>();
+        int tagCount = tags > 0 ? 1 + random.nextInt(Math.max(1, tagsPerDocument)) : 0;
+        for (int i = 0; i < tagCount; i++) {
+            documentTags.add("tag-" + random.nextInt(tags));
+        }
+        boolean draft = random.nextInt(100) < draftRatio;
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("title=").append(capitalize(sentence(random, 4))).append(" ").append(index).append('\n');
+        sb.append("date=").append(dateFormat.format(new Date(FIRST_DATE + index * DAY))).append('\n');
+        sb.append("type=").append(type).append('\n');
+        if (!documentTags.isEmpty()) {
+            sb.append("tags=").append(String.join(",", documentTags)).append('\n');
+        }
+        sb.append("status=").append(draft ? "draft" : "published").append('\n');
+        sb.append("~~~~~~\n\n");
+        for (int i = 0; i < paragraphs; i++) {
+            appendSection(sb, random, extension, i);
+        }
+        return sb.toString();
+    }
+
+    private void appendSection(StringBuilder sb, Random random, String extension, int section) {
+        String heading = capitalize(sentence(random, 3));
+        String paragraph = capitalize(sentence(random, 40 + random.nextInt(40))) + ".";
+        String item = sentence(random, 5);
+        String code = "int value = " + random.nextInt(1000) + ";";
+        boolean extras = section % 3 == 0;
+        if ("md".equals(extension)) {
+            sb.append("## ").append(heading).append("\n\n").append(paragraph).append("\n\n");
+            if (extras) {
+                sb.append("* ").append(item).append("\n* **").append(item).append("**\n\n");
+                sb.append("```java\n").append(code).append("\n```\n\n");
+            }
+        } else if ("adoc".equals(extension)) {
+            sb.append("== ").append(heading).append("\n\n").append(paragraph).append("\n\n");
+            if (extras) {
+                sb.append("* ").append(item).append("\n* *").append(item).append("*\n\n");
+                sb.append("[source,java]\n----\n").append(code).append("\n----\n\n");
+            }
+        } else {
+            sb.append("<h2>").append(heading).append("</h2>\n<p>").append(paragraph).append("</p>\n");
+            if (extras) {
+                sb.append("<ul><li>").append(item).append("</li><li><strong>").append(item).append("</strong></li></ul>\n");
+                sb.append("<pre><code>").append(code).append("</code></pre>\n");
+            }
+        }
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    private static String pick(Map<String, Integer> mix, Random random) {
+        int total = 0;
+        for (int weight : mix.values()) {
+            total += weight;
+        }
+        int value = random.nextInt(total);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            value -= entry.getValue();
+            if (value < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty mix");
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] entry = part.trim().split(":");
+            int weight = entry.length > 1 ? Integer.parseInt(entry[1].trim()) : 1;
+            if (weight > 0) {
+                weights.put(entry[0].trim(), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("No positive weight in mix '" + mix + "'");
+        }
+        return weights;
+    }
+
+    private static void write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
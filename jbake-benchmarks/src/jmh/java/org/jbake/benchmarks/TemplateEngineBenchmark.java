@@ -0,0 +1,100 @@
+package org.jbake.benchmarks;
+
+import org.jbake.app.ContentStore;
+import org.jbake.app.Crawler;
+import org.jbake.app.configuration.DefaultJBakeConfiguration;
+import org.jbake.template.AbstractTemplateEngine;
+import org.jbake.template.DelegatingTemplateEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders a post, the index and the archive of a crawled site with each template engine, into memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateEngineBenchmark {
+
+    @Param({"freemarker", "groovy", "groovy-markup", "jade", "pebble", "thymeleaf"})
+    public String engine;
+
+    @Param({"100", "1000"})
+    public int documents;
+
+    private File source;
+    private DefaultJBakeConfiguration config;
+    private ContentStore db;
+    private AbstractTemplateEngine templateEngine;
+    private Map<String, Object> post;
+
+    @Setup
+    public void setUp() throws Exception {
+        source = BenchmarkSupport.createTempFolder();
+        SiteGenerator generator = new SiteGenerator(42);
+        generator.setDocuments(documents);
+        generator.generate(source);
+        config = BenchmarkSupport.configure(source, engine, "heap");
+        BenchmarkSupport.registerDocumentTypes(config);
+        db = BenchmarkSupport.openStore("heap", "templates");
+        new Crawler(db, config).crawl();
+        templateEngine = new DelegatingTemplateEngine(db, config);
+        post = db.getPublishedPosts().get(0);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        BenchmarkSupport.closeStore(db);
+        BenchmarkSupport.delete(source);
+    }
+
+    @Benchmark
+    public String renderPost() throws Exception {
+        return render(post, "post");
+    }
+
+    @Benchmark
+    public String renderIndex() throws Exception {
+        return render(simpleContent("index"), "index");
+    }
+
+    @Benchmark
+    public String renderArchive() throws Exception {
+        return render(simpleContent("archive"), "archive");
+    }
+
+    private String render(Map<String, Object> content, String docType) throws Exception {
+        Map<String, Object> model = new HashMap<>();
+        model.put("content", content);
+        model.put("renderer", templateEngine);
+        StringWriter writer = new StringWriter();
+        templateEngine.renderDocument(model, config.getTemplateFileByDocType(docType).getName(), writer);
+        return writer.toString();
+    }
+
+    private static Map<String, Object> simpleContent(String type) {
+        Map<String, Object> content = new HashMap<>();
+        content.put("type", type);
+        content.put("rootpath", "");
+        return content;
+    }
+}
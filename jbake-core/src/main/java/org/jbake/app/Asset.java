@@ -4,16 +4,30 @@ import org.apache.commons.configuration.CompositeConfiguration;
 import org.apache.commons.io.FileUtils;
 import org.jbake.app.configuration.JBakeConfiguration;
 import org.jbake.app.configuration.JBakeConfigurationFactory;
+import org.jbake.util.ConcurrencyUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileFilter;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Deals with assets (static files such as css, js or image files).
@@ -23,8 +37,15 @@ import java.util.List;
 public class Asset {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Asset.class);
-    private final List<Throwable> errors = new LinkedList<>();
+    /**
+     * Name of the hidden file of the destination folder listing the asset files copied by the last sync.
+     */
+    static final String SYNC_MANIFEST = ".jbake-assets";
+    static final String STRATEGY_TRANSFER = "transfer";
+    static final String STRATEGY_LINK = "link";
+    private final List<Throwable> errors = Collections.synchronizedList(new LinkedList<Throwable>());
     private JBakeConfiguration config;
+    private FileTreeSnapshot snapshot;
 
     /**
      * @param source      Source file for the asset
@@ -48,6 +69,14 @@ public class Asset {
         this.config = config;
     }
 
+    /**
+     * @param snapshot the snapshot of the asset and content folders taken for the current bake, or null to scan the
+     *                 folders on every copy
+     */
+    public void setSnapshot(FileTreeSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
     /**
      * Copy all files from assets folder to destination folder
      * read from configuration
@@ -62,13 +91,37 @@ public class Asset {
      * @param path The starting path
      */
     public void copy(File path) {
-        FileFilter filter = new FileFilter() {
-            @Override
-            public boolean accept(File file) {
-                return (!config.getAssetIgnoreHidden() || !file.isHidden()) && (file.isFile() || FileUtil.directoryOnlyIfNotIgnored(file));
+        FileTreeSnapshot tree = getSnapshot(path);
+        copyFiles(collect(path, tree.getFiles(path, config.getAssetIgnoreHidden())), tree, false);
+    }
+
+    /**
+     * Brings the destination folder up to date with the assets folder and the asset files of the content folder.
+     * Asset files whose size and modification time match their copy are skipped, the copies of asset files
+     * deleted since the last sync are removed.
+     */
+    public void sync() {
+        File destination = config.getDestinationFolder();
+        File assetFolder = config.getAssetFolder();
+        File contentFolder = config.getContentFolder();
+        FileTreeSnapshot tree = getSnapshot(assetFolder, contentFolder);
+        Map<File, File> assets = collect(assetFolder, tree.getFiles(assetFolder, config.getAssetIgnoreHidden()));
+        assets.putAll(collect(contentFolder, tree.getNotContentFiles(contentFolder)));
+        copyFiles(assets, tree, true);
+
+        File manifest = new File(destination, SYNC_MANIFEST);
+        Map<String, String> previous = readManifest(manifest, destination);
+        Map<String, String> current = new HashMap<>();
+        for (File target : assets.values()) {
+            String path = relativePath(destination, target);
+            if (path.equals(SYNC_MANIFEST)) {
+                continue;
             }
-        };
-        copy(path, config.getDestinationFolder(), filter);
+            current.put(path, signature(target));
+            previous.remove(path);
+        }
+        removeDeletedAssets(destination, previous);
+        writeManifest(manifest, destination, current);
     }
 
     /**
@@ -99,7 +152,9 @@ public class Asset {
         boolean isAsset = false;
 
         try {
-            if(FileUtil.directoryOnlyIfNotIgnored(path.getParentFile())) {
+            boolean parentNotIgnored = snapshot != null ? snapshot.directoryOnlyIfNotIgnored(path.getParentFile())
+                : FileUtil.directoryOnlyIfNotIgnored(path.getParentFile());
+            if (parentNotIgnored) {
                 if (FileUtil.isFileInDirectory(path, config.getAssetFolder())) {
                     isAsset = true;
                 } else if (FileUtil.isFileInDirectory(path, config.getContentFolder())
@@ -119,7 +174,8 @@ public class Asset {
      * @param path of the content directory
      */
     public void copyAssetsFromContent(File path) {
-        copy(path, config.getDestinationFolder(), FileUtil.getNotContentFileFilter());
+        FileTreeSnapshot tree = getSnapshot(path);
+        copyFiles(collect(path, tree.getNotContentFiles(path)), tree, false);
     }
 
     /**
@@ -131,6 +187,14 @@ public class Asset {
         return new ArrayList<>(errors);
     }
 
+    /**
+     * Forgets the errors of previous copies, so that an Asset reused by several bakes only reports the errors of the
+     * current one.
+     */
+    public void clearErrors() {
+        errors.clear();
+    }
+
     private String assetSubPath(File asset) throws IOException {
         // First, strip asset folder from file path
         String targetFolder = asset.getCanonicalPath().replace(config.getAssetFolder().getCanonicalPath() + File.separatorChar, "");
@@ -139,28 +203,213 @@ public class Asset {
         return targetFolder;
     }
 
-    private void copy(File sourceFolder, File targetFolder, final FileFilter filter) {
-        final File[] assets = sourceFolder.listFiles(filter);
-        if (assets != null) {
-            Arrays.sort(assets);
-            for (File asset : assets) {
-                final File target = new File(targetFolder, asset.getName());
-                if (asset.isFile()) {
-                    copyFile(asset, target);
-                } else if (asset.isDirectory()) {
-                    copy(asset, target, filter);
-                }
+    /**
+     * @return the snapshot of the current bake if it covers all the given folders, a new snapshot otherwise
+     */
+    private FileTreeSnapshot getSnapshot(File... folders) {
+        if (snapshot != null) {
+            boolean covered = true;
+            for (File folder : folders) {
+                covered &= !folder.isDirectory() || snapshot.contains(folder);
+            }
+            if (covered) {
+                return snapshot;
+            }
+        }
+        return FileTreeSnapshot.scan(folders);
+    }
+
+    /**
+     * Maps the asset files below a folder to their target file in the destination folder.
+     */
+    private Map<File, File> collect(File sourceFolder, List<File> files) {
+        Map<File, File> assets = new LinkedHashMap<>();
+        Path source = sourceFolder.toPath();
+        for (File asset : files) {
+            assets.put(asset, new File(config.getDestinationFolder(), source.relativize(asset.toPath()).toString()));
+        }
+        return assets;
+    }
+
+    private void copyFiles(Map<File, File> assets, final FileTreeSnapshot tree, final boolean skipUpToDate) {
+        int threads = config.getAssetThreads();
+        if (threads <= 1 || assets.size() <= 1) {
+            for (Map.Entry<File, File> asset : assets.entrySet()) {
+                copyFileIfNeeded(asset.getKey(), asset.getValue(), tree, skipUpToDate);
+            }
+            return;
+        }
+
+        ExecutorService executor = ConcurrencyUtil.newFixedThreadPool("jbake-assets", threads);
+        try {
+            List<Future<Void>> copies = new ArrayList<>(assets.size());
+            for (final Map.Entry<File, File> asset : assets.entrySet()) {
+                copies.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        copyFileIfNeeded(asset.getKey(), asset.getValue(), tree, skipUpToDate);
+                        return null;
+                    }
+                }));
             }
+            for (Future<Void> copy : copies) {
+                ConcurrencyUtil.await(copy);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void copyFileIfNeeded(File asset, File target, FileTreeSnapshot tree, boolean skipUpToDate) {
+        if (skipUpToDate && isUpToDate(asset, tree.getAttributes(asset), target)) {
+            LOGGER.debug("Copying [{}]... up to date", asset.getPath());
+            return;
         }
+        copyFile(asset, target);
+    }
+
+    private boolean isUpToDate(File asset, BasicFileAttributes attributes, File target) {
+        long size = attributes != null ? attributes.size() : asset.length();
+        long lastModified = attributes != null ? attributes.lastModifiedTime().toMillis() : asset.lastModified();
+        return target.isFile() && target.length() == size && target.lastModified() == lastModified;
     }
 
     private void copyFile(File asset, File targetFolder) {
         try {
-            FileUtils.copyFile(asset, targetFolder);
+            writeFile(asset, targetFolder);
             LOGGER.info("Copying [{}]... done!", asset.getPath());
         } catch (IOException e) {
             LOGGER.error("Copying [{}]... failed!", asset.getPath(), e);
             errors.add(e);
         }
     }
+
+    /**
+     * Writes an asset file with the configured strategy. The target keeps the modification time of the asset file,
+     * so that the next sync can tell it is up to date.
+     */
+    private void writeFile(File asset, File target) throws IOException {
+        Files.createDirectories(target.getAbsoluteFile().getParentFile().toPath());
+        if (target.exists() && Files.isSameFile(asset.toPath(), target.toPath())) {
+            // a hard link from a previous bake: writing to it would truncate the asset itself
+            Files.delete(target.toPath());
+        }
+
+        String strategy = config.getAssetCopyStrategy();
+        if (STRATEGY_LINK.equals(strategy)) {
+            Files.deleteIfExists(target.toPath());
+            try {
+                Files.createLink(target.toPath(), asset.toPath());
+                return;
+            } catch (IOException | UnsupportedOperationException e) {
+                LOGGER.debug("Unable to link [{}], copying it instead", asset.getPath(), e);
+            }
+        } else if (STRATEGY_TRANSFER.equals(strategy)) {
+            transferFile(asset, target);
+            return;
+        }
+        FileUtils.copyFile(asset, target);
+    }
+
+    private void transferFile(File asset, File target) throws IOException {
+        try (FileChannel in = FileChannel.open(asset.toPath(), StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target.toPath(), StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                 StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        }
+        if (!target.setLastModified(asset.lastModified())) {
+            LOGGER.debug("Unable to set the modification time of [{}]", target.getPath());
+        }
+    }
+
+    /**
+     * Deletes the copies of asset files which are gone, unless they have been overwritten since the last sync. The
+     * manifest itself is never deleted.
+     */
+    private void removeDeletedAssets(File destination, Map<String, String> deleted) {
+        for (Map.Entry<String, String> entry : deleted.entrySet()) {
+            if (entry.getKey().equals(SYNC_MANIFEST)) {
+                continue;
+            }
+            File target = new File(destination, entry.getKey());
+            if (target.isFile() && signature(target).equals(entry.getValue())) {
+                if (target.delete()) {
+                    LOGGER.info("Removing [{}]... done!", target.getPath());
+                    removeEmptyFolders(destination, target.getParentFile());
+                } else {
+                    LOGGER.warn("Removing [{}]... failed!", target.getPath());
+                }
+            }
+        }
+    }
+
+    private void removeEmptyFolders(File destination, File folder) {
+        File current = folder;
+        while (current != null && !current.equals(destination)) {
+            String[] children = current.list();
+            if (children == null || children.length > 0 || !current.delete()) {
+                return;
+            }
+            current = current.getParentFile();
+        }
+    }
+
+    private String relativePath(File destination, File target) {
+        return destination.toPath().relativize(target.toPath()).toString().replace(File.separatorChar, '/');
+    }
+
+    private String signature(File target) {
+        return target.length() + ":" + target.lastModified();
+    }
+
+    /**
+     * Reads the manifest of the last sync, which is ignored if it was written for another destination folder.
+     *
+     * @return the signature of the copied files by their path relative to the destination folder
+     */
+    private Map<String, String> readManifest(File manifest, File destination) {
+        Map<String, String> entries = new HashMap<>();
+        if (!manifest.isFile()) {
+            return entries;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(manifest.toPath(), StandardCharsets.UTF_8)) {
+            if (!destination.getAbsolutePath().equals(reader.readLine())) {
+                return entries;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.lastIndexOf('\t');
+                if (separator > 0) {
+                    entries.put(line.substring(0, separator), line.substring(separator + 1));
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read the asset manifest {}", manifest, e);
+            entries.clear();
+        }
+        return entries;
+    }
+
+    private void writeManifest(File manifest, File destination, Map<String, String> entries) {
+        try {
+            Files.createDirectories(destination.toPath());
+        } catch (IOException e) {
+            LOGGER.warn("Unable to write the asset manifest {}", manifest, e);
+            return;
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(manifest.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(destination.getAbsolutePath());
+            writer.newLine();
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                writer.write(entry.getKey() + '\t' + entry.getValue());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to write the asset manifest {}", manifest, e);
+        }
+    }
 }
@@ -0,0 +1,468 @@
+package org.jbake.app;
+
+import org.json.simple.JSONValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the timings and counts of a bake, to tell which part of a slow bake is responsible.
+ * <p>
+ * The {@link Oven} resets the metrics when a bake starts, records the wall time of every bake phase and rendering
+ * tool, and lets the {@link Crawler}, the {@link Renderer} and the {@link MeteredContentStore} record the time spent
+ * in every parser engine, template engine and store query. Metrics may be recorded from several threads at once.
+ */
+public class BakeMetrics {
+
+    /**
+     * Counter of the source files hashed by the crawler.
+     */
+    public static final String FILES_HASHED = "files.hashed";
+    /**
+     * Counter of the source files whose recorded hash has been reused because their attributes were unchanged.
+     */
+    public static final String FILES_SKIPPED = "files.skipped";
+    /**
+     * Counter of the source files parsed by the crawler.
+     */
+    public static final String DOCUMENTS_PARSED = "documents.parsed";
+    /**
+     * Counter of the source files whose document has been taken from the {@link ParsedDocumentCache}.
+     */
+    public static final String DOCUMENTS_CACHED = "documents.cached";
+    /**
+     * Counter of the documents rendered to their own file.
+     */
+    public static final String DOCUMENTS_RENDERED = "documents.rendered";
+
+    private static final int DEFAULT_SLOWEST_DOCUMENTS = 10;
+
+    private final int slowestDocumentsLimit;
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private final Map<String, Long> renderingTools = new LinkedHashMap<>();
+    private final ConcurrentMap<String, Timing> parserEngines = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timing> templateEngines = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timing> queries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final List<DocumentTiming> slowestParsed = new ArrayList<>();
+    private final List<DocumentTiming> slowestRendered = new ArrayList<>();
+    private long startTime;
+    private long duration;
+
+    public BakeMetrics() {
+        this(DEFAULT_SLOWEST_DOCUMENTS);
+    }
+
+    /**
+     * @param slowestDocumentsLimit number of slowest parsed and rendered documents to keep
+     */
+    public BakeMetrics(int slowestDocumentsLimit) {
+        this.slowestDocumentsLimit = slowestDocumentsLimit;
+    }
+
+    /**
+     * Forgets everything recorded and starts timing a new bake.
+     */
+    public synchronized void reset() {
+        phases.clear();
+        renderingTools.clear();
+        parserEngines.clear();
+        templateEngines.clear();
+        queries.clear();
+        counters.clear();
+        synchronized (slowestParsed) {
+            slowestParsed.clear();
+        }
+        synchronized (slowestRendered) {
+            slowestRendered.clear();
+        }
+        startTime = System.nanoTime();
+        duration = 0;
+    }
+
+    /**
+     * Stops timing the bake.
+     */
+    public synchronized void finish() {
+        duration = System.nanoTime() - startTime;
+    }
+
+    /**
+     * @param phase the bake phase, e.g. crawl or render
+     * @param nanos the wall time spent in the phase, added to any time already recorded for it
+     */
+    public synchronized void recordPhase(String phase, long nanos) {
+        add(phases, phase, nanos);
+    }
+
+    /**
+     * @param tool  the simple name of the rendering tool class
+     * @param nanos the wall time spent in the rendering tool
+     * @param count the number of files the tool rendered
+     */
+    public synchronized void recordRenderingTool(String tool, long nanos, int count) {
+        add(renderingTools, tool, nanos);
+        increment("rendered." + tool, count);
+    }
+
+    /**
+     * @param engine the simple name of the parser engine class
+     * @param file   the parsed source file
+     * @param nanos  the time spent parsing the file
+     */
+    public void recordParse(String engine, String file, long nanos) {
+        timing(parserEngines, engine).record(nanos);
+        increment(DOCUMENTS_PARSED, 1);
+        keepSlowest(slowestParsed, new DocumentTiming(file, engine, nanos));
+    }
+
+    /**
+     * @param engine the simple name of the template engine class
+     * @param nanos  the time spent rendering a template
+     */
+    public void recordTemplate(String engine, long nanos) {
+        timing(templateEngines, engine).record(nanos);
+    }
+
+    /**
+     * @param uri      the uri of the rendered document
+     * @param template the name of the template the document has been rendered with
+     * @param nanos    the time spent rendering and writing the document
+     */
+    public void recordRender(String uri, String template, long nanos) {
+        increment(DOCUMENTS_RENDERED, 1);
+        keepSlowest(slowestRendered, new DocumentTiming(uri, template, nanos));
+    }
+
+    /**
+     * @param query the name of the store method
+     * @param nanos the time spent in the store
+     */
+    public void recordQuery(String query, long nanos) {
+        timing(queries, query).record(nanos);
+    }
+
+    /**
+     * @param counter the counter name
+     * @param delta   the value to add to the counter
+     */
+    public void increment(String counter, long delta) {
+        AtomicLong value = counters.get(counter);
+        if (value == null) {
+            AtomicLong created = new AtomicLong();
+            value = counters.putIfAbsent(counter, created);
+            if (value == null) {
+                value = created;
+            }
+        }
+        value.addAndGet(delta);
+    }
+
+    /**
+     * @return the wall time of the last finished bake in milliseconds
+     */
+    public synchronized long getDuration() {
+        return toMillis(duration);
+    }
+
+    /**
+     * @return the wall time of every bake phase in milliseconds, in the order the phases ran
+     */
+    public synchronized Map<String, Long> getPhases() {
+        return toMillis(phases);
+    }
+
+    /**
+     * @return the wall time of every rendering tool in milliseconds, in the order the tools ran
+     */
+    public synchronized Map<String, Long> getRenderingTools() {
+        return toMillis(renderingTools);
+    }
+
+    /**
+     * @return the parsing times by parser engine
+     */
+    public Map<String, Timing> getParserEngines() {
+        return Collections.unmodifiableMap(new TreeMap<>(parserEngines));
+    }
+
+    /**
+     * @return the rendering times by template engine
+     */
+    public Map<String, Timing> getTemplateEngines() {
+        return Collections.unmodifiableMap(new TreeMap<>(templateEngines));
+    }
+
+    /**
+     * @return the times spent in the content store by store method
+     */
+    public Map<String, Timing> getQueries() {
+        return Collections.unmodifiableMap(new TreeMap<>(queries));
+    }
+
+    /**
+     * @param counter the counter name
+     * @return the value of the counter
+     */
+    public long getCounter(String counter) {
+        AtomicLong value = counters.get(counter);
+        return value != null ? value.get() : 0;
+    }
+
+    /**
+     * @return the value of every counter, by name
+     */
+    public Map<String, Long> getCounters() {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<String, AtomicLong> counter : counters.entrySet()) {
+            result.put(counter.getKey(), counter.getValue().get());
+        }
+        return result;
+    }
+
+    /**
+     * @return the slowest parsed source files, slowest first
+     */
+    public List<DocumentTiming> getSlowestParsedDocuments() {
+        synchronized (slowestParsed) {
+            return new ArrayList<>(slowestParsed);
+        }
+    }
+
+    /**
+     * @return the slowest rendered documents, slowest first
+     */
+    public List<DocumentTiming> getSlowestRenderedDocuments() {
+        synchronized (slowestRendered) {
+            return new ArrayList<>(slowestRendered);
+        }
+    }
+
+    /**
+     * @return the metrics as a JSON document
+     */
+    public String toJson() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("durationMs", getDuration());
+        report.put("phases", getPhases());
+        report.put("renderingTools", getRenderingTools());
+        report.put("parserEngines", toModel(getParserEngines()));
+        report.put("templateEngines", toModel(getTemplateEngines()));
+        report.put("queries", toModel(getQueries()));
+        report.put("counters", getCounters());
+        report.put("slowestParsedDocuments", toModel(getSlowestParsedDocuments()));
+        report.put("slowestRenderedDocuments", toModel(getSlowestRenderedDocuments()));
+        return JSONValue.toJSONString(report);
+    }
+
+    /**
+     * Writes the metrics as a JSON document.
+     *
+     * @param file the report file
+     * @throws IOException if the file can't be written
+     */
+    public void writeReport(File file) throws IOException {
+        File folder = file.getAbsoluteFile().getParentFile();
+        if (folder != null) {
+            folder.mkdirs();
+        }
+        try (Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8)) {
+            writer.write(toJson());
+        }
+    }
+
+    private void keepSlowest(List<DocumentTiming> slowest, DocumentTiming timing) {
+        synchronized (slowest) {
+            if (slowest.size() >= slowestDocumentsLimit) {
+                if (slowest.isEmpty() || slowest.get(slowest.size() - 1).nanos >= timing.nanos) {
+                    return;
+                }
+                slowest.remove(slowest.size() - 1);
+            }
+            int index = 0;
+            while (index < slowest.size() && slowest.get(index).nanos >= timing.nanos) {
+                index++;
+            }
+            slowest.add(index, timing);
+        }
+    }
+
+    private static Timing timing(ConcurrentMap<String, Timing> timings, String name) {
+        Timing timing = timings.get(name);
+        if (timing == null) {
+            Timing created = new Timing();
+            timing = timings.putIfAbsent(name, created);
+            if (timing == null) {
+                timing = created;
+            }
+        }
+        return timing;
+    }
+
+    private static void add(Map<String, Long> times, String name, long nanos) {
+        Long previous = times.get(name);
+        times.put(name, previous != null ? previous + nanos : nanos);
+    }
+
+    private static Map<String, Long> toMillis(Map<String, Long> times) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> time : times.entrySet()) {
+            result.put(time.getKey(), toMillis(time.getValue()));
+        }
+        return result;
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static Map<String, Object> toModel(Map<String, Timing> timings) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Timing> timing : timings.entrySet()) {
+            result.put(timing.getKey(), timing.getValue().toModel());
+        }
+        return result;
+    }
+
+    private static List<Object> toModel(List<DocumentTiming> timings) {
+        List<Object> result = new ArrayList<>();
+        for (DocumentTiming timing : timings) {
+            Map<String, Object> model = new LinkedHashMap<>();
+            model.put("document", timing.getDocument());
+            model.put("detail", timing.getDetail());
+            model.put("durationMs", timing.getDuration());
+            result.add(model);
+        }
+        return result;
+    }
+
+    /**
+     * A histogram of durations, with buckets whose upper bounds double from 1ms to {@link #MAX_BUCKET_MILLIS}.
+     */
+    public static class Timing {
+
+        public static final long MAX_BUCKET_MILLIS = 32768;
+
+        private static final int BUCKETS = Long.numberOfTrailingZeros(MAX_BUCKET_MILLIS) + 2;
+
+        private final long[] buckets = new long[BUCKETS];
+        private long count;
+        private long total;
+        private long max;
+
+        synchronized void record(long nanos) {
+            count++;
+            total += nanos;
+            max = Math.max(max, nanos);
+            long millis = toMillis(nanos);
+            int bucket = 0;
+            while (bucket < BUCKETS - 1 && millis >= (1L << bucket)) {
+                bucket++;
+            }
+            buckets[bucket]++;
+        }
+
+        /**
+         * @return the number of recorded durations
+         */
+        public synchronized long getCount() {
+            return count;
+        }
+
+        /**
+         * @return the sum of the recorded durations in milliseconds
+         */
+        public synchronized long getTotal() {
+            return toMillis(total);
+        }
+
+        /**
+         * @return the mean recorded duration in milliseconds
+         */
+        public synchronized double getMean() {
+            return count > 0 ? total / (double) count / TimeUnit.MILLISECONDS.toNanos(1) : 0;
+        }
+
+        /**
+         * @return the longest recorded duration in milliseconds
+         */
+        public synchronized long getMax() {
+            return toMillis(max);
+        }
+
+        /**
+         * @return the number of durations below each upper bound in milliseconds, only for non-empty buckets; the
+         * "inf" bucket holds the durations of {@link #MAX_BUCKET_MILLIS} or more
+         */
+        public synchronized Map<String, Long> getHistogram() {
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < BUCKETS; i++) {
+                if (buckets[i] > 0) {
+                    histogram.put(i < BUCKETS - 1 ? String.valueOf(1L << i) : "inf", buckets[i]);
+                }
+            }
+            return histogram;
+        }
+
+        private Map<String, Object> toModel() {
+            Map<String, Object> model = new LinkedHashMap<>();
+            model.put("count", getCount());
+            model.put("totalMs", getTotal());
+            model.put("meanMs", getMean());
+            model.put("maxMs", getMax());
+            model.put("histogramMs", getHistogram());
+            return model;
+        }
+    }
+
+    /**
+     * The time spent on a single document.
+     */
+    public static class DocumentTiming {
+
+        private final String document;
+        private final String detail;
+        private final long nanos;
+
+        DocumentTiming(String document, String detail, long nanos) {
+            this.document = document;
+            this.detail = detail;
+            this.nanos = nanos;
+        }
+
+        /**
+         * @return the source file of a parsed document or the uri of a rendered document
+         */
+        public String getDocument() {
+            return document;
+        }
+
+        /**
+         * @return the parser engine of a parsed document or the template of a rendered document
+         */
+        public String getDetail() {
+            return detail;
+        }
+
+        /**
+         * @return the time spent on the document in milliseconds
+         */
+        public long getDuration() {
+            return toMillis(nanos);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.jbake.app;
+
+import org.jbake.app.Crawler.Attributes;
+import org.jbake.app.Crawler.Attributes.Status;
+import org.jbake.model.DocumentAttributes;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Describes how the document of a single content file changed, as found by {@link Crawler#crawlFile(File)}.
+ * <p>
+ * Rendering tools use it to decide which of their outputs depend on the change, see
+ * {@link org.jbake.render.IncrementalRenderingTool}.
+ */
+public class ContentChange {
+
+    private static final String[] SUMMARY_ATTRIBUTES = {
+        Attributes.TYPE, Attributes.URI, Attributes.NO_EXTENSION_URI, Attributes.TITLE, Attributes.DATE, Attributes.STATUS
+    };
+
+    private static final String SOURCE_URI = String.valueOf(DocumentAttributes.SOURCE_URI);
+
+    private final File sourceFile;
+    private final String uri;
+    private final Map<String, Object> previous;
+    private final Map<String, Object> current;
+    private final List<String> previousNeighbours;
+
+    /**
+     * @param sourceFile         the content file
+     * @param uri                the source uri of the document
+     * @param previous           the document before the change, or null if it is new
+     * @param current            the document after the change, or null if it has been removed
+     * @param previousNeighbours source uris of the documents next to the previous document in the navigation
+     */
+    public ContentChange(File sourceFile, String uri, Map<String, Object> previous, Map<String, Object> current,
+                         List<String> previousNeighbours) {
+        this.sourceFile = sourceFile;
+        this.uri = uri;
+        this.previous = previous;
+        this.current = current;
+        this.previousNeighbours = previousNeighbours;
+    }
+
+    public File getSourceFile() {
+        return sourceFile;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    /**
+     * @return the document before the change, or null if it is new
+     */
+    public Map<String, Object> getPrevious() {
+        return previous;
+    }
+
+    /**
+     * @return the document after the change, or null if it has been removed
+     */
+    public Map<String, Object> getCurrent() {
+        return current;
+    }
+
+    /**
+     * @return source uris of the documents which were next to the previous document in the navigation
+     */
+    public List<String> getPreviousNeighbours() {
+        return previousNeighbours;
+    }
+
+    /**
+     * @return the type of the document before and after the change
+     */
+    public Set<String> getDocumentTypes() {
+        Set<String> docTypes = new LinkedHashSet<>();
+        if (previous != null) {
+            docTypes.add((String) previous.get(Attributes.TYPE));
+        }
+        if (current != null) {
+            docTypes.add((String) current.get(Attributes.TYPE));
+        }
+        return docTypes;
+    }
+
+    /**
+     * @return true if the document is published before or after the change
+     */
+    public boolean isPublished() {
+        return isPublished(previous) || isPublished(current);
+    }
+
+    /**
+     * @return true if the document has been added or removed, or if anything shown in lists of documents and in the
+     * navigation changed: type, uri, title, date or status
+     */
+    public boolean changesSummary() {
+        if (previous == null || current == null) {
+            return true;
+        }
+        for (String attribute : SUMMARY_ATTRIBUTES) {
+            if (!equal(previous.get(attribute), current.get(attribute))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the tags of the document before and after the change
+     */
+    public Set<String> getTags() {
+        Set<String> tags = new LinkedHashSet<>();
+        if (previous != null) {
+            tags.addAll(Arrays.asList(DBUtil.toStringArray(previous.get(Attributes.TAGS))));
+        }
+        if (current != null) {
+            tags.addAll(Arrays.asList(DBUtil.toStringArray(current.get(Attributes.TAGS))));
+        }
+        return tags;
+    }
+
+    /**
+     * @param documents documents of one type, in navigation order
+     * @param uri       source uri of a document
+     * @return source uris of the documents right before and after the given one
+     */
+    public static List<String> getNeighbours(List<Map<String, Object>> documents, String uri) {
+        String before = null;
+        Iterator<Map<String, Object>> iterator = documents.iterator();
+        while (iterator.hasNext()) {
+            String next = (String) iterator.next().get(SOURCE_URI);
+            if (uri.equals(next)) {
+                List<String> neighbours = new ArrayList<>(2);
+                if (before != null) {
+                    neighbours.add(before);
+                }
+                if (iterator.hasNext()) {
+                    neighbours.add((String) iterator.next().get(SOURCE_URI));
+                }
+                return neighbours;
+            }
+            before = next;
+        }
+        return Collections.emptyList();
+    }
+
+    private static boolean isPublished(Map<String, Object> document) {
+        return document != null && Status.PUBLISHED.equals(document.get(Attributes.STATUS));
+    }
+
+    private static boolean equal(Object first, Object second) {
+        return first == null ? second == null : first.equals(second);
+    }
+}
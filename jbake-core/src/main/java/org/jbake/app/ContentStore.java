@@ -1,471 +1,237 @@
-/*
- * The MIT License
- *
- * Copyright 2015 jdlee.
- *
- * Permission is hereby granted, free of charge, to any person obtaining a copy
- * of this software and associated documentation files (the "Software"), to deal
- * in the Software without restriction, including without limitation the rights
- * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
- * copies of the Software, and to permit persons to whom the Software is
- * furnished to do so, subject to the following conditions:
- *
- * The above copyright notice and this permission notice shall be included in
- * all copies or substantial portions of the Software.
- *
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
- * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
- * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
- * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
- * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
- * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
- * THE SOFTWARE.
- */
 package org.jbake.app;
 
-import com.orientechnologies.common.log.OLogManager;
-import com.orientechnologies.orient.core.Orient;
-import com.orientechnologies.orient.core.db.ODatabaseSession;
-import com.orientechnologies.orient.core.db.ODatabaseType;
-import com.orientechnologies.orient.core.db.OrientDB;
-import com.orientechnologies.orient.core.db.OrientDBConfig;
-import com.orientechnologies.orient.core.metadata.schema.OClass;
-import com.orientechnologies.orient.core.metadata.schema.OSchema;
-import com.orientechnologies.orient.core.metadata.schema.OType;
-import com.orientechnologies.orient.core.record.impl.ODocument;
-import com.orientechnologies.orient.core.sql.OCommandSQL;
-import com.orientechnologies.orient.core.sql.executor.OResultSet;
-import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
-import org.jbake.model.DocumentAttributes;
-import org.jbake.model.DocumentTypes;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import java.io.File;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 
-
 /**
- * @author jdlee
+ * Stores the crawled documents and answers the queries needed to render them.
+ * <p>
+ * Use {@link DBUtil#createDataStore(org.jbake.app.configuration.JBakeConfiguration)} to get the implementation
+ * selected by the <code>db.store</code> property: {@link OrientContentStore} for <code>memory</code> and
+ * <code>plocal</code>, {@link InMemoryContentStore} for <code>heap</code>.
+ * <p>
+ * Documents are plain maps. Their document type is given by the {@link Crawler.Attributes#TYPE} attribute and they
+ * are identified by their source uri. Lists of documents are ordered by date, most recent first. Listing queries may
+ * leave out some fields of the documents, as selected by a {@link DocumentProjection}.
  */
-public class ContentStore {
-
-    private static final String STATEMENT_GET_PUBLISHED_POST_BY_TYPE_AND_TAG = "select * from %s where status='published' and ? in tags order by date desc";
-    private static final String STATEMENT_GET_POST_BY_TYPE_AND_URI = "select * from %s where sourceuri=?";
-    private static final String STATEMENT_GET_DOCUMENT_STATUS_BY_DOCTYPE_AND_URI = "select sha1,rendered from %s where sourceuri=?";
-    private static final String STATEMENT_GET_PUBLISHED_COUNT = "select count(*) as count from %s where status='published'";
-    private static final String STATEMENT_MARK_CONTENT_AS_RENDERD = "update %s set rendered=true where rendered=false and cached=true";
-    private static final String STATEMENT_DELETE_DOCTYPE_BY_SOURCEURI = "delete from %s where sourceuri=?";
-    private static final String STATEMENT_GET_UNDRENDERED_CONTENT = "select * from %s where rendered=false order by date desc";
-    private static final String STATEMENT_GET_SIGNATURE_FOR_TEMPLATES = "select sha1 from Signatures where key='templates'";
-    private static final String STATEMENT_GET_TAGS_FROM_PUBLISHED_POSTS = "select tags from post where status='published'";
-    private static final String STATEMENT_GET_ALL_CONTENT_BY_DOCTYPE = "select * from %s order by date desc";
-    private static final String STATEMENT_GET_PUBLISHED_CONTENT_BY_DOCTYPE = "select * from %s where status='published' order by date desc";
-    private static final String STATEMENT_GET_PUBLISHED_POSTS_BY_TAG = "select * from post where status='published' and ? in tags order by date desc";
-    private static final String STATEMENT_GET_TAGS_BY_DOCTYPE = "select tags from %s where status='published'";
-    private static final String STATEMENT_INSERT_TEMPLATES_SIGNATURE = "insert into Signatures(key,sha1) values('templates',?)";
-    private static final String STATEMENT_DELETE_ALL = "delete from %s";
-    private static final String STATEMENT_UPDATE_TEMPLATE_SIGNATURE = "update Signatures set sha1=? where key='templates'";
-
-    private final Logger logger = LoggerFactory.getLogger(ContentStore.class);
-    private final String type;
-    private final String name;
-
-    private ODatabaseSession db;
-
-    private long start = -1;
-    private long limit = -1;
-    private OrientDB orient;
-
-    public ContentStore(final String type, String name) {
-        this.type = type;
-        this.name = name;
-    }
-
-
-    public void startup() {
-        startupIfEnginesAreMissing();
-
-        if (type.equalsIgnoreCase(ODatabaseType.PLOCAL.name())) {
-            orient = new OrientDB(type + ":" + name, OrientDBConfig.defaultConfig());
-        } else {
-            orient = new OrientDB(type + ":", OrientDBConfig.defaultConfig());
-        }
-
-        orient.createIfNotExists(name, ODatabaseType.valueOf(type.toUpperCase()));
-
-        db = orient.open(name, "admin", "admin");
-
-        activateOnCurrentThread();
-
-        updateSchema();
-    }
-
-    public long getStart() {
-        return start;
-    }
-
-    public void setStart(int start) {
-        this.start = start;
-    }
-
-    public long getLimit() {
-        return limit;
-    }
-
-    public void setLimit(int limit) {
-        this.limit = limit;
-    }
-
-    public void resetPagination() {
-        this.start = -1;
-        this.limit = -1;
-    }
-
-    public final void updateSchema() {
-
-        OSchema schema = db.getMetadata().getSchema();
-
-        for (String docType : DocumentTypes.getDocumentTypes()) {
-            if (!schema.existsClass(docType)) {
-                createDocType(schema, docType);
-            }
-        }
-        if (!schema.existsClass("Signatures")) {
-            createSignatureType(schema);
-        }
-    }
-
-    public void close() {
-        if (db != null) {
-            activateOnCurrentThread();
-            db.close();
-        }
-
-        if (orient != null) {
-            orient.close();
-        }
-        DBUtil.closeDataStore();
-    }
-
-    public void shutdown() {
-
-//        Orient.instance().shutdown();
-    }
-
-    private void startupIfEnginesAreMissing() {
-        // Using a jdk which doesn't bundle a javascript engine
-        // throws a NoClassDefFoundError while logging the warning
-        // see https://github.com/orientechnologies/orientdb/issues/5855
-        OLogManager.instance().setWarnEnabled(false);
-
-        // If an instance of Orient was previously shutdown all engines are removed.
-        // We need to startup Orient again.
-        if (Orient.instance().getEngines().isEmpty()) {
-            Orient.instance().startup();
-        }
-        OLogManager.instance().setWarnEnabled(true);
-    }
+public interface ContentStore {
+
+    /**
+     * Opens the store and creates the structures needed for the known document types.
+     */
+    void startup();
+
+    long getStart();
+
+    void setStart(int start);
+
+    long getLimit();
+
+    void setLimit(int limit);
+
+    /**
+     * @return maximum number of documents written in a single transaction
+     */
+    int getBatchSize();
+
+    /**
+     * @param batchSize maximum number of documents written by {@link #saveAll(Collection)} and
+     *                  {@link #deleteAll(String, Collection)} in a single transaction
+     */
+    void setBatchSize(int batchSize);
+
+    void resetPagination();
 
-    public void drop() {
-        activateOnCurrentThread();
-//        db.drop();
+    /**
+     * Creates the structures needed for document types registered since the store has been started.
+     */
+    void updateSchema();
 
-        orient.drop(name);
-    }
+    void close();
 
-    private void activateOnCurrentThread() {
-        if (db != null) {
-            db.activateOnCurrentThread();
-        } else {
-            System.out.println("db is null on activate");
-        }
-    }
+    void shutdown();
 
+    /**
+     * Removes every document from the store.
+     */
+    void drop();
 
     /**
      * Get a document by sourceUri and update it from the given map.
+     *
      * @param incomingDocMap The document's db columns.
      * @return The saved document.
      * @throws IllegalArgumentException if sourceUri or docType are null, or if the document doesn't exist.
      */
-    public ODocument mergeDocument(Map<String, ? extends Object> incomingDocMap) {
-        String sourceUri = (String) incomingDocMap.get(DocumentAttributes.SOURCE_URI.toString());
-
-        if (null == sourceUri) {
-            throw new IllegalArgumentException("Document sourceUri is null.");
-        }
-
-        String docType = (String) incomingDocMap.get(Crawler.Attributes.TYPE);
-
-        if (null == docType) {
-            throw new IllegalArgumentException("Document docType is null.");
-        }
-
-        // Get a document by sourceUri
-        String sql = String.format(STATEMENT_GET_POST_BY_TYPE_AND_URI, quoteIdentifier(docType));
-        activateOnCurrentThread();
-        List<ODocument> results = db.command(new OSQLSynchQuery<ODocument>(sql)).execute(sourceUri);
-        if (results.isEmpty()) {
-            throw new JBakeException("No document with sourceUri '" + sourceUri + "'.");
-        }
-
-        // Update it from the given map.
-        ODocument incomingDoc = new ODocument(docType);
-        incomingDoc.fromMap(incomingDocMap);
-        ODocument merged = results.get(0).merge(incomingDoc, true, false);
-        return merged;
-    }
-
-
-    public long getDocumentCount(String docType) {
-        activateOnCurrentThread();
-        return db.countClass(docType);
-    }
-
-    public long getPublishedCount(String docType) {
-        String statement = String.format(STATEMENT_GET_PUBLISHED_COUNT, quoteIdentifier(docType));
-        return (Long) query(statement).get(0).get("count");
-    }
-
-    /*
-     * In fact, the URI should be the only input as there can only be one document at given URI; but the DB is split per document type for some reason.
+    Map<String, Object> mergeDocument(Map<String, ? extends Object> incomingDocMap);
+
+    long getDocumentCount(String docType);
+
+    long getPublishedCount(String docType);
+
+    DocumentList getDocumentByUri(String docType, String uri);
+
+    /**
+     * @param docType the document type
+     * @param uri     the source uri of the document
+     * @return hash and rendered flag of the document
+     */
+    DocumentList getDocumentStatus(String docType, String uri);
+
+    /**
+     * @param docType the document type
+     * @return source uri, hash and rendered flag of every document of the given type
+     */
+    DocumentList getDocumentStatuses(String docType);
+
+    DocumentList getPublishedPosts();
+
+    DocumentList getPublishedPosts(boolean applyPaging);
+
+    /**
+     * @param applyPaging true to only return the page selected by {@link #getStart()} and {@link #getLimit()}
+     * @param projection  the fields to read from the documents
+     * @return the published posts
+     */
+    DocumentList getPublishedPosts(boolean applyPaging, DocumentProjection projection);
+
+    DocumentList getPublishedPostsByTag(String tag);
+
+    /**
+     * @param tag        the tag
+     * @param projection the fields to read from the documents
+     * @return the published posts with the given tag
+     */
+    DocumentList getPublishedPostsByTag(String tag, DocumentProjection projection);
+
+    DocumentList getPublishedDocumentsByTag(String tag);
+
+    /**
+     * @param tag        the tag
+     * @param projection the fields to read from the documents
+     * @return the published documents of every type with the given tag
+     */
+    DocumentList getPublishedDocumentsByTag(String tag, DocumentProjection projection);
+
+    DocumentList getPublishedPages();
+
+    DocumentList getPublishedContent(String docType);
+
+    /**
+     * @param docType    the document type
+     * @param projection the fields to read from the documents
+     * @return the published documents of the given type
+     */
+    DocumentList getPublishedContent(String docType, DocumentProjection projection);
+
+    DocumentList getAllContent(String docType);
+
+    DocumentList getAllContent(String docType, boolean applyPaging);
+
+    /**
+     * @param docType     the document type
+     * @param applyPaging true to only return the page selected by {@link #getStart()} and {@link #getLimit()}
+     * @param projection  the fields to read from the documents
+     * @return the documents of the given type
+     */
+    DocumentList getAllContent(String docType, boolean applyPaging, DocumentProjection projection);
+
+    /**
+     * @return size, modification time, file key and hash of every source file recorded by a previous crawl
+     */
+    DocumentList getFileMetadata();
+
+    /**
+     * Records the metadata of a source file, replacing any previous record for the same path.
+     *
+     * @param path         absolute path of the source file
+     * @param size         size of the file in bytes
+     * @param lastModified modification time of the file in milliseconds
+     * @param fileKey      key uniquely identifying the file on its file system (e.g. device and inode)
+     * @param sha1         hash of the file contents
+     */
+    void updateFileMetadata(String path, long size, long lastModified, String fileKey, String sha1);
+
+    DocumentList getUnrenderedContent(String docType);
+
+    void deleteContent(String docType, String uri);
+
+    /**
+     * Deletes the documents of a type with the given source uris, in transactions of at most {@link #getBatchSize()}
+     * documents.
+     *
+     * @param docType the document type
+     * @param uris    the source uris of the documents to delete
+     */
+    void deleteAll(String docType, Collection<String> uris);
+
+    /**
+     * Stores new documents, in transactions of at most {@link #getBatchSize()} documents.
+     *
+     * @param documents the document models to store
+     */
+    void saveAll(Collection<? extends Map<String, Object>> documents);
+
+    /**
+     * Marks all cached documents of a type as rendered.
+     *
+     * @param docType the document type
+     */
+    void markContentAsRendered(String docType);
+
+    /**
+     * Marks all documents of a type as not rendered, so that they are rendered again without being parsed.
+     *
+     * @param docType the document type
+     */
+    void markContentAsUnrendered(String docType);
+
+    void deleteAllByDocType(String docType);
+
+    /**
+     * @return the signatures recorded by {@link #updateTemplateSignatures(Map)}, by key
+     */
+    Map<String, String> getTemplateSignatures();
+
+    /**
+     * Replaces the recorded template signatures.
+     *
+     * @param signatures hash of every template file and of the templates each document type is rendered with, by key
+     */
+    void updateTemplateSignatures(Map<String, String> signatures);
+
+    /**
+     * @return tags of the published posts
+     */
+    Set<String> getTags();
+
+    /**
+     * @return tags of the published documents of every type
+     */
+    Set<String> getAllTags();
+
+    /**
+     * Deletes all documents if asked to, or if any file of the template folder changed since the last call.
+     * <p>
+     * A bake only uses this method to clear the cache on request: changes to templates are tracked per template by
+     * {@link org.jbake.template.TemplateDependencies}, which only re-renders the affected documents. The template folder
+     * is only hashed when {@code needed} is false.
+     *
+     * @param needed         true to delete all documents regardless of the templates
+     * @param templateFolder the folder holding the templates
+     */
+    void updateAndClearCacheIfNeeded(boolean needed, File templateFolder);
+
+    /**
+     * @return true if the store can be used from the current thread
+     */
+    boolean isActive();
+
+    /**
+     * @return a number which changes whenever documents are saved, updated or deleted, so that results computed from
+     * the documents can be reused until the next change
      */
-    public DocumentList getDocumentByUri(String docType, String uri) {
-        return query(String.format(STATEMENT_GET_POST_BY_TYPE_AND_URI, quoteIdentifier(docType)), uri);
-    }
-
-    public DocumentList getDocumentStatus(String docType, String uri) {
-        String statement = String.format(STATEMENT_GET_DOCUMENT_STATUS_BY_DOCTYPE_AND_URI, quoteIdentifier(docType));
-        return query(statement, uri);
-    }
-
-    public DocumentList getPublishedPosts() {
-        return getPublishedContent("post");
-    }
-
-    public DocumentList getPublishedPosts(boolean applyPaging) {
-        return getPublishedContent("post", applyPaging);
-    }
-
-    public DocumentList getPublishedPostsByTag(String tag) {
-        return query(STATEMENT_GET_PUBLISHED_POSTS_BY_TAG, tag);
-    }
-
-    public DocumentList getPublishedDocumentsByTag(String tag) {
-        final DocumentList documents = new DocumentList();
-
-        for (final String docType : DocumentTypes.getDocumentTypes()) {
-            String statement = String.format(STATEMENT_GET_PUBLISHED_POST_BY_TYPE_AND_TAG, quoteIdentifier(docType));
-            DocumentList documentsByTag = query(statement, tag);
-            documents.addAll(documentsByTag);
-        }
-        return documents;
-    }
-
-    public DocumentList getPublishedPages() {
-        return getPublishedContent("page");
-    }
-
-    public DocumentList getPublishedContent(String docType) {
-        return getPublishedContent(docType, false);
-    }
-
-    private DocumentList getPublishedContent(String docType, boolean applyPaging) {
-        String query = String.format(STATEMENT_GET_PUBLISHED_CONTENT_BY_DOCTYPE, quoteIdentifier(docType));
-        if (applyPaging && hasStartAndLimitBoundary()) {
-            query += " SKIP " + start + " LIMIT " + limit;
-        }
-        return query(query);
-    }
-
-    public DocumentList getAllContent(String docType) {
-        return getAllContent(docType, false);
-    }
-
-    public DocumentList getAllContent(String docType, boolean applyPaging) {
-        String query = String.format(STATEMENT_GET_ALL_CONTENT_BY_DOCTYPE, quoteIdentifier(docType));
-        if (applyPaging && hasStartAndLimitBoundary()) {
-            query += " SKIP " + start + " LIMIT " + limit;
-        }
-        return query(query);
-    }
-
-    private boolean hasStartAndLimitBoundary() {
-        return (start >= 0) && (limit > -1);
-    }
-
-    private DocumentList getAllTagsFromPublishedPosts() {
-        return query(STATEMENT_GET_TAGS_FROM_PUBLISHED_POSTS);
-    }
-
-    private DocumentList getSignaturesForTemplates() {
-        return query(STATEMENT_GET_SIGNATURE_FOR_TEMPLATES);
-    }
-
-    public DocumentList getUnrenderedContent(String docType) {
-        String statement = String.format(STATEMENT_GET_UNDRENDERED_CONTENT, quoteIdentifier(docType));
-        return query(statement);
-    }
-
-    public void deleteContent(String docType, String uri) {
-        String statement = String.format(STATEMENT_DELETE_DOCTYPE_BY_SOURCEURI, quoteIdentifier(docType));
-        executeCommand(statement, uri);
-    }
-
-    public void markContentAsRendered(String docType) {
-        String statement = String.format(STATEMENT_MARK_CONTENT_AS_RENDERD, quoteIdentifier(docType));
-        executeCommand(statement);
-    }
-
-    private void updateSignatures(String currentTemplatesSignature) {
-        executeCommand(STATEMENT_UPDATE_TEMPLATE_SIGNATURE, currentTemplatesSignature);
-    }
-
-    public void deleteAllByDocType(String docType) {
-        String statement = String.format(STATEMENT_DELETE_ALL, quoteIdentifier(docType));
-        executeCommand(statement);
-    }
-
-    private void insertTemplatesSignature(String currentTemplatesSignature) {
-        executeCommand(STATEMENT_INSERT_TEMPLATES_SIGNATURE, currentTemplatesSignature);
-    }
-
-    private DocumentList query(String sql) {
-        activateOnCurrentThread();
-        OResultSet results = db.query(sql);
-        return DocumentList.wrap(results);
-    }
-
-    private DocumentList query(String sql, Object... args) {
-        activateOnCurrentThread();
-        OResultSet results = db.command(sql, args);
-        return DocumentList.wrap(results);
-    }
-
-    private void executeCommand(String query, Object... args) {
-        activateOnCurrentThread();
-        db.command(new OCommandSQL(query)).execute(args);
-    }
-
-    public Set<String> getTags() {
-        DocumentList docs = this.getAllTagsFromPublishedPosts();
-        Set<String> result = new HashSet<>();
-        for (Map<String, Object> document : docs) {
-            String[] tags = DBUtil.toStringArray(document.get(Crawler.Attributes.TAGS));
-            Collections.addAll(result, tags);
-        }
-        return result;
-    }
-
-    public Set<String> getAllTags() {
-        Set<String> result = new HashSet<>();
-        for (String docType : DocumentTypes.getDocumentTypes()) {
-            String statement = String.format(STATEMENT_GET_TAGS_BY_DOCTYPE, quoteIdentifier(docType));
-            DocumentList docs = query(statement);
-            for (Map<String, Object> document : docs) {
-                String[] tags = DBUtil.toStringArray(document.get(Crawler.Attributes.TAGS));
-                Collections.addAll(result, tags);
-            }
-        }
-        return result;
-    }
-
-    private void createDocType(final OSchema schema, final String docType) {
-        logger.debug("Create document class '{}'", docType);
-
-
-        OClass page = schema.createClass(docType);
-
-        // Primary key
-        String attribName = DocumentAttributes.SOURCE_URI.toString();
-        page.createProperty(attribName, OType.STRING).setNotNull(true);
-        page.createIndex(docType + "sourceUriIndex", OClass.INDEX_TYPE.UNIQUE, attribName);
-
-        attribName = DocumentAttributes.SHA1.toString();
-        page.createProperty(attribName, OType.STRING).setNotNull(true);
-        page.createIndex(docType + "sha1Index", OClass.INDEX_TYPE.NOTUNIQUE, attribName);
-
-        attribName = DocumentAttributes.CACHED.toString();
-        page.createProperty(attribName, OType.BOOLEAN).setNotNull(true);
-        page.createIndex(docType + "cachedIndex", OClass.INDEX_TYPE.NOTUNIQUE, attribName);
-
-        attribName = DocumentAttributes.RENDERED.toString();
-        page.createProperty(attribName, OType.BOOLEAN).setNotNull(true);
-        page.createIndex(docType + "renderedIndex", OClass.INDEX_TYPE.NOTUNIQUE, attribName);
-
-        attribName = DocumentAttributes.STATUS.toString();
-        page.createProperty(attribName, OType.STRING).setNotNull(true);
-        page.createIndex(docType + "statusIndex", OClass.INDEX_TYPE.NOTUNIQUE, attribName);
-    }
-
-    private void createSignatureType(OSchema schema) {
-        OClass signatures = schema.createClass("Signatures");
-        signatures.createProperty(String.valueOf(DocumentAttributes.SHA1), OType.STRING).setNotNull(true);
-        signatures.createIndex("sha1Idx", OClass.INDEX_TYPE.UNIQUE, DocumentAttributes.SHA1.toString());
-    }
-
-    public void updateAndClearCacheIfNeeded(boolean needed, File templateFolder) {
-
-        boolean clearCache = needed;
-
-        if (!needed) {
-            clearCache = updateTemplateSignatureIfChanged(templateFolder);
-        }
-
-        if (clearCache) {
-            deleteAllDocumentTypes();
-            this.updateSchema();
-        }
-    }
-
-    private boolean updateTemplateSignatureIfChanged(File templateFolder) {
-        boolean templateSignatureChanged = false;
-
-        DocumentList docs = this.getSignaturesForTemplates();
-        String currentTemplatesSignature;
-        try {
-            currentTemplatesSignature = FileUtil.sha1(templateFolder);
-        } catch (Exception e) {
-            currentTemplatesSignature = "";
-        }
-        if (!docs.isEmpty()) {
-            String sha1 = (String) docs.get(0).get(String.valueOf(DocumentAttributes.SHA1));
-            if (!sha1.equals(currentTemplatesSignature)) {
-                this.updateSignatures(currentTemplatesSignature);
-                templateSignatureChanged = true;
-            }
-        } else {
-            // first computation of templates signature
-            this.insertTemplatesSignature(currentTemplatesSignature);
-            templateSignatureChanged = true;
-        }
-        return templateSignatureChanged;
-    }
-
-    private void deleteAllDocumentTypes() {
-        for (String docType : DocumentTypes.getDocumentTypes()) {
-            try {
-                this.deleteAllByDocType(docType);
-            } catch (Exception e) {
-                // maybe a non existing document type
-            }
-        }
-    }
-
-    public boolean isActive() {
-        return db.isActiveOnCurrentThread();
-    }
-
-    static String quoteIdentifier(String input) {
-        if(input == null) {
-            return input;
-        } else {
-            return "`" + input.replaceAll("([\\\\`])", "\\\\$1") + "`";
-        }
-    }
+    long getModificationCount();
 }
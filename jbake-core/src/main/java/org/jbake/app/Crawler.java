@@ -1,6 +1,5 @@
 package org.jbake.app;
 
-import com.orientechnologies.orient.core.record.impl.ODocument;
 import org.apache.commons.configuration.CompositeConfiguration;
 import org.apache.commons.io.FilenameUtils;
 import org.jbake.app.Crawler.Attributes.Status;
@@ -9,6 +8,9 @@ import org.jbake.app.configuration.JBakeConfigurationFactory;
 import org.jbake.model.DocumentAttributes;
 import org.jbake.model.DocumentStatus;
 import org.jbake.model.DocumentTypes;
+import org.jbake.parser.Engines;
+import org.jbake.parser.ParserEngine;
+import org.jbake.util.ConcurrencyUtil;
 import org.jbake.util.HtmlUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,9 +19,16 @@ import java.io.File;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Crawls a file system looking for content.
@@ -32,6 +41,12 @@ public class Crawler {
     private final ContentStore db;
     private JBakeConfiguration config;
     private Parser parser;
+    private FileMetadataIndex fileIndex;
+    private DocumentStatusIndex statusIndex;
+    private ParsedDocumentCache parsedCache;
+    private FileTreeSnapshot snapshot;
+    private final List<Map<String, Object>> pendingDocuments = new ArrayList<>();
+    private BakeMetrics metrics = new BakeMetrics();
 
     /**
      * @param db     Database instance for content
@@ -60,8 +75,34 @@ public class Crawler {
         this.parser = new Parser(config);
     }
 
+    /**
+     * @param metrics the metrics to record the parsing time of every document and the hashed files in
+     */
+    public void setMetrics(BakeMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param snapshot the snapshot of the content folder taken for the current bake, or null to scan the content
+     *                 folder on every crawl
+     */
+    public void setSnapshot(FileTreeSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
     public void crawl() {
+        fileIndex = new FileMetadataIndex(db, config.getCrawlerVerifyHash());
+        fileIndex.load();
+        statusIndex = new DocumentStatusIndex(db);
+        statusIndex.load();
+        parsedCache = createParsedCache();
+
         crawl(config.getContentFolder());
+        flushDocuments();
+
+        fileIndex.save();
+        metrics.increment(BakeMetrics.FILES_HASHED, fileIndex.getHashedCount());
+        metrics.increment(BakeMetrics.FILES_SKIPPED, fileIndex.getSkippedCount());
 
         LOGGER.info("Content detected:");
         for (String docType : DocumentTypes.getDocumentTypes()) {
@@ -73,56 +114,183 @@ public class Crawler {
 
     }
 
+    /**
+     * Crawls a single content file and updates its document in the store, or deletes it if the file is gone.
+     *
+     * @param sourceFile the content file
+     * @return the change of the document, or null if the document didn't change and has been rendered
+     */
+    public ContentChange crawlFile(File sourceFile) {
+        String uri = buildURI(sourceFile);
+        String previousType = null;
+        Map<String, Object> previous = null;
+        for (String docType : DocumentTypes.getDocumentTypes()) {
+            DocumentList documents = db.getDocumentByUri(docType, uri);
+            if (!documents.isEmpty()) {
+                previousType = docType;
+                previous = documents.get(0);
+                break;
+            }
+        }
+
+        Map<String, Object> current = null;
+        if (sourceFile.isFile()) {
+            // a single file is always hashed, there is no need to load the metadata of all files
+            fileIndex = new FileMetadataIndex(db, true);
+            if (parsedCache == null) {
+                parsedCache = createParsedCache();
+            }
+            String sha1 = buildHash(sourceFile);
+            metrics.increment(BakeMetrics.FILES_HASHED, 1);
+            // a document saved by a bake cancelled before rendering it is still a change to render
+            if (previous != null && sha1.equals(previous.get(String.valueOf(DocumentAttributes.SHA1)))
+                && Boolean.TRUE.equals(previous.get(String.valueOf(DocumentAttributes.RENDERED)))) {
+                LOGGER.info("Processing [{}]...  : same ", sourceFile.getPath());
+                return null;
+            }
+            LOGGER.info("Processing [{}]...  : {} ", sourceFile.getPath(), previous != null ? "modified" : "new");
+            current = parseSourceFile(sourceFile, sha1, uri);
+            fileIndex.save();
+            if (current == null && previous == null) {
+                return null;
+            }
+        } else if (previous == null) {
+            return null;
+        } else {
+            LOGGER.info("Processing [{}]...  : deleted ", sourceFile.getPath());
+        }
+
+        List<String> previousNeighbours = Collections.emptyList();
+        if (previous != null) {
+            DocumentList summaries = db.getAllContent(previousType, false, DocumentProjection.SUMMARY);
+            previousNeighbours = ContentChange.getNeighbours(summaries, uri);
+            db.deleteContent(previousType, uri);
+        }
+        if (current != null) {
+            setCached(current);
+            db.saveAll(Collections.singletonList(current));
+        }
+        return new ContentChange(sourceFile, uri, previous, current, previousNeighbours);
+    }
+
     /**
      * Crawl all files and folders looking for content.
      *
      * @param path Folder to start from
      */
     private void crawl(File path) {
-        File[] contents = path.listFiles(FileUtil.getFileFilter());
-        if (contents != null) {
-            Arrays.sort(contents);
-            for (File sourceFile : contents) {
-                if (sourceFile.isFile()) {
-                    StringBuilder sb = new StringBuilder();
-                    sb.append("Processing [").append(sourceFile.getPath()).append("]... ");
-                    String sha1 = buildHash(sourceFile);
-                    String uri = buildURI(sourceFile);
-                    boolean process = true;
-                    DocumentStatus status = DocumentStatus.NEW;
-                    for (String docType : DocumentTypes.getDocumentTypes()) {
-                        status = findDocumentStatus(docType, uri, sha1);
-                        if (status == DocumentStatus.UPDATED) {
-                            sb.append(" : modified ");
-                            db.deleteContent(docType, uri);
-
-                        } else if (status == DocumentStatus.IDENTICAL) {
-                            sb.append(" : same ");
-                            process = false;
-                        }
-                        if (!process) {
-                            break;
-                        }
-                    }
-                    if (DocumentStatus.NEW == status) {
-                        sb.append(" : new ");
+        final FileTreeSnapshot tree = snapshot != null && snapshot.contains(path) ? snapshot : FileTreeSnapshot.scan(path);
+        List<File> sourceFiles = tree.getContentFiles(path);
+
+        int threads = config.getCrawlerThreads();
+        if (threads > 1 && sourceFiles.size() > 1) {
+            crawlInParallel(sourceFiles, tree, threads);
+        } else {
+            for (File sourceFile : sourceFiles) {
+                StringBuilder sb = new StringBuilder();
+                sb.append("Processing [").append(sourceFile.getPath()).append("]... ");
+                String sha1 = buildHash(sourceFile, tree);
+                String uri = buildURI(sourceFile);
+                if (isNewOrUpdated(uri, sha1, sb)) {
+                    crawlSourceFile(sourceFile, sha1, uri);
+                }
+                LOGGER.info("{}", sb);
+            }
+        }
+        if (parsedCache != null) {
+            parsedCache.retainOnly(sourceFiles);
+        }
+    }
+
+    /**
+     * Hashes and parses the source files on a pool of worker threads. The calling thread remains the only one
+     * talking to the {@link ContentStore}: it checks the document status and queues the parsed documents in
+     * the same order a sequential crawl would.
+     *
+     * @param sourceFiles Content files to crawl
+     * @param tree        Snapshot holding the attributes of the content files
+     * @param threads     Number of worker threads
+     */
+    private void crawlInParallel(List<File> sourceFiles, final FileTreeSnapshot tree, int threads) {
+        LOGGER.debug("Crawling {} files with {} threads", sourceFiles.size(), threads);
+        ExecutorService executor = ConcurrencyUtil.newFixedThreadPool("jbake-crawler", threads);
+        try {
+            List<Future<String>> hashes = new ArrayList<>(sourceFiles.size());
+            for (final File sourceFile : sourceFiles) {
+                hashes.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() {
+                        return buildHash(sourceFile, tree);
                     }
-                    if (process) { // new or updated
-                        crawlSourceFile(sourceFile, sha1, uri);
+                }));
+            }
+
+            // documents are queued in order as they are parsed, so that at most a few batches are held in memory
+            int window = threads * Math.max(1, db.getBatchSize());
+            Deque<Future<Map<String, Object>>> documents = new ArrayDeque<>();
+            for (int i = 0; i < sourceFiles.size(); i++) {
+                final File sourceFile = sourceFiles.get(i);
+                StringBuilder sb = new StringBuilder();
+                sb.append("Processing [").append(sourceFile.getPath()).append("]... ");
+                final String sha1 = ConcurrencyUtil.await(hashes.get(i));
+                final String uri = buildURI(sourceFile);
+                if (isNewOrUpdated(uri, sha1, sb)) {
+                    if (documents.size() >= window) {
+                        queueParsedDocument(documents.poll());
                     }
-                    LOGGER.info("{}", sb);
-                }
-                if (sourceFile.isDirectory()) {
-                    crawl(sourceFile);
+                    documents.add(executor.submit(new Callable<Map<String, Object>>() {
+                        @Override
+                        public Map<String, Object> call() {
+                            return parseSourceFile(sourceFile, sha1, uri);
+                        }
+                    }));
                 }
+                LOGGER.info("{}", sb);
+            }
+
+            while (!documents.isEmpty()) {
+                queueParsedDocument(documents.poll());
             }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void queueParsedDocument(Future<Map<String, Object>> document) {
+        Map<String, Object> fileContents = ConcurrencyUtil.await(document);
+        if (fileContents != null) {
+            queueDocument(fileContents);
         }
     }
 
+    /**
+     * Looks up the status of a source file in the {@link DocumentStatusIndex} and removes outdated versions of it.
+     *
+     * @param uri  The uri of the source file
+     * @param sha1 The current hash of the source file
+     * @param sb   Log message to append the status to
+     * @return true if the file is new or has been updated and needs to be processed
+     */
+    private boolean isNewOrUpdated(String uri, String sha1, StringBuilder sb) {
+        DocumentStatus status = statusIndex.update(uri, sha1);
+        if (status == DocumentStatus.UPDATED) {
+            sb.append(" : modified ");
+        } else if (status == DocumentStatus.IDENTICAL) {
+            sb.append(" : same ");
+        } else {
+            sb.append(" : new ");
+        }
+        return status != DocumentStatus.IDENTICAL;
+    }
+
     private String buildHash(final File sourceFile) {
+        return buildHash(sourceFile, null);
+    }
+
+    private String buildHash(final File sourceFile, FileTreeSnapshot tree) {
         String sha1;
         try {
-            sha1 = FileUtil.sha1(sourceFile);
+            sha1 = fileIndex.sha1(sourceFile, tree != null ? tree.getAttributes(sourceFile) : null);
         } catch (Exception e) {
             LOGGER.error("unable to build sha1 hash for source file '{}'", sourceFile);
             sha1 = "";
@@ -185,8 +353,32 @@ public class Crawler {
     }
 
     private void crawlSourceFile(final File sourceFile, final String sha1, final String uri) {
+        Map<String, Object> fileContents = parseSourceFile(sourceFile, sha1, uri);
+        if (fileContents != null) {
+            queueDocument(fileContents);
+        }
+    }
+
+    /**
+     * Parses a source file into its document model. This method doesn't access the {@link ContentStore} and
+     * is safe to call from worker threads.
+     *
+     * @return the document model or null if the file has an invalid header
+     */
+    private Map<String, Object> parseSourceFile(final File sourceFile, final String sha1, final String uri) {
         try {
-            Map<String, Object> fileContents = parser.processFile(sourceFile);
+            String engine = parserEngineName(sourceFile);
+            Map<String, Object> fileContents = parsedCache != null ? parsedCache.get(sourceFile, sha1, engine) : null;
+            if (fileContents != null) {
+                metrics.increment(BakeMetrics.DOCUMENTS_CACHED, 1);
+            } else {
+                long start = System.nanoTime();
+                fileContents = parser.processFile(sourceFile);
+                metrics.recordParse(engine, sourceFile.getPath(), System.nanoTime() - start);
+                if (fileContents != null && parsedCache != null) {
+                    parsedCache.put(sourceFile, sha1, engine, fileContents);
+                }
+            }
             if (fileContents != null) {
                 fileContents.put(Attributes.ROOTPATH, getPathToRoot(sourceFile));
                 fileContents.put(String.valueOf(DocumentAttributes.SHA1), sha1);
@@ -200,7 +392,6 @@ public class Crawler {
                 fileContents.put(String.valueOf(DocumentAttributes.SOURCE_URI), uri);
                 fileContents.put(Attributes.URI, uri);
 
-                String documentType = (String) fileContents.get(Attributes.TYPE);
                 if (fileContents.get(Attributes.STATUS).equals(Status.PUBLISHED_DATE)) {
                     if (fileContents.get(Attributes.DATE) != null && (fileContents.get(Attributes.DATE) instanceof Date)) {
                         if (new Date().after((Date) fileContents.get(Attributes.DATE))) {
@@ -217,39 +408,63 @@ public class Crawler {
                     // Prevent image source url's from breaking
                     HtmlUtil.fixImageSourceUrls(fileContents, config);
                 }
-
-                ODocument doc = new ODocument(documentType);
-                doc.fromMap(fileContents);
-                boolean cached = fileContents.get(String.valueOf(DocumentAttributes.CACHED)) != null ? Boolean.valueOf((String) fileContents.get(String.valueOf(DocumentAttributes.CACHED))) : true;
-                doc.field(String.valueOf(DocumentAttributes.CACHED), cached);
-                doc.save();
             } else {
                 LOGGER.warn("{} has an invalid header, it has been ignored!", sourceFile);
             }
+            return fileContents;
         } catch (Exception ex) {
             throw new RuntimeException("Failed crawling file: " + sourceFile.getPath() + " " + ex.getMessage(), ex);
         }
     }
 
-    private String getPathToRoot(File sourceFile) {
-        return FileUtil.getUriPathToContentRoot(config, sourceFile);
+    private ParsedDocumentCache createParsedCache() {
+        File folder = config.getParserCacheFolder();
+        return folder != null ? new ParsedDocumentCache(folder, config) : null;
     }
 
-    private DocumentStatus findDocumentStatus(String docType, String uri, String sha1) {
-        DocumentList match = db.getDocumentStatus(docType, uri);
-        if (!match.isEmpty()) {
-            Map entries = match.get(0);
-            String oldHash = (String) entries.get(String.valueOf(DocumentAttributes.SHA1));
-            if (!(oldHash.equals(sha1)) || Boolean.FALSE.equals(entries.get(String.valueOf(DocumentAttributes.RENDERED)))) {
-                return DocumentStatus.UPDATED;
-            } else {
-                return DocumentStatus.IDENTICAL;
+    private String parserEngineName(File sourceFile) {
+        String extension = FileUtil.fileExt(sourceFile);
+        ParserEngine engine = Engines.get(extension);
+        return engine != null ? engine.getClass().getSimpleName() : extension;
+    }
+
+    /**
+     * Queues a parsed document for storage, writing the queue to the {@link ContentStore} once it holds a full batch.
+     */
+    private void queueDocument(Map<String, Object> fileContents) {
+        setCached(fileContents);
+        pendingDocuments.add(fileContents);
+        if (pendingDocuments.size() >= db.getBatchSize()) {
+            flushDocuments();
+        }
+    }
+
+    private void setCached(Map<String, Object> fileContents) {
+        Object cached = fileContents.get(String.valueOf(DocumentAttributes.CACHED));
+        fileContents.put(String.valueOf(DocumentAttributes.CACHED), cached != null ? Boolean.valueOf(String.valueOf(cached)) : true);
+    }
+
+    /**
+     * Deletes outdated documents and stores the queued ones. Deletions go first, so that an updated document never
+     * clashes with its previous version.
+     */
+    private void flushDocuments() {
+        statusIndex.deleteOutdated();
+        if (!pendingDocuments.isEmpty()) {
+            try {
+                db.saveAll(pendingDocuments);
+            } catch (Exception ex) {
+                throw new RuntimeException("Failed storing crawled files: " + ex.getMessage(), ex);
+            } finally {
+                pendingDocuments.clear();
             }
-        } else {
-            return DocumentStatus.NEW;
         }
     }
 
+    private String getPathToRoot(File sourceFile) {
+        return FileUtil.getUriPathToContentRoot(config, sourceFile);
+    }
+
     public abstract static class Attributes {
 
         public static final String DATE = "date";
@@ -1,10 +1,10 @@
 package org.jbake.app;
 
-import com.orientechnologies.orient.core.db.record.OTrackedList;
 import com.orientechnologies.orient.core.record.OElement;
 import com.orientechnologies.orient.core.sql.executor.OResult;
 import org.jbake.app.configuration.JBakeConfiguration;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -12,10 +12,12 @@ import java.util.Map;
 public class DBUtil {
     private static ContentStore contentStore;
 
+    public static final String HEAP_STORE = "heap";
+
     @Deprecated
     public static ContentStore createDataStore(final String type, String name) {
         if (contentStore == null) {
-            contentStore = new ContentStore(type, name);
+            contentStore = newDataStore(type, name);
         }
         return contentStore;
     }
@@ -27,17 +29,45 @@ public class DBUtil {
 
     public static ContentStore createDataStore(JBakeConfiguration configuration) {
         if (contentStore == null) {
-            contentStore = new ContentStore(configuration.getDatabaseStore(), configuration.getDatabasePath());
+            contentStore = newDataStore(configuration.getDatabaseStore(), configuration.getDatabasePath());
+            contentStore.setBatchSize(configuration.getDatabaseBatchSize());
         }
 
         return contentStore;
     }
 
+    private static ContentStore newDataStore(String type, String name) {
+        if (HEAP_STORE.equalsIgnoreCase(type)) {
+            return new InMemoryContentStore();
+        }
+        return new OrientContentStore(type, name);
+    }
+
     public static void closeDataStore() {
         contentStore = null;
     }
 
     public static Map<String, Object> documentToModel(OResult doc) {
+        return documentToModel(doc, null);
+    }
+
+    /**
+     * Converts a DB row into a model holding only some of its fields.
+     *
+     * @param doc    the row
+     * @param fields the fields to read, or null to read them all
+     * @return the model of the row
+     */
+    public static Map<String, Object> documentToModel(OResult doc, Collection<String> fields) {
+        if (fields != null) {
+            Map<String, Object> result = new HashMap<>();
+            for (String field : fields) {
+                if (doc.hasProperty(field)) {
+                    result.put(field, doc.getProperty(field));
+                }
+            }
+            return result;
+        }
         Map<String, Object> result = new HashMap<>();
         Iterator<String> fieldIterator = doc.getPropertyNames().iterator();
         while (fieldIterator.hasNext()) {
@@ -57,8 +87,8 @@ public class DBUtil {
     public static String[] toStringArray(Object entry) {
         if (entry instanceof String[]) {
             return (String[]) entry;
-        } else if (entry instanceof OTrackedList) {
-            OTrackedList<String> list = (OTrackedList<String>) entry;
+        } else if (entry instanceof Collection) {
+            Collection<String> list = (Collection<String>) entry;
             return list.toArray(new String[list.size()]);
         }
         return new String[0];
@@ -0,0 +1,90 @@
+package org.jbake.app;
+
+import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams the documents of an OrientDB result set, turning every row into a model only when it is reached.
+ * <p>
+ * Unlike a {@link DocumentList}, the rows are never held all at once, and only the requested fields of every row are
+ * read, so that e.g. the bodies of the documents aren't deserialized when only their uris are needed. A cursor can
+ * be iterated only once, from the thread running the query, and is closed once its last row has been read.
+ */
+public class DocumentCursor implements Iterable<Map<String, Object>>, Closeable {
+
+    private final OResultSet results;
+    private final Collection<String> fields;
+    private boolean iterated;
+    private boolean closed;
+
+    /**
+     * @param results the result set to read
+     * @param fields  the fields to read from every row, or null to read them all
+     */
+    public DocumentCursor(OResultSet results, Collection<String> fields) {
+        this.results = results;
+        this.fields = fields;
+    }
+
+    @Override
+    public Iterator<Map<String, Object>> iterator() {
+        if (iterated) {
+            throw new IllegalStateException("A document cursor can only be iterated once");
+        }
+        iterated = true;
+        return new Iterator<Map<String, Object>>() {
+            @Override
+            public boolean hasNext() {
+                if (closed) {
+                    return false;
+                }
+                if (!results.hasNext()) {
+                    close();
+                    return false;
+                }
+                return true;
+            }
+
+            @Override
+            public Map<String, Object> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                OResult next = results.next();
+                return DBUtil.documentToModel(next, fields);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * Reads the remaining rows into a list.
+     *
+     * @return the remaining documents
+     */
+    public DocumentList toList() {
+        DocumentList list = new DocumentList();
+        for (Map<String, Object> document : this) {
+            list.add(document);
+        }
+        return list;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            results.close();
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package org.jbake.app;
 
-import com.orientechnologies.orient.core.sql.executor.OResult;
 import com.orientechnologies.orient.core.sql.executor.OResultSet;
 
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.Map;
 
@@ -15,13 +15,17 @@ import java.util.Map;
 public class DocumentList extends LinkedList<Map<String, Object>> {
 
     public static DocumentList wrap(OResultSet docs) {
-        DocumentList list = new DocumentList();
-        while (docs.hasNext()) {
-            OResult next = docs.next();
-            list.add(DBUtil.documentToModel(next));
-        }
-        docs.close();
-        return list;
+        return wrap(docs, null);
+    }
+
+    /**
+     * @param docs   the result set to read
+     * @param fields the fields to read from every row, or null to read them all
+     * @return the documents of the result set
+     * @see DocumentCursor
+     */
+    public static DocumentList wrap(OResultSet docs, Collection<String> fields) {
+        return new DocumentCursor(docs, fields).toList();
     }
 
 }
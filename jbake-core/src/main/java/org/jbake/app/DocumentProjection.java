@@ -0,0 +1,46 @@
+package org.jbake.app;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The fields read from the stored documents by a listing query.
+ */
+public enum DocumentProjection {
+
+    /**
+     * Every field of the documents.
+     */
+    FULL,
+
+    /**
+     * Every field but the rendered body, which is only loaded if a template asks for it. Used for the lists of
+     * documents of the archive, feed, sitemap, tags and index pages, which rarely need the body of every document.
+     *
+     * @see SummaryDocument
+     */
+    SUMMARY(Crawler.Attributes.BODY);
+
+    private final Set<String> excludedFields;
+
+    DocumentProjection(String... excludedFields) {
+        this.excludedFields = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(excludedFields)));
+    }
+
+    /**
+     * @return the fields which aren't read by the query
+     */
+    public Set<String> getExcludedFields() {
+        return excludedFields;
+    }
+
+    /**
+     * @param field the name of a field
+     * @return true if the field is read by the query
+     */
+    public boolean includes(String field) {
+        return !excludedFields.contains(field);
+    }
+}
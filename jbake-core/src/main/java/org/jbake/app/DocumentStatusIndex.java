@@ -0,0 +1,120 @@
+package org.jbake.app;
+
+import org.jbake.model.DocumentAttributes;
+import org.jbake.model.DocumentStatus;
+import org.jbake.model.DocumentTypes;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps the source uri of every stored document to its document type, hash and rendered flag.
+ * <p>
+ * The index is loaded with a single query per document type, after which the status of a source file is looked up
+ * without accessing the {@link ContentStore}. Outdated documents are collected and deleted in batches by
+ * {@link #deleteOutdated()}. It is meant to be used by the thread owning the store during a crawl.
+ */
+public class DocumentStatusIndex {
+
+    private final ContentStore db;
+    private final Map<String, List<Entry>> entries = new HashMap<>();
+    private final Map<String, List<String>> outdated = new LinkedHashMap<>();
+
+    /**
+     * @param db the store holding the documents
+     */
+    public DocumentStatusIndex(ContentStore db) {
+        this.db = db;
+    }
+
+    /**
+     * Loads the status of all stored documents.
+     */
+    public void load() {
+        entries.clear();
+        outdated.clear();
+        for (String docType : DocumentTypes.getDocumentTypes()) {
+            for (Map<String, Object> row : db.getDocumentStatuses(docType)) {
+                String uri = (String) row.get(String.valueOf(DocumentAttributes.SOURCE_URI));
+                if (uri == null) {
+                    continue;
+                }
+                List<Entry> documents = entries.get(uri);
+                if (documents == null) {
+                    documents = new ArrayList<>(1);
+                    entries.put(uri, documents);
+                }
+                documents.add(new Entry(docType,
+                    (String) row.get(String.valueOf(DocumentAttributes.SHA1)),
+                    !Boolean.FALSE.equals(row.get(String.valueOf(DocumentAttributes.RENDERED)))));
+            }
+        }
+    }
+
+    /**
+     * Determines the status of a source file. Outdated documents stored for the file are forgotten by the index and
+     * scheduled for deletion.
+     *
+     * @param uri  the source uri of the file
+     * @param sha1 the current hash of the file
+     * @return {@link DocumentStatus#IDENTICAL} if an up to date document is stored for the file,
+     * {@link DocumentStatus#UPDATED} if only outdated documents were stored, {@link DocumentStatus#NEW} otherwise
+     */
+    public DocumentStatus update(String uri, String sha1) {
+        List<Entry> documents = entries.get(uri);
+        if (documents == null) {
+            return DocumentStatus.NEW;
+        }
+        DocumentStatus status = DocumentStatus.NEW;
+        Iterator<Entry> iterator = documents.iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.sha1 != null && entry.sha1.equals(sha1) && entry.rendered) {
+                return DocumentStatus.IDENTICAL;
+            }
+            List<String> uris = outdated.get(entry.docType);
+            if (uris == null) {
+                uris = new ArrayList<>();
+                outdated.put(entry.docType, uris);
+            }
+            uris.add(uri);
+            iterator.remove();
+            status = DocumentStatus.UPDATED;
+        }
+        entries.remove(uri);
+        return status;
+    }
+
+    /**
+     * Deletes the documents found outdated since the last call from the {@link ContentStore}.
+     */
+    public void deleteOutdated() {
+        for (Map.Entry<String, List<String>> entry : outdated.entrySet()) {
+            db.deleteAll(entry.getKey(), entry.getValue());
+        }
+        outdated.clear();
+    }
+
+    /**
+     * @return number of source uris known to the index
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private static class Entry {
+        private final String docType;
+        private final String sha1;
+        private final boolean rendered;
+
+        Entry(String docType, String sha1, boolean rendered) {
+            this.docType = docType;
+            this.sha1 = sha1;
+            this.rendered = rendered;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package org.jbake.app;
+
+import org.jbake.model.DocumentAttributes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Remembers size, modification time, file key and SHA-1 hash of the source files seen by previous crawls.
+ * <p>
+ * When the cheap file attributes of a source file still match the recorded ones, the recorded hash is reused and
+ * the file isn't read at all. Lookups may happen concurrently from crawler threads, while loading and saving the
+ * index must be done by the thread owning the {@link ContentStore}.
+ */
+public class FileMetadataIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileMetadataIndex.class);
+
+    private final ContentStore db;
+    private final boolean verifyHash;
+    private final Map<String, FileMetadata> entries = new ConcurrentHashMap<>();
+    private final Map<String, FileMetadata> updated = new ConcurrentHashMap<>();
+    private final AtomicInteger hashed = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    /**
+     * @param db         the store holding the index
+     * @param verifyHash if true, every file is hashed even if its attributes are unchanged
+     */
+    public FileMetadataIndex(ContentStore db, boolean verifyHash) {
+        this.db = db;
+        this.verifyHash = verifyHash;
+    }
+
+    /**
+     * Loads the metadata recorded by previous crawls.
+     */
+    public void load() {
+        entries.clear();
+        updated.clear();
+        hashed.set(0);
+        skipped.set(0);
+        for (Map<String, Object> row : db.getFileMetadata()) {
+            String path = (String) row.get("path");
+            if (path != null) {
+                entries.put(path, new FileMetadata(
+                    toLong(row.get("size")),
+                    toLong(row.get("lastmodified")),
+                    (String) row.get("filekey"),
+                    (String) row.get(String.valueOf(DocumentAttributes.SHA1))));
+            }
+        }
+    }
+
+    /**
+     * Persists the metadata of all files hashed since the index has been loaded.
+     */
+    public void save() {
+        for (Map.Entry<String, FileMetadata> entry : updated.entrySet()) {
+            FileMetadata metadata = entry.getValue();
+            db.updateFileMetadata(entry.getKey(), metadata.size, metadata.lastModified, metadata.fileKey, metadata.sha1);
+        }
+        LOGGER.debug("Hashed {} source files, reused the hash of {} unchanged files", hashed.get(), skipped.get());
+        updated.clear();
+    }
+
+    /**
+     * Computes the SHA-1 hash of a source file, unless size, modification time and file key of the file match the
+     * recorded ones.
+     *
+     * @param sourceFile the source file
+     * @return an hex string representing the SHA1 hash of the file
+     * @throws Exception if the file can't be read
+     */
+    public String sha1(File sourceFile) throws Exception {
+        return sha1(sourceFile, null);
+    }
+
+    /**
+     * Same as {@link #sha1(File)}, with the attributes of the source file already at hand.
+     *
+     * @param sourceFile the source file
+     * @param attributes the attributes of the source file, or null to read them
+     * @return an hex string representing the SHA1 hash of the file
+     * @throws Exception if the file can't be read
+     */
+    public String sha1(File sourceFile, BasicFileAttributes attributes) throws Exception {
+        String path = sourceFile.getAbsolutePath();
+        FileMetadata current = attributes != null ? toMetadata(attributes) : readAttributes(sourceFile);
+        FileMetadata previous = entries.get(path);
+
+        if (!verifyHash && previous != null && previous.sha1 != null && previous.matches(current)) {
+            skipped.incrementAndGet();
+            return previous.sha1;
+        }
+
+        String sha1 = FileUtil.sha1(sourceFile);
+        hashed.incrementAndGet();
+        FileMetadata metadata = current.withSha1(sha1);
+        if (!metadata.equals(previous)) {
+            entries.put(path, metadata);
+            updated.put(path, metadata);
+        }
+        return sha1;
+    }
+
+    /**
+     * @return number of files hashed since the index has been loaded
+     */
+    public int getHashedCount() {
+        return hashed.get();
+    }
+
+    /**
+     * @return number of files whose recorded hash has been reused since the index has been loaded
+     */
+    public int getSkippedCount() {
+        return skipped.get();
+    }
+
+    private FileMetadata readAttributes(File sourceFile) throws IOException {
+        return toMetadata(Files.readAttributes(sourceFile.toPath(), BasicFileAttributes.class));
+    }
+
+    private FileMetadata toMetadata(BasicFileAttributes attributes) {
+        Object fileKey = attributes.fileKey();
+        return new FileMetadata(attributes.size(), attributes.lastModifiedTime().toMillis(),
+            fileKey != null ? fileKey.toString() : null, null);
+    }
+
+    private long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : -1;
+    }
+
+    private static class FileMetadata {
+        private final long size;
+        private final long lastModified;
+        private final String fileKey;
+        private final String sha1;
+
+        FileMetadata(long size, long lastModified, String fileKey, String sha1) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.fileKey = fileKey;
+            this.sha1 = sha1;
+        }
+
+        FileMetadata withSha1(String sha1) {
+            return new FileMetadata(size, lastModified, fileKey, sha1);
+        }
+
+        boolean matches(FileMetadata other) {
+            return size == other.size
+                && lastModified == other.lastModified
+                && (fileKey == null ? other.fileKey == null : fileKey.equals(other.fileKey));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FileMetadata)) {
+                return false;
+            }
+            FileMetadata other = (FileMetadata) o;
+            return matches(other) && (sha1 == null ? other.sha1 == null : sha1.equals(other.sha1));
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (size ^ lastModified) * 31 + (sha1 != null ? sha1.hashCode() : 0);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package org.jbake.app;
+
+import org.jbake.parser.Engines;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable snapshot of the content and asset folders, taken with a single walk of each folder.
+ * <p>
+ * It records the attributes of every file and directory, whether a directory is ignored because it contains a
+ * ".jbakeignore" file and whether a file is a content file, based on the extensions recognized by the markup engines.
+ * The subtree of an ignored directory isn't walked. The queries of a snapshot select the same files as the
+ * {@link java.io.FileFilter}s of {@link FileUtil}, without touching the file system again.
+ */
+public final class FileTreeSnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileTreeSnapshot.class);
+    private static final String IGNORE_FILE = ".jbakeignore";
+
+    private final Map<Path, Node> nodes;
+
+    private FileTreeSnapshot(Map<Path, Node> nodes) {
+        this.nodes = nodes;
+    }
+
+    /**
+     * Walks the given folders. Folders which don't exist are skipped, as are folders already walked as part of
+     * another one.
+     *
+     * @param roots the folders to walk
+     * @return the snapshot of the folders
+     */
+    public static FileTreeSnapshot scan(File... roots) {
+        Map<Path, Node> nodes = new HashMap<>();
+        Set<String> extensions = Engines.getRecognizedExtensions();
+        for (File root : roots) {
+            if (root == null || nodes.containsKey(key(root)) || !root.isDirectory()) {
+                continue;
+            }
+            try {
+                Files.walkFileTree(key(root), EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+                    new Scanner(nodes, extensions));
+            } catch (IOException e) {
+                LOGGER.error("Unable to scan folder {}", root, e);
+            }
+        }
+        return new FileTreeSnapshot(nodes);
+    }
+
+    /**
+     * Lists the content files below a folder, as a recursive walk with {@link FileUtil#getFileFilter()} would.
+     *
+     * @param folder the folder
+     * @return the content files, in the order of a depth-first walk visiting the entries of a directory sorted
+     */
+    public List<File> getContentFiles(File folder) {
+        return list(folder, Selection.CONTENT, false);
+    }
+
+    /**
+     * Lists the files below a folder which aren't content files, as a recursive walk with
+     * {@link FileUtil#getNotContentFileFilter()} would.
+     *
+     * @param folder the folder
+     * @return the files, in the order of a depth-first walk visiting the entries of a directory sorted
+     */
+    public List<File> getNotContentFiles(File folder) {
+        return list(folder, Selection.NOT_CONTENT, false);
+    }
+
+    /**
+     * Lists all files below a folder, except those in ignored directories.
+     *
+     * @param folder       the folder
+     * @param ignoreHidden true to also leave out hidden files and directories
+     * @return the files, in the order of a depth-first walk visiting the entries of a directory sorted
+     */
+    public List<File> getFiles(File folder, boolean ignoreHidden) {
+        return list(folder, Selection.ALL, ignoreHidden);
+    }
+
+    /**
+     * @param file a file or directory
+     * @return true if the file or directory is part of the snapshot
+     */
+    public boolean contains(File file) {
+        return nodes.containsKey(key(file));
+    }
+
+    /**
+     * Same as {@link FileUtil#directoryOnlyIfNotIgnored(File)}, which is called for directories not in the snapshot.
+     *
+     * @param file a file or directory
+     * @return true if the file is a directory which isn't ignored
+     */
+    public boolean directoryOnlyIfNotIgnored(File file) {
+        Node node = nodes.get(key(file));
+        if (node == null) {
+            return FileUtil.directoryOnlyIfNotIgnored(file);
+        }
+        return node.attributes.isDirectory() && !node.ignored;
+    }
+
+    /**
+     * @param file a file or directory
+     * @return the attributes of the file when the snapshot was taken, or null if it isn't part of the snapshot
+     */
+    public BasicFileAttributes getAttributes(File file) {
+        Node node = nodes.get(key(file));
+        return node != null ? node.attributes : null;
+    }
+
+    private List<File> list(File folder, Selection selection, boolean ignoreHidden) {
+        List<File> files = new ArrayList<>();
+        list(folder, selection, ignoreHidden, files);
+        return files;
+    }
+
+    private void list(File folder, Selection selection, boolean ignoreHidden, List<File> files) {
+        Node directory = nodes.get(key(folder));
+        if (directory == null || directory.children == null) {
+            return;
+        }
+        File[] children = new File[directory.children.size()];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = new File(folder, directory.children.get(i));
+        }
+        Arrays.sort(children);
+        for (File child : children) {
+            Node node = nodes.get(key(child));
+            if (node == null || !selection.accept(node, ignoreHidden)) {
+                continue;
+            }
+            if (node.attributes.isRegularFile()) {
+                files.add(child);
+            } else if (node.attributes.isDirectory()) {
+                list(child, selection, ignoreHidden, files);
+            }
+        }
+    }
+
+    private static Path key(File file) {
+        return file.toPath().toAbsolutePath().normalize();
+    }
+
+    private enum Selection {
+        CONTENT {
+            @Override
+            boolean acceptFile(Node node) {
+                return !node.hidden && node.content;
+            }
+        },
+        NOT_CONTENT {
+            @Override
+            boolean acceptFile(Node node) {
+                return !node.hidden && !node.content;
+            }
+        },
+        ALL {
+            @Override
+            boolean acceptFile(Node node) {
+                return true;
+            }
+        };
+
+        abstract boolean acceptFile(Node node);
+
+        boolean accept(Node node, boolean ignoreHidden) {
+            if (ignoreHidden && node.hidden) {
+                return false;
+            }
+            if (node.attributes.isDirectory()) {
+                return !node.ignored;
+            }
+            return node.attributes.isRegularFile() && acceptFile(node);
+        }
+    }
+
+    private static final class Node {
+        private final BasicFileAttributes attributes;
+        private final boolean hidden;
+        private final boolean content;
+        private boolean ignored;
+        private List<String> children;
+
+        Node(BasicFileAttributes attributes, boolean hidden, boolean content) {
+            this.attributes = attributes;
+            this.hidden = hidden;
+            this.content = content;
+        }
+    }
+
+    /**
+     * Records the visited files and directories. Directories with a ".jbakeignore" file aren't walked, unless the
+     * file name only matches ignoring the case, which is noticed when the file itself is visited: the entries
+     * recorded for the directory are dropped once it has been walked.
+     */
+    private static final class Scanner extends SimpleFileVisitor<Path> {
+
+        private final Map<Path, Node> nodes;
+        private final Set<String> extensions;
+        private Path root;
+
+        Scanner(Map<Path, Node> nodes, Set<String> extensions) {
+            this.nodes = nodes;
+            this.extensions = extensions;
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+            if (root == null) {
+                root = dir;
+            }
+            Node node = add(dir, attrs);
+            node.children = new ArrayList<>();
+            // the entries of the walked folder itself are listed, whether it is ignored or not
+            if (Files.exists(dir.resolve(IGNORE_FILE)) && !dir.equals(root)) {
+                node.ignored = true;
+                node.children = Collections.emptyList();
+                return FileVisitResult.SKIP_SUBTREE;
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+            add(file, attrs);
+            if (file.getFileName().toString().equalsIgnoreCase(IGNORE_FILE)) {
+                nodes.get(file.getParent()).ignored = true;
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException exc) {
+            LOGGER.debug("Unable to scan {}", file, exc);
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(Path dir, IOException exc) {
+            Node node = nodes.get(dir);
+            if (node.ignored && !dir.equals(root)) {
+                for (String child : node.children) {
+                    remove(dir.resolve(child));
+                }
+                node.children = Collections.emptyList();
+            } else {
+                node.children = Collections.unmodifiableList(node.children);
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        private Node add(Path path, BasicFileAttributes attrs) throws IOException {
+            boolean content = attrs.isRegularFile()
+                && extensions.contains(FileUtil.fileExt(path.getFileName().toString()));
+            Node node = new Node(attrs, Files.isHidden(path), content);
+            nodes.put(path, node);
+            Node parent = nodes.get(path.getParent());
+            if (parent != null && parent.children != null && !path.equals(root)) {
+                parent.children.add(path.getFileName().toString());
+            }
+            return node;
+        }
+
+        private void remove(Path path) {
+            Node node = nodes.remove(path);
+            if (node != null && node.children != null) {
+                for (String child : node.children) {
+                    remove(path.resolve(child));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,643 @@
+package org.jbake.app;
+
+import org.jbake.app.Crawler.Attributes.Status;
+import org.jbake.model.DocumentAttributes;
+import org.jbake.model.DocumentTypes;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stores the crawled documents in plain Java collections, without any database.
+ * <p>
+ * Every document type has its own table, holding the documents by source uri along with a list sorted by date and
+ * indexes on status and rendered flag, while a {@link TagIndex} covers the tags of all documents. Queries are answered from these structures and return copies of the
+ * stored documents. Every access is serialized, so templates rendered by several threads may query the store.
+ * <p>
+ * Listing queries always return full documents, whatever their {@link DocumentProjection}: the copies share the
+ * field values of the stored documents, so leaving out the body would save neither reads nor memory.
+ * <p>
+ * The documents only live as long as the store is open. Select this implementation with <code>db.store=heap</code>.
+ */
+public class InMemoryContentStore implements ContentStore {
+
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
+    private static final String SOURCE_URI = String.valueOf(DocumentAttributes.SOURCE_URI);
+    private static final String SHA1 = String.valueOf(DocumentAttributes.SHA1);
+    private static final String RENDERED = String.valueOf(DocumentAttributes.RENDERED);
+    private static final String CACHED = String.valueOf(DocumentAttributes.CACHED);
+
+    private final Map<String, DocumentTable> tables = new HashMap<>();
+    private final TagIndex tagIndex = new TagIndex();
+    private final Map<String, Map<String, Object>> fileMetadata = new HashMap<>();
+    private final Map<String, String> templateSignatures = new HashMap<>();
+    private final AtomicLong modifications = new AtomicLong();
+    private String templatesSignature;
+    private boolean active;
+
+    private long start = -1;
+    private long limit = -1;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    @Override
+    public synchronized void startup() {
+        active = true;
+        updateSchema();
+    }
+
+    @Override
+    public long getStart() {
+        return start;
+    }
+
+    @Override
+    public void setStart(int start) {
+        this.start = start;
+    }
+
+    @Override
+    public long getLimit() {
+        return limit;
+    }
+
+    @Override
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+    }
+
+    @Override
+    public void resetPagination() {
+        this.start = -1;
+        this.limit = -1;
+    }
+
+    @Override
+    public synchronized void updateSchema() {
+        for (String docType : DocumentTypes.getDocumentTypes()) {
+            table(docType);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        clear();
+        active = false;
+        DBUtil.closeDataStore();
+    }
+
+    @Override
+    public void shutdown() {
+    }
+
+    @Override
+    public synchronized void drop() {
+        clear();
+    }
+
+    private void clear() {
+        modifications.incrementAndGet();
+        tables.clear();
+        tagIndex.clear();
+        fileMetadata.clear();
+        templateSignatures.clear();
+        templatesSignature = null;
+    }
+
+    @Override
+    public synchronized Map<String, Object> mergeDocument(Map<String, ? extends Object> incomingDocMap) {
+        String sourceUri = (String) incomingDocMap.get(DocumentAttributes.SOURCE_URI.toString());
+
+        if (null == sourceUri) {
+            throw new IllegalArgumentException("Document sourceUri is null.");
+        }
+
+        String docType = (String) incomingDocMap.get(Crawler.Attributes.TYPE);
+
+        if (null == docType) {
+            throw new IllegalArgumentException("Document docType is null.");
+        }
+
+        DocumentTable table = tables.get(docType);
+        Map<String, Object> existing = table != null ? table.get(sourceUri) : null;
+        if (existing == null) {
+            throw new JBakeException("No document with sourceUri '" + sourceUri + "'.");
+        }
+
+        Map<String, Object> merged = new HashMap<>(existing);
+        merged.putAll(normalize(incomingDocMap));
+        table.put(merged);
+        modifications.incrementAndGet();
+        return new HashMap<>(merged);
+    }
+
+    @Override
+    public synchronized long getDocumentCount(String docType) {
+        DocumentTable table = tables.get(docType);
+        return table != null ? table.size() : 0;
+    }
+
+    @Override
+    public synchronized long getPublishedCount(String docType) {
+        DocumentTable table = tables.get(docType);
+        return table != null ? table.countByStatus(Status.PUBLISHED) : 0;
+    }
+
+    @Override
+    public synchronized DocumentList getDocumentByUri(String docType, String uri) {
+        DocumentList documents = new DocumentList();
+        DocumentTable table = tables.get(docType);
+        Map<String, Object> document = table != null ? table.get(uri) : null;
+        if (document != null) {
+            documents.add(new HashMap<>(document));
+        }
+        return documents;
+    }
+
+    @Override
+    public synchronized DocumentList getDocumentStatus(String docType, String uri) {
+        DocumentList documents = new DocumentList();
+        DocumentTable table = tables.get(docType);
+        Map<String, Object> document = table != null ? table.get(uri) : null;
+        if (document != null) {
+            documents.add(project(document, SHA1, RENDERED));
+        }
+        return documents;
+    }
+
+    @Override
+    public synchronized DocumentList getDocumentStatuses(String docType) {
+        DocumentList documents = new DocumentList();
+        DocumentTable table = tables.get(docType);
+        if (table != null) {
+            for (Map<String, Object> document : table.all()) {
+                documents.add(project(document, SOURCE_URI, SHA1, RENDERED));
+            }
+        }
+        return documents;
+    }
+
+    @Override
+    public DocumentList getPublishedPosts() {
+        return getPublishedContent("post");
+    }
+
+    @Override
+    public DocumentList getPublishedPosts(boolean applyPaging) {
+        return getPublishedContent("post", applyPaging);
+    }
+
+    @Override
+    public DocumentList getPublishedPosts(boolean applyPaging, DocumentProjection projection) {
+        return getPublishedPosts(applyPaging);
+    }
+
+    @Override
+    public synchronized DocumentList getPublishedPostsByTag(String tag) {
+        DocumentTable table = tables.get("post");
+        return table != null ? copy(table.get(tagIndex.getPublishedUris(tag, "post")), false) : new DocumentList();
+    }
+
+    @Override
+    public DocumentList getPublishedPostsByTag(String tag, DocumentProjection projection) {
+        return getPublishedPostsByTag(tag);
+    }
+
+    @Override
+    public synchronized DocumentList getPublishedDocumentsByTag(String tag) {
+        DocumentList documents = new DocumentList();
+        Set<String> docTypes = tagIndex.getDocumentTypes(tag);
+        for (String docType : DocumentTypes.getDocumentTypes()) {
+            DocumentTable table = tables.get(docType);
+            if (table != null && docTypes.contains(docType)) {
+                documents.addAll(copy(table.get(tagIndex.getPublishedUris(tag, docType)), false));
+            }
+        }
+        return documents;
+    }
+
+    @Override
+    public DocumentList getPublishedDocumentsByTag(String tag, DocumentProjection projection) {
+        return getPublishedDocumentsByTag(tag);
+    }
+
+    @Override
+    public DocumentList getPublishedPages() {
+        return getPublishedContent("page");
+    }
+
+    @Override
+    public DocumentList getPublishedContent(String docType) {
+        return getPublishedContent(docType, false);
+    }
+
+    @Override
+    public DocumentList getPublishedContent(String docType, DocumentProjection projection) {
+        return getPublishedContent(docType);
+    }
+
+    private synchronized DocumentList getPublishedContent(String docType, boolean applyPaging) {
+        DocumentTable table = tables.get(docType);
+        return table != null ? copy(table.published(), applyPaging) : new DocumentList();
+    }
+
+    @Override
+    public DocumentList getAllContent(String docType) {
+        return getAllContent(docType, false);
+    }
+
+    @Override
+    public synchronized DocumentList getAllContent(String docType, boolean applyPaging) {
+        DocumentTable table = tables.get(docType);
+        return table != null ? copy(table.sorted(), applyPaging) : new DocumentList();
+    }
+
+    @Override
+    public DocumentList getAllContent(String docType, boolean applyPaging, DocumentProjection projection) {
+        return getAllContent(docType, applyPaging);
+    }
+
+    @Override
+    public synchronized DocumentList getFileMetadata() {
+        DocumentList documents = new DocumentList();
+        for (Map<String, Object> metadata : fileMetadata.values()) {
+            documents.add(new HashMap<>(metadata));
+        }
+        return documents;
+    }
+
+    @Override
+    public synchronized void updateFileMetadata(String path, long size, long lastModified, String fileKey, String sha1) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("path", path);
+        metadata.put("size", size);
+        metadata.put("lastmodified", lastModified);
+        metadata.put("filekey", fileKey);
+        metadata.put(SHA1, sha1);
+        fileMetadata.put(path, metadata);
+    }
+
+    @Override
+    public synchronized DocumentList getUnrenderedContent(String docType) {
+        DocumentTable table = tables.get(docType);
+        return table != null ? copy(table.unrendered(), false) : new DocumentList();
+    }
+
+    @Override
+    public synchronized void deleteContent(String docType, String uri) {
+        DocumentTable table = tables.get(docType);
+        if (table != null) {
+            table.remove(uri);
+            modifications.incrementAndGet();
+        }
+    }
+
+    @Override
+    public synchronized void deleteAll(String docType, Collection<String> uris) {
+        DocumentTable table = tables.get(docType);
+        if (table != null) {
+            for (String uri : uris) {
+                table.remove(uri);
+            }
+            modifications.incrementAndGet();
+        }
+    }
+
+    /**
+     * Stores new documents. The whole collection is validated before any document is stored, so a failure leaves
+     * the store unchanged.
+     *
+     * @param documents the document models to store
+     */
+    @Override
+    public synchronized void saveAll(Collection<? extends Map<String, Object>> documents) {
+        List<Map<String, Object>> normalized = new ArrayList<>(documents.size());
+        Set<String> keys = new HashSet<>();
+        for (Map<String, Object> document : documents) {
+            String docType = (String) document.get(Crawler.Attributes.TYPE);
+            String sourceUri = (String) document.get(SOURCE_URI);
+            if (docType == null || sourceUri == null) {
+                throw new IllegalArgumentException("Document docType or sourceUri is null.");
+            }
+            DocumentTable table = tables.get(docType);
+            if ((table != null && table.get(sourceUri) != null) || !keys.add(docType + '\n' + sourceUri)) {
+                throw new JBakeException("Duplicate document with sourceUri '" + sourceUri + "'.");
+            }
+            normalized.add(normalize(document));
+        }
+        for (Map<String, Object> document : normalized) {
+            table((String) document.get(Crawler.Attributes.TYPE)).put(document);
+        }
+        modifications.incrementAndGet();
+    }
+
+    @Override
+    public synchronized void markContentAsRendered(String docType) {
+        DocumentTable table = tables.get(docType);
+        if (table != null) {
+            table.markAsRendered();
+            modifications.incrementAndGet();
+        }
+    }
+
+    @Override
+    public synchronized void markContentAsUnrendered(String docType) {
+        DocumentTable table = tables.get(docType);
+        if (table != null) {
+            table.markAsUnrendered();
+            modifications.incrementAndGet();
+        }
+    }
+
+    @Override
+    public synchronized Map<String, String> getTemplateSignatures() {
+        return new HashMap<>(templateSignatures);
+    }
+
+    @Override
+    public synchronized void updateTemplateSignatures(Map<String, String> signatures) {
+        templateSignatures.clear();
+        templateSignatures.putAll(signatures);
+    }
+
+    @Override
+    public synchronized void deleteAllByDocType(String docType) {
+        tables.remove(docType);
+        tagIndex.removeAll(docType);
+        modifications.incrementAndGet();
+    }
+
+    @Override
+    public synchronized Set<String> getTags() {
+        return tagIndex.getTags("post");
+    }
+
+    @Override
+    public synchronized Set<String> getAllTags() {
+        return tagIndex.getTags();
+    }
+
+    @Override
+    public synchronized void updateAndClearCacheIfNeeded(boolean needed, File templateFolder) {
+        boolean clearCache = needed;
+
+        if (needed) {
+            templatesSignature = null;
+        } else {
+            String currentTemplatesSignature;
+            try {
+                currentTemplatesSignature = FileUtil.sha1(templateFolder);
+            } catch (Exception e) {
+                currentTemplatesSignature = "";
+            }
+            clearCache = !currentTemplatesSignature.equals(templatesSignature);
+            templatesSignature = currentTemplatesSignature;
+        }
+
+        if (clearCache) {
+            tables.clear();
+            tagIndex.clear();
+            modifications.incrementAndGet();
+            updateSchema();
+        }
+    }
+
+    @Override
+    public synchronized boolean isActive() {
+        return active;
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modifications.get();
+    }
+
+    private DocumentTable table(String docType) {
+        DocumentTable table = tables.get(docType);
+        if (table == null) {
+            table = new DocumentTable(docType, tagIndex);
+            tables.put(docType, table);
+        }
+        return table;
+    }
+
+    private DocumentList copy(List<Map<String, Object>> documents, boolean applyPaging) {
+        int from = 0;
+        int to = documents.size();
+        if (applyPaging && (start >= 0) && (limit > -1)) {
+            from = (int) Math.min(start, to);
+            to = (int) Math.min(from + limit, to);
+        }
+        DocumentList result = new DocumentList();
+        for (Map<String, Object> document : documents.subList(from, to)) {
+            result.add(new HashMap<>(document));
+        }
+        return result;
+    }
+
+    private static Map<String, Object> project(Map<String, Object> document, String... fields) {
+        Map<String, Object> result = new HashMap<>();
+        for (String field : fields) {
+            result.put(field, document.get(field));
+        }
+        return result;
+    }
+
+    /**
+     * Copies a document model, storing arrays as lists the way a database would.
+     */
+    private static Map<String, Object> normalize(Map<String, ? extends Object> document) {
+        Map<String, Object> result = new HashMap<>();
+        for (Map.Entry<String, ? extends Object> entry : document.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof Object[]) {
+                value = new ArrayList<>(Arrays.asList((Object[]) value));
+            }
+            result.put(entry.getKey(), value);
+        }
+        return result;
+    }
+
+    private static boolean isPublished(Map<String, Object> document) {
+        return Status.PUBLISHED.equals(document.get(Crawler.Attributes.STATUS));
+    }
+
+    /**
+     * Orders documents by date, most recent first, documents without a date last.
+     */
+    private static final Comparator<Map<String, Object>> BY_DATE_DESC = new Comparator<Map<String, Object>>() {
+        @Override
+        public int compare(Map<String, Object> first, Map<String, Object> second) {
+            Object firstDate = first.get(Crawler.Attributes.DATE);
+            Object secondDate = second.get(Crawler.Attributes.DATE);
+            if (!(firstDate instanceof Date)) {
+                return secondDate instanceof Date ? 1 : 0;
+            }
+            if (!(secondDate instanceof Date)) {
+                return -1;
+            }
+            return ((Date) secondDate).compareTo((Date) firstDate);
+        }
+    };
+
+    /**
+     * The documents of a single type and their indexes.
+     */
+    private static class DocumentTable {
+
+        private final String docType;
+        private final TagIndex tagIndex;
+        private final Map<String, Map<String, Object>> byUri = new HashMap<>();
+        private final Map<Object, Set<String>> byStatus = new HashMap<>();
+        private final Set<String> unrendered = new HashSet<>();
+        private List<Map<String, Object>> sorted;
+
+        DocumentTable(String docType, TagIndex tagIndex) {
+            this.docType = docType;
+            this.tagIndex = tagIndex;
+        }
+
+        int size() {
+            return byUri.size();
+        }
+
+        Map<String, Object> get(String uri) {
+            return byUri.get(uri);
+        }
+
+        List<Map<String, Object>> get(List<String> uris) {
+            List<Map<String, Object>> result = new ArrayList<>(uris.size());
+            for (String uri : uris) {
+                result.add(byUri.get(uri));
+            }
+            return result;
+        }
+
+        Collection<Map<String, Object>> all() {
+            return byUri.values();
+        }
+
+        void put(Map<String, Object> document) {
+            String uri = (String) document.get(SOURCE_URI);
+            remove(uri);
+            byUri.put(uri, document);
+            index(byStatus, document.get(Crawler.Attributes.STATUS), uri);
+            tagIndex.add(docType, document);
+            if (Boolean.FALSE.equals(document.get(RENDERED))) {
+                unrendered.add(uri);
+            }
+            sorted = null;
+        }
+
+        void remove(String uri) {
+            Map<String, Object> document = byUri.remove(uri);
+            if (document == null) {
+                return;
+            }
+            unindex(byStatus, document.get(Crawler.Attributes.STATUS), uri);
+            tagIndex.remove(docType, uri);
+            unrendered.remove(uri);
+            sorted = null;
+        }
+
+        int countByStatus(String status) {
+            Set<String> uris = byStatus.get(status);
+            return uris != null ? uris.size() : 0;
+        }
+
+        List<Map<String, Object>> sorted() {
+            if (sorted == null) {
+                sorted = new ArrayList<>(byUri.values());
+                Collections.sort(sorted, BY_DATE_DESC);
+            }
+            return sorted;
+        }
+
+        List<Map<String, Object>> published() {
+            Set<String> uris = byStatus.get(Status.PUBLISHED);
+            if (uris == null) {
+                return Collections.emptyList();
+            }
+            if (uris.size() == byUri.size()) {
+                return sorted();
+            }
+            List<Map<String, Object>> result = new ArrayList<>(uris.size());
+            for (Map<String, Object> document : sorted()) {
+                if (isPublished(document)) {
+                    result.add(document);
+                }
+            }
+            return result;
+        }
+
+        List<Map<String, Object>> unrendered() {
+            List<Map<String, Object>> result = new ArrayList<>(unrendered.size());
+            for (String uri : unrendered) {
+                result.add(byUri.get(uri));
+            }
+            Collections.sort(result, BY_DATE_DESC);
+            return result;
+        }
+
+        void markAsRendered() {
+            List<String> rendered = new ArrayList<>();
+            for (String uri : unrendered) {
+                Map<String, Object> document = byUri.get(uri);
+                if (Boolean.TRUE.equals(document.get(CACHED))) {
+                    document.put(RENDERED, true);
+                    rendered.add(uri);
+                }
+            }
+            unrendered.removeAll(rendered);
+        }
+
+        void markAsUnrendered() {
+            for (Map.Entry<String, Map<String, Object>> document : byUri.entrySet()) {
+                if (Boolean.TRUE.equals(document.getValue().get(RENDERED))) {
+                    document.getValue().put(RENDERED, false);
+                    unrendered.add(document.getKey());
+                }
+            }
+        }
+
+        private static void index(Map<Object, Set<String>> index, Object key, String uri) {
+            Set<String> uris = index.get(key);
+            if (uris == null) {
+                uris = new HashSet<>();
+                index.put(key, uris);
+            }
+            uris.add(uri);
+        }
+
+        private static void unindex(Map<Object, Set<String>> index, Object key, String uri) {
+            Set<String> uris = index.get(key);
+            if (uris != null) {
+                uris.remove(uri);
+                if (uris.isEmpty()) {
+                    index.remove(key);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,444 @@
+package org.jbake.app;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link ContentStore} recording the number of calls and the time spent in every query and write of another store
+ * in {@link BakeMetrics}.
+ */
+public class MeteredContentStore implements ContentStore {
+
+    private final ContentStore store;
+    private volatile BakeMetrics metrics;
+
+    /**
+     * @param store   the store to delegate to
+     * @param metrics the metrics to record the queries in
+     */
+    public MeteredContentStore(ContentStore store, BakeMetrics metrics) {
+        this.store = store;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param metrics the metrics to record the next queries in
+     */
+    public void setMetrics(BakeMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return the store queries are delegated to
+     */
+    public ContentStore getStore() {
+        return store;
+    }
+
+    @Override
+    public void startup() {
+        store.startup();
+    }
+
+    @Override
+    public long getStart() {
+        return store.getStart();
+    }
+
+    @Override
+    public void setStart(int start) {
+        store.setStart(start);
+    }
+
+    @Override
+    public long getLimit() {
+        return store.getLimit();
+    }
+
+    @Override
+    public void setLimit(int limit) {
+        store.setLimit(limit);
+    }
+
+    @Override
+    public int getBatchSize() {
+        return store.getBatchSize();
+    }
+
+    @Override
+    public void setBatchSize(int batchSize) {
+        store.setBatchSize(batchSize);
+    }
+
+    @Override
+    public void resetPagination() {
+        store.resetPagination();
+    }
+
+    @Override
+    public void updateSchema() {
+        store.updateSchema();
+    }
+
+    @Override
+    public void close() {
+        store.close();
+    }
+
+    @Override
+    public void shutdown() {
+        store.shutdown();
+    }
+
+    @Override
+    public void drop() {
+        long start = System.nanoTime();
+        try {
+            store.drop();
+        } finally {
+            metrics.recordQuery("drop", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Map<String, Object> mergeDocument(Map<String, ? extends Object> incomingDocMap) {
+        long start = System.nanoTime();
+        try {
+            return store.mergeDocument(incomingDocMap);
+        } finally {
+            metrics.recordQuery("mergeDocument", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public long getDocumentCount(String docType) {
+        long start = System.nanoTime();
+        try {
+            return store.getDocumentCount(docType);
+        } finally {
+            metrics.recordQuery("getDocumentCount", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public long getPublishedCount(String docType) {
+        long start = System.nanoTime();
+        try {
+            return store.getPublishedCount(docType);
+        } finally {
+            metrics.recordQuery("getPublishedCount", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public DocumentList getDocumentByUri(String docType, String uri) {
+        long start = System.nanoTime();
+        try {
+            return store.getDocumentByUri(docType, uri);
+        } finally {
+            metrics.recordQuery("getDocumentByUri", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public DocumentList getDocumentStatus(String docType, String uri) {
+        long start = System.nanoTime();
+        try {
+            return store.getDocumentStatus(docType, uri);
+        } finally {
+            metrics.recordQuery("getDocumentStatus", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public DocumentList getDocumentStatuses(String docType) {
+        long start = System.nanoTime();
+        try {
+            return store.getDocumentStatuses(docType);
+        } finally {
+            metrics.recordQuery("getDocumentStatuses", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public DocumentList getPublishedPosts() {
+        long start = System.nanoTime();
+        try {
+            return store.getPublishedPosts();
+        } finally {
+            metrics.recordQuery("getPublishedPosts", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public DocumentList getPublishedPosts(boolean applyPaging) {
+        long start = System.nanoTime();
+        try {
+            return store.getPublishedPosts(applyPaging);
+        } finally {
+            metrics.recordQuery("getPublishedPosts", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public DocumentList getPublishedPosts(boolean applyPaging, DocumentProjection projection) {
+        long start = System.nanoTime();
+        try {
+            return store.getPublishedPosts(applyPaging, projection);
+        } finally {
+            metrics.recordQuery("getPublishedPosts", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public DocumentList getPublishedPostsByTag(String tag) {
+        long start = System.nanoTime();
+        try {
+            return store.getPublishedPostsByTag(tag);
+        } finally {
+            metrics.recordQuery("getPublishedPostsByTag", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public DocumentList getPublishedPostsByTag(String tag, DocumentProjection projection) {
+        long start = System.nanoTime();
+        try {
+            return store.getPublishedPostsByTag(tag, projection);
+        } finally {
+            metrics.recordQuery("getPublishedPostsByTag", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public DocumentList getPublishedDocumentsByTag(String tag) {
+        long start = System.nanoTime();
+        try {
+            return store.getPublishedDocumentsByTag(tag);
+        } finally {
+            metrics.recordQuery("getPublishedDocumentsByTag", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public DocumentList getPublishedDocumentsByTag(String tag, DocumentProjection projection) {
+        long start = System.nanoTime();
+        try {
+            return store.getPublishedDocumentsByTag(tag, projection);
+        } finally {
+            metrics.recordQuery("getPublishedDocumentsByTag", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public DocumentList getPublishedPages() {
+        long start = System.nanoTime();
+        try {
+            return store.getPublishedPages();
+        } finally {
+            metrics.recordQuery("getPublishedPages", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public DocumentList getPublishedContent(String docType) {
+        long start = System.nanoTime();
+        try {
+            return store.getPublishedContent(docType);
+        } finally {
+            metrics.recordQuery("getPublishedContent", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public DocumentList getPublishedContent(String docType, DocumentProjection projection) {
+        long start = System.nanoTime();
+        try {
+            return store.getPublishedContent(docType, projection);
+        } finally {
+            metrics.recordQuery("getPublishedContent", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public DocumentList getAllContent(String docType) {
+        long start = System.nanoTime();
+        try {
+            return store.getAllContent(docType);
+        } finally {
+            metrics.recordQuery("getAllContent", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public DocumentList getAllContent(String docType, boolean applyPaging) {
+        long start = System.nanoTime();
+        try {
+            return store.getAllContent(docType, applyPaging);
+        } finally {
+            metrics.recordQuery("getAllContent", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public DocumentList getAllContent(String docType, boolean applyPaging, DocumentProjection projection) {
+        long start = System.nanoTime();
+        try {
+            return store.getAllContent(docType, applyPaging, projection);
+        } finally {
+            metrics.recordQuery("getAllContent", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public DocumentList getFileMetadata() {
+        long start = System.nanoTime();
+        try {
+            return store.getFileMetadata();
+        } finally {
+            metrics.recordQuery("getFileMetadata", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void updateFileMetadata(String path, long size, long lastModified, String fileKey, String sha1) {
+        long start = System.nanoTime();
+        try {
+            store.updateFileMetadata(path, size, lastModified, fileKey, sha1);
+        } finally {
+            metrics.recordQuery("updateFileMetadata", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public DocumentList getUnrenderedContent(String docType) {
+        long start = System.nanoTime();
+        try {
+            return store.getUnrenderedContent(docType);
+        } finally {
+            metrics.recordQuery("getUnrenderedContent", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void deleteContent(String docType, String uri) {
+        long start = System.nanoTime();
+        try {
+            store.deleteContent(docType, uri);
+        } finally {
+            metrics.recordQuery("deleteContent", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void deleteAll(String docType, Collection<String> uris) {
+        long start = System.nanoTime();
+        try {
+            store.deleteAll(docType, uris);
+        } finally {
+            metrics.recordQuery("deleteAll", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<? extends Map<String, Object>> documents) {
+        long start = System.nanoTime();
+        try {
+            store.saveAll(documents);
+        } finally {
+            metrics.recordQuery("saveAll", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void markContentAsRendered(String docType) {
+        long start = System.nanoTime();
+        try {
+            store.markContentAsRendered(docType);
+        } finally {
+            metrics.recordQuery("markContentAsRendered", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void markContentAsUnrendered(String docType) {
+        long start = System.nanoTime();
+        try {
+            store.markContentAsUnrendered(docType);
+        } finally {
+            metrics.recordQuery("markContentAsUnrendered", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void deleteAllByDocType(String docType) {
+        long start = System.nanoTime();
+        try {
+            store.deleteAllByDocType(docType);
+        } finally {
+            metrics.recordQuery("deleteAllByDocType", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Map<String, String> getTemplateSignatures() {
+        long start = System.nanoTime();
+        try {
+            return store.getTemplateSignatures();
+        } finally {
+            metrics.recordQuery("getTemplateSignatures", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void updateTemplateSignatures(Map<String, String> signatures) {
+        long start = System.nanoTime();
+        try {
+            store.updateTemplateSignatures(signatures);
+        } finally {
+            metrics.recordQuery("updateTemplateSignatures", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Set<String> getTags() {
+        long start = System.nanoTime();
+        try {
+            return store.getTags();
+        } finally {
+            metrics.recordQuery("getTags", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Set<String> getAllTags() {
+        long start = System.nanoTime();
+        try {
+            return store.getAllTags();
+        } finally {
+            metrics.recordQuery("getAllTags", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void updateAndClearCacheIfNeeded(boolean needed, File templateFolder) {
+        long start = System.nanoTime();
+        try {
+            store.updateAndClearCacheIfNeeded(needed, templateFolder);
+        } finally {
+            metrics.recordQuery("updateAndClearCacheIfNeeded", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean isActive() {
+        return store.isActive();
+    }
+
+    @Override
+    public long getModificationCount() {
+        return store.getModificationCount();
+    }
+}
@@ -0,0 +1,846 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2015 jdlee.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jbake.app;
+
+import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.orient.core.Orient;
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.db.ODatabaseType;
+import com.orientechnologies.orient.core.db.OrientDB;
+import com.orientechnologies.orient.core.db.OrientDBConfig;
+import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
+import com.orientechnologies.orient.core.hook.ODocumentHookAbstract;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OSchema;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.sql.OCommandSQL;
+import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
+import org.jbake.model.DocumentAttributes;
+import org.jbake.model.DocumentTypes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Stores the crawled documents in an OrientDB database, either in memory or persisted to disk.
+ * <p>
+ * The underlying database session is bound to a single thread at a time. Every access is therefore serialized and
+ * activates the session on the calling thread, which allows templates rendered by several threads to query the store.
+ *
+ * @author jdlee
+ */
+public class OrientContentStore implements ContentStore {
+
+    private static final String STATEMENT_GET_PUBLISHED_CONTENT_BY_TYPE_AND_URIS = "select * from %s where status='published' and sourceuri in ? order by date desc";
+    private static final String STATEMENT_GET_TAG_INDEX_BY_DOCTYPE = "select sourceuri,tags,status,date from %s where tags is not null";
+    private static final String STATEMENT_GET_POST_BY_TYPE_AND_URI = "select * from %s where sourceuri=?";
+    private static final String STATEMENT_GET_DOCUMENT_STATUS_BY_DOCTYPE_AND_URI = "select sha1,rendered from %s where sourceuri=?";
+    private static final String STATEMENT_GET_DOCUMENT_STATUSES_BY_DOCTYPE = "select sourceuri,sha1,rendered from %s";
+    private static final String STATEMENT_GET_PUBLISHED_COUNT = "select count(*) as count from %s where status='published'";
+    private static final String STATEMENT_MARK_CONTENT_AS_RENDERD = "update %s set rendered=true where rendered=false and cached=true";
+    private static final String STATEMENT_DELETE_DOCTYPE_BY_SOURCEURI = "delete from %s where sourceuri=?";
+    private static final String STATEMENT_DELETE_DOCTYPE_BY_SOURCEURIS = "delete from %s where sourceuri in ?";
+    private static final String STATEMENT_GET_UNDRENDERED_CONTENT = "select * from %s where rendered=false order by date desc";
+    private static final String STATEMENT_GET_SIGNATURE_FOR_TEMPLATES = "select sha1 from Signatures where key='templates'";
+    private static final String STATEMENT_GET_ALL_CONTENT_BY_DOCTYPE = "select * from %s order by date desc";
+    private static final String STATEMENT_GET_PUBLISHED_CONTENT_BY_DOCTYPE = "select * from %s where status='published' order by date desc";
+    private static final String STATEMENT_INSERT_TEMPLATES_SIGNATURE = "insert into Signatures(key,sha1) values('templates',?)";
+    private static final String STATEMENT_DELETE_ALL = "delete from %s";
+    private static final String STATEMENT_UPDATE_TEMPLATE_SIGNATURE = "update Signatures set sha1=? where key='templates'";
+    private static final String STATEMENT_DELETE_TEMPLATES_SIGNATURE = "delete from Signatures where key='templates'";
+    private static final String STATEMENT_GET_TEMPLATE_SIGNATURES = "select key,sha1 from TemplateSignatures";
+    private static final String STATEMENT_DELETE_TEMPLATE_SIGNATURES = "delete from TemplateSignatures";
+    private static final String STATEMENT_INSERT_TEMPLATE_SIGNATURE = "insert into TemplateSignatures(key,sha1) values(?,?)";
+    private static final String STATEMENT_MARK_CONTENT_AS_UNRENDERED = "update %s set rendered=false where rendered=true";
+    private static final String STATEMENT_GET_FILE_METADATA = "select path,size,lastmodified,filekey,sha1 from FileMetadata";
+    private static final String STATEMENT_UPSERT_FILE_METADATA = "update FileMetadata set size=?, lastmodified=?, filekey=?, sha1=? upsert where path=?";
+
+    private static final String FILE_METADATA_CLASS = "FileMetadata";
+    private static final String TEMPLATE_SIGNATURES_CLASS = "TemplateSignatures";
+    private static final String[] TAG_INDEX_FIELDS = {DocumentAttributes.SOURCE_URI.toString(), Crawler.Attributes.TAGS,
+        Crawler.Attributes.STATUS, Crawler.Attributes.DATE};
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(OrientContentStore.class);
+    private final String type;
+    private final String name;
+
+    private ODatabaseSession db;
+    private final TagIndex tagIndex = new TagIndex();
+    private volatile boolean tagIndexLoaded;
+    private final AtomicLong modifications = new AtomicLong();
+
+    private long start = -1;
+    private long limit = -1;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private OrientDB orient;
+
+    public OrientContentStore(final String type, String name) {
+        this.type = type;
+        this.name = name;
+    }
+
+
+    @Override
+    public void startup() {
+        startupIfEnginesAreMissing();
+
+        if (type.equalsIgnoreCase(ODatabaseType.PLOCAL.name())) {
+            orient = new OrientDB(type + ":" + name, OrientDBConfig.defaultConfig());
+        } else {
+            orient = new OrientDB(type + ":", OrientDBConfig.defaultConfig());
+        }
+
+        orient.createIfNotExists(name, ODatabaseType.valueOf(type.toUpperCase()));
+
+        db = orient.open(name, "admin", "admin");
+
+        activateOnCurrentThread();
+        invalidateTagIndex();
+        db.registerHook(new TagIndexHook(db));
+
+        updateSchema();
+    }
+
+    @Override
+    public long getStart() {
+        return start;
+    }
+
+    @Override
+    public void setStart(int start) {
+        this.start = start;
+    }
+
+    @Override
+    public long getLimit() {
+        return limit;
+    }
+
+    @Override
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+    }
+
+    @Override
+    public void resetPagination() {
+        this.start = -1;
+        this.limit = -1;
+    }
+
+    @Override
+    public final void updateSchema() {
+
+        OSchema schema = db.getMetadata().getSchema();
+
+        for (String docType : DocumentTypes.getDocumentTypes()) {
+            if (!schema.existsClass(docType)) {
+                createDocType(schema, docType);
+            }
+        }
+        if (!schema.existsClass(FILE_METADATA_CLASS)) {
+            createFileMetadataType(schema);
+        }
+        if (!schema.existsClass(TEMPLATE_SIGNATURES_CLASS)) {
+            createTemplateSignaturesType(schema);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (db != null) {
+            activateOnCurrentThread();
+            db.close();
+        }
+
+        if (orient != null) {
+            orient.close();
+        }
+        DBUtil.closeDataStore();
+    }
+
+    @Override
+    public void shutdown() {
+
+//        Orient.instance().shutdown();
+    }
+
+    private void startupIfEnginesAreMissing() {
+        // Using a jdk which doesn't bundle a javascript engine
+        // throws a NoClassDefFoundError while logging the warning
+        // see https://github.com/orientechnologies/orientdb/issues/5855
+        OLogManager.instance().setWarnEnabled(false);
+
+        // If an instance of Orient was previously shutdown all engines are removed.
+        // We need to startup Orient again.
+        if (Orient.instance().getEngines().isEmpty()) {
+            Orient.instance().startup();
+        }
+        OLogManager.instance().setWarnEnabled(true);
+    }
+
+    @Override
+    public void drop() {
+        activateOnCurrentThread();
+//        db.drop();
+
+        orient.drop(name);
+        invalidateTagIndex();
+    }
+
+    private void activateOnCurrentThread() {
+        if (db != null) {
+            db.activateOnCurrentThread();
+        } else {
+            System.out.println("db is null on activate");
+        }
+    }
+
+
+    /**
+     * Get a document by sourceUri and update it from the given map.
+     * @param incomingDocMap The document's db columns.
+     * @return The saved document.
+     * @throws IllegalArgumentException if sourceUri or docType are null, or if the document doesn't exist.
+     */
+    @Override
+    public synchronized Map<String, Object> mergeDocument(Map<String, ? extends Object> incomingDocMap) {
+        String sourceUri = (String) incomingDocMap.get(DocumentAttributes.SOURCE_URI.toString());
+
+        if (null == sourceUri) {
+            throw new IllegalArgumentException("Document sourceUri is null.");
+        }
+
+        String docType = (String) incomingDocMap.get(Crawler.Attributes.TYPE);
+
+        if (null == docType) {
+            throw new IllegalArgumentException("Document docType is null.");
+        }
+
+        // Get a document by sourceUri
+        String sql = String.format(STATEMENT_GET_POST_BY_TYPE_AND_URI, quoteIdentifier(docType));
+        activateOnCurrentThread();
+        List<ODocument> results = db.command(new OSQLSynchQuery<ODocument>(sql)).execute(sourceUri);
+        if (results.isEmpty()) {
+            throw new JBakeException("No document with sourceUri '" + sourceUri + "'.");
+        }
+
+        // Update it from the given map.
+        ODocument incomingDoc = new ODocument(docType);
+        incomingDoc.fromMap(incomingDocMap);
+        ODocument merged = results.get(0).merge(incomingDoc, true, false);
+        // the tag index hook indexes the saved document and counts the modification
+        merged.save();
+        return merged.toMap();
+    }
+
+
+    @Override
+    public synchronized long getDocumentCount(String docType) {
+        activateOnCurrentThread();
+        return db.countClass(docType);
+    }
+
+    @Override
+    public long getPublishedCount(String docType) {
+        String statement = String.format(STATEMENT_GET_PUBLISHED_COUNT, quoteIdentifier(docType));
+        return (Long) query(statement).get(0).get("count");
+    }
+
+    /*
+     * In fact, the URI should be the only input as there can only be one document at given URI; but the DB is split per document type for some reason.
+     */
+    @Override
+    public DocumentList getDocumentByUri(String docType, String uri) {
+        return query(String.format(STATEMENT_GET_POST_BY_TYPE_AND_URI, quoteIdentifier(docType)), uri);
+    }
+
+    @Override
+    public DocumentList getDocumentStatus(String docType, String uri) {
+        String statement = String.format(STATEMENT_GET_DOCUMENT_STATUS_BY_DOCTYPE_AND_URI, quoteIdentifier(docType));
+        return query(statement, uri);
+    }
+
+    @Override
+    public DocumentList getDocumentStatuses(String docType) {
+        String statement = String.format(STATEMENT_GET_DOCUMENT_STATUSES_BY_DOCTYPE, quoteIdentifier(docType));
+        return query(statement);
+    }
+
+    @Override
+    public DocumentList getPublishedPosts() {
+        return getPublishedContent("post");
+    }
+
+    @Override
+    public DocumentList getPublishedPosts(boolean applyPaging) {
+        return getPublishedPosts(applyPaging, DocumentProjection.FULL);
+    }
+
+    @Override
+    public DocumentList getPublishedPosts(boolean applyPaging, DocumentProjection projection) {
+        return getPublishedContent("post", applyPaging, projection);
+    }
+
+    @Override
+    public DocumentList getPublishedPostsByTag(String tag) {
+        return getPublishedPostsByTag(tag, DocumentProjection.FULL);
+    }
+
+    @Override
+    public DocumentList getPublishedPostsByTag(String tag, DocumentProjection projection) {
+        return getPublishedContentByTag("post", tag, projection);
+    }
+
+    @Override
+    public DocumentList getPublishedDocumentsByTag(String tag) {
+        return getPublishedDocumentsByTag(tag, DocumentProjection.FULL);
+    }
+
+    @Override
+    public DocumentList getPublishedDocumentsByTag(String tag, DocumentProjection projection) {
+        final DocumentList documents = new DocumentList();
+        Set<String> docTypes = tagIndex().getDocumentTypes(tag);
+
+        for (final String docType : DocumentTypes.getDocumentTypes()) {
+            if (docTypes.contains(docType)) {
+                documents.addAll(getPublishedContentByTag(docType, tag, projection));
+            }
+        }
+        return documents;
+    }
+
+    private DocumentList getPublishedContentByTag(String docType, String tag, DocumentProjection projection) {
+        List<String> uris = tagIndex().getPublishedUris(tag, docType);
+        if (uris.isEmpty()) {
+            return new DocumentList();
+        }
+        String statement = String.format(STATEMENT_GET_PUBLISHED_CONTENT_BY_TYPE_AND_URIS, quoteIdentifier(docType));
+        return query(projection, statement, uris);
+    }
+
+    @Override
+    public DocumentList getPublishedPages() {
+        return getPublishedContent("page");
+    }
+
+    @Override
+    public DocumentList getPublishedContent(String docType) {
+        return getPublishedContent(docType, false, DocumentProjection.FULL);
+    }
+
+    @Override
+    public DocumentList getPublishedContent(String docType, DocumentProjection projection) {
+        return getPublishedContent(docType, false, projection);
+    }
+
+    private DocumentList getPublishedContent(String docType, boolean applyPaging, DocumentProjection projection) {
+        String query = String.format(STATEMENT_GET_PUBLISHED_CONTENT_BY_DOCTYPE, quoteIdentifier(docType));
+        if (applyPaging && hasStartAndLimitBoundary()) {
+            query += " SKIP " + start + " LIMIT " + limit;
+        }
+        return query(projection, query);
+    }
+
+    @Override
+    public DocumentList getAllContent(String docType) {
+        return getAllContent(docType, false);
+    }
+
+    @Override
+    public DocumentList getAllContent(String docType, boolean applyPaging) {
+        return getAllContent(docType, applyPaging, DocumentProjection.FULL);
+    }
+
+    @Override
+    public DocumentList getAllContent(String docType, boolean applyPaging, DocumentProjection projection) {
+        String query = String.format(STATEMENT_GET_ALL_CONTENT_BY_DOCTYPE, quoteIdentifier(docType));
+        if (applyPaging && hasStartAndLimitBoundary()) {
+            query += " SKIP " + start + " LIMIT " + limit;
+        }
+        return query(projection, query);
+    }
+
+    private boolean hasStartAndLimitBoundary() {
+        return (start >= 0) && (limit > -1);
+    }
+
+    private DocumentList getSignaturesForTemplates() {
+        return query(STATEMENT_GET_SIGNATURE_FOR_TEMPLATES);
+    }
+
+    @Override
+    public DocumentList getFileMetadata() {
+        return query(STATEMENT_GET_FILE_METADATA);
+    }
+
+    @Override
+    public void updateFileMetadata(String path, long size, long lastModified, String fileKey, String sha1) {
+        executeCommand(STATEMENT_UPSERT_FILE_METADATA, size, lastModified, fileKey, sha1, path);
+    }
+
+    @Override
+    public DocumentList getUnrenderedContent(String docType) {
+        String statement = String.format(STATEMENT_GET_UNDRENDERED_CONTENT, quoteIdentifier(docType));
+        return query(statement);
+    }
+
+    @Override
+    public void deleteContent(String docType, String uri) {
+        String statement = String.format(STATEMENT_DELETE_DOCTYPE_BY_SOURCEURI, quoteIdentifier(docType));
+        executeCommand(statement, uri);
+        modifications.incrementAndGet();
+    }
+
+    @Override
+    public synchronized void deleteAll(String docType, Collection<String> uris) {
+        String statement = String.format(STATEMENT_DELETE_DOCTYPE_BY_SOURCEURIS, quoteIdentifier(docType));
+        List<String> batch = new ArrayList<>(Math.min(batchSize, uris.size()));
+        for (String uri : uris) {
+            batch.add(uri);
+            if (batch.size() == batchSize) {
+                deleteBatch(statement, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            deleteBatch(statement, batch);
+        }
+    }
+
+    private void deleteBatch(String statement, List<String> uris) {
+        activateOnCurrentThread();
+        db.begin();
+        try {
+            db.command(statement, uris).close();
+            db.commit();
+            modifications.incrementAndGet();
+        } catch (RuntimeException e) {
+            db.rollback();
+            invalidateTagIndex();
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized void saveAll(Collection<? extends Map<String, Object>> documents) {
+        List<Map<String, Object>> batch = new ArrayList<>(Math.min(batchSize, documents.size()));
+        for (Map<String, Object> document : documents) {
+            batch.add(document);
+            if (batch.size() == batchSize) {
+                saveBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            saveBatch(batch);
+        }
+    }
+
+    private void saveBatch(List<Map<String, Object>> documents) {
+        activateOnCurrentThread();
+        db.begin();
+        try {
+            for (Map<String, Object> document : documents) {
+                ODocument doc = new ODocument((String) document.get(Crawler.Attributes.TYPE));
+                doc.fromMap(document);
+                doc.save();
+            }
+            db.commit();
+            modifications.incrementAndGet();
+        } catch (RuntimeException e) {
+            db.rollback();
+            invalidateTagIndex();
+            throw e;
+        }
+    }
+
+    @Override
+    public void markContentAsRendered(String docType) {
+        String statement = String.format(STATEMENT_MARK_CONTENT_AS_RENDERD, quoteIdentifier(docType));
+        executeCommand(statement);
+        modifications.incrementAndGet();
+    }
+
+    private void updateSignatures(String currentTemplatesSignature) {
+        executeCommand(STATEMENT_UPDATE_TEMPLATE_SIGNATURE, currentTemplatesSignature);
+    }
+
+    @Override
+    public void markContentAsUnrendered(String docType) {
+        String statement = String.format(STATEMENT_MARK_CONTENT_AS_UNRENDERED, quoteIdentifier(docType));
+        executeCommand(statement);
+        modifications.incrementAndGet();
+    }
+
+    @Override
+    public Map<String, String> getTemplateSignatures() {
+        Map<String, String> signatures = new HashMap<>();
+        for (Map<String, Object> signature : query(STATEMENT_GET_TEMPLATE_SIGNATURES)) {
+            signatures.put((String) signature.get("key"), (String) signature.get(String.valueOf(DocumentAttributes.SHA1)));
+        }
+        return signatures;
+    }
+
+    @Override
+    public synchronized void updateTemplateSignatures(Map<String, String> signatures) {
+        activateOnCurrentThread();
+        db.begin();
+        try {
+            db.command(STATEMENT_DELETE_TEMPLATE_SIGNATURES).close();
+            for (Map.Entry<String, String> signature : signatures.entrySet()) {
+                db.command(STATEMENT_INSERT_TEMPLATE_SIGNATURE, signature.getKey(), signature.getValue()).close();
+            }
+            db.commit();
+        } catch (RuntimeException e) {
+            db.rollback();
+            throw e;
+        }
+    }
+
+    @Override
+    public void deleteAllByDocType(String docType) {
+        String statement = String.format(STATEMENT_DELETE_ALL, quoteIdentifier(docType));
+        executeCommand(statement);
+        modifications.incrementAndGet();
+    }
+
+    private void deleteTemplatesSignature() {
+        if (db.getMetadata().getSchema().existsClass("Signatures")) {
+            executeCommand(STATEMENT_DELETE_TEMPLATES_SIGNATURE);
+        }
+    }
+
+    private void insertTemplatesSignature(String currentTemplatesSignature) {
+        executeCommand(STATEMENT_INSERT_TEMPLATES_SIGNATURE, currentTemplatesSignature);
+    }
+
+    private synchronized DocumentList query(String sql) {
+        activateOnCurrentThread();
+        OResultSet results = db.query(sql);
+        return DocumentList.wrap(results);
+    }
+
+    private synchronized DocumentList query(String sql, Object... args) {
+        activateOnCurrentThread();
+        OResultSet results = db.command(sql, args);
+        return DocumentList.wrap(results);
+    }
+
+    /**
+     * Runs a listing query. The fields left out by the projection are never read from the rows, so that they aren't
+     * deserialized, and are only loaded again by the {@link SummaryDocument}s whose fields are asked for.
+     */
+    private synchronized DocumentList query(DocumentProjection projection, String sql, Object... args) {
+        activateOnCurrentThread();
+        OResultSet results = args.length > 0 ? db.command(sql, args) : db.query(sql);
+        if (projection.getExcludedFields().isEmpty()) {
+            return DocumentList.wrap(results);
+        }
+        DocumentList documents = new DocumentList();
+        try {
+            while (results.hasNext()) {
+                OResult row = results.next();
+                Map<String, Object> fields = new HashMap<>();
+                for (String field : row.getPropertyNames()) {
+                    if (projection.includes(field)) {
+                        fields.put(field, row.getProperty(field));
+                    }
+                }
+                documents.add(new SummaryDocument(this, fields, projection));
+            }
+        } finally {
+            results.close();
+        }
+        return documents;
+    }
+
+    /**
+     * Runs a query whose rows are read one at a time. The cursor must be consumed by the calling thread while it holds
+     * the lock of the store.
+     */
+    private synchronized DocumentCursor stream(String sql, Collection<String> fields) {
+        activateOnCurrentThread();
+        return new DocumentCursor(db.query(sql), fields);
+    }
+
+    private synchronized void executeCommand(String query, Object... args) {
+        activateOnCurrentThread();
+        db.command(new OCommandSQL(query)).execute(args);
+    }
+
+    @Override
+    public Set<String> getTags() {
+        return tagIndex().getTags("post");
+    }
+
+    @Override
+    public Set<String> getAllTags() {
+        return tagIndex().getTags();
+    }
+
+    /**
+     * @return the tag index, loaded from the database on first use and kept up to date by a {@link TagIndexHook}
+     */
+    private synchronized TagIndex tagIndex() {
+        if (!tagIndexLoaded) {
+            tagIndex.clear();
+            for (String docType : DocumentTypes.getDocumentTypes()) {
+                String statement = String.format(STATEMENT_GET_TAG_INDEX_BY_DOCTYPE, quoteIdentifier(docType));
+                try (DocumentCursor documents = stream(statement, Arrays.asList(TAG_INDEX_FIELDS))) {
+                    for (Map<String, Object> document : documents) {
+                        tagIndex.add(docType, document);
+                    }
+                }
+            }
+            tagIndexLoaded = true;
+        }
+        return tagIndex;
+    }
+
+    private void invalidateTagIndex() {
+        modifications.incrementAndGet();
+        tagIndexLoaded = false;
+        tagIndex.clear();
+    }
+
+    private void indexTags(ODocument document) {
+        String docType = document.getClassName();
+        if (tagIndexLoaded && docType != null && DocumentTypes.contains(docType)) {
+            Map<String, Object> fields = new HashMap<>();
+            for (String field : TAG_INDEX_FIELDS) {
+                Object value = document.field(field);
+                fields.put(field, value);
+            }
+            tagIndex.add(docType, fields);
+        }
+    }
+
+    private void unindexTags(ODocument document) {
+        String docType = document.getClassName();
+        if (tagIndexLoaded && docType != null && DocumentTypes.contains(docType)) {
+            String uri = document.field(DocumentAttributes.SOURCE_URI.toString());
+            if (uri != null) {
+                tagIndex.remove(docType, uri);
+            } else {
+                invalidateTagIndex();
+            }
+        }
+    }
+
+    private void countModification(ODocument document) {
+        String docType = document.getClassName();
+        if (docType != null && DocumentTypes.contains(docType)) {
+            modifications.incrementAndGet();
+        }
+    }
+
+    /**
+     * Keeps the {@link TagIndex} and the modification count up to date with every document written to the database,
+     * whether through this store or directly.
+     */
+    private class TagIndexHook extends ODocumentHookAbstract {
+
+        TagIndexHook(ODatabaseDocument database) {
+            super(database);
+        }
+
+        @Override
+        public void onRecordAfterCreate(ODocument document) {
+            indexTags(document);
+            countModification(document);
+        }
+
+        @Override
+        public void onRecordAfterUpdate(ODocument document) {
+            indexTags(document);
+            countModification(document);
+        }
+
+        @Override
+        public void onRecordAfterDelete(ODocument document) {
+            unindexTags(document);
+            countModification(document);
+        }
+
+        @Override
+        public DISTRIBUTED_EXECUTION_MODE getDistributedExecutionMode() {
+            return DISTRIBUTED_EXECUTION_MODE.TARGET_NODE;
+        }
+    }
+
+    private void createDocType(final OSchema schema, final String docType) {
+        logger.debug("Create document class '{}'", docType);
+
+
+        OClass page = schema.createClass(docType);
+
+        // Primary key
+        String attribName = DocumentAttributes.SOURCE_URI.toString();
+        page.createProperty(attribName, OType.STRING).setNotNull(true);
+        page.createIndex(docType + "sourceUriIndex", OClass.INDEX_TYPE.UNIQUE, attribName);
+
+        attribName = DocumentAttributes.SHA1.toString();
+        page.createProperty(attribName, OType.STRING).setNotNull(true);
+        page.createIndex(docType + "sha1Index", OClass.INDEX_TYPE.NOTUNIQUE, attribName);
+
+        attribName = DocumentAttributes.CACHED.toString();
+        page.createProperty(attribName, OType.BOOLEAN).setNotNull(true);
+        page.createIndex(docType + "cachedIndex", OClass.INDEX_TYPE.NOTUNIQUE, attribName);
+
+        attribName = DocumentAttributes.RENDERED.toString();
+        page.createProperty(attribName, OType.BOOLEAN).setNotNull(true);
+        page.createIndex(docType + "renderedIndex", OClass.INDEX_TYPE.NOTUNIQUE, attribName);
+
+        attribName = DocumentAttributes.STATUS.toString();
+        page.createProperty(attribName, OType.STRING).setNotNull(true);
+        page.createIndex(docType + "statusIndex", OClass.INDEX_TYPE.NOTUNIQUE, attribName);
+    }
+
+    private void createSignatureType(OSchema schema) {
+        OClass signatures = schema.createClass("Signatures");
+        signatures.createProperty(String.valueOf(DocumentAttributes.SHA1), OType.STRING).setNotNull(true);
+        signatures.createIndex("sha1Idx", OClass.INDEX_TYPE.UNIQUE, DocumentAttributes.SHA1.toString());
+    }
+
+    private void createFileMetadataType(OSchema schema) {
+        OClass metadata = schema.createClass(FILE_METADATA_CLASS);
+        metadata.createProperty("path", OType.STRING).setNotNull(true);
+        metadata.createIndex("fileMetadataPathIdx", OClass.INDEX_TYPE.UNIQUE, "path");
+        metadata.createProperty("size", OType.LONG);
+        metadata.createProperty("lastmodified", OType.LONG);
+        metadata.createProperty("filekey", OType.STRING);
+        metadata.createProperty(String.valueOf(DocumentAttributes.SHA1), OType.STRING);
+    }
+
+    private void createTemplateSignaturesType(OSchema schema) {
+        OClass signatures = schema.createClass(TEMPLATE_SIGNATURES_CLASS);
+        signatures.createProperty("key", OType.STRING).setNotNull(true);
+        signatures.createIndex("templateSignaturesKeyIdx", OClass.INDEX_TYPE.UNIQUE, "key");
+        signatures.createProperty(String.valueOf(DocumentAttributes.SHA1), OType.STRING);
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modifications.get();
+    }
+
+    @Override
+    public void updateAndClearCacheIfNeeded(boolean needed, File templateFolder) {
+        activateOnCurrentThread();
+
+        boolean clearCache = needed;
+
+        if (needed) {
+            deleteTemplatesSignature();
+        } else {
+            clearCache = updateTemplateSignatureIfChanged(templateFolder);
+        }
+
+        if (clearCache) {
+            deleteAllDocumentTypes();
+            invalidateTagIndex();
+            this.updateSchema();
+        }
+    }
+
+    /**
+     * The whole-folder signature only backs callers asking to clear the cache when any template changed: bakes track
+     * templates per document type, so its class is only created on first use.
+     */
+    private boolean updateTemplateSignatureIfChanged(File templateFolder) {
+        boolean templateSignatureChanged = false;
+
+        OSchema schema = db.getMetadata().getSchema();
+        if (!schema.existsClass("Signatures")) {
+            createSignatureType(schema);
+        }
+
+        DocumentList docs = this.getSignaturesForTemplates();
+        String currentTemplatesSignature;
+        try {
+            currentTemplatesSignature = FileUtil.sha1(templateFolder);
+        } catch (Exception e) {
+            currentTemplatesSignature = "";
+        }
+        if (!docs.isEmpty()) {
+            String sha1 = (String) docs.get(0).get(String.valueOf(DocumentAttributes.SHA1));
+            if (!sha1.equals(currentTemplatesSignature)) {
+                this.updateSignatures(currentTemplatesSignature);
+                templateSignatureChanged = true;
+            }
+        } else {
+            // first computation of templates signature
+            this.insertTemplatesSignature(currentTemplatesSignature);
+            templateSignatureChanged = true;
+        }
+        return templateSignatureChanged;
+    }
+
+    private void deleteAllDocumentTypes() {
+        for (String docType : DocumentTypes.getDocumentTypes()) {
+            try {
+                this.deleteAllByDocType(docType);
+            } catch (Exception e) {
+                // maybe a non existing document type
+            }
+        }
+    }
+
+    @Override
+    public boolean isActive() {
+        return db.isActiveOnCurrentThread();
+    }
+
+    static String quoteIdentifier(String input) {
+        if(input == null) {
+            return input;
+        } else {
+            return "`" + input.replaceAll("([\\\\`])", "\\\\$1") + "`";
+        }
+    }
+}
@@ -6,15 +6,20 @@ import org.jbake.app.configuration.JBakeConfiguration;
 import org.jbake.app.configuration.JBakeConfigurationFactory;
 import org.jbake.app.configuration.JBakeConfigurationInspector;
 import org.jbake.model.DocumentTypes;
+import org.jbake.parser.Engines;
+import org.jbake.render.IncrementalRenderingTool;
 import org.jbake.render.RenderingTool;
 import org.jbake.template.ModelExtractors;
 import org.jbake.template.ModelExtractorsDocumentTypeListener;
 import org.jbake.template.RenderingException;
+import org.jbake.template.TemplateDependencies;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
@@ -29,9 +34,18 @@ public class Oven {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Oven.class);
 
+    static final String PHASE_SETUP = "setup";
+    static final String PHASE_CRAWL = "crawl";
+    static final String PHASE_TEMPLATES = "templates";
+    static final String PHASE_RENDER = "render";
+    static final String PHASE_ASSETS = "assets";
+
     private Utensils utensils;
     private List<Throwable> errors = new LinkedList<>();
     private int renderedCount = 0;
+    private volatile boolean cancelled;
+    private boolean sessionOpen;
+    private boolean templatesLoaded;
 
     /**
      * @param source       Project source directory
@@ -120,20 +134,198 @@ public class Oven {
      * @param fileToBake The file to bake
      */
     public void bake(File fileToBake) {
+        startBake();
+        bakeFile(fileToBake);
+    }
+
+    private void bakeFile(File fileToBake) {
         Asset asset = utensils.getAsset();
         if(asset.isAssetFile(fileToBake)) {
             LOGGER.info("Baking a change to an asset [" + fileToBake.getPath() + "]");
             asset.copySingleFile(fileToBake);
-        } else {
+        } else if (!isContentFile(fileToBake) || !bakeContentFile(fileToBake)) {
             LOGGER.info("Playing it safe and running a full bake...");
-            bake();
+            bakeAll();
+        }
+    }
+
+    /**
+     * Bakes a burst of changed files at once: asset files are copied, a single changed content file is baked
+     * incrementally and any other combination of changes results in one full bake.
+     *
+     * @param filesToBake The changed, created or deleted files
+     */
+    public void bake(Collection<File> filesToBake) {
+        startBake();
+        Asset asset = utensils.getAsset();
+        List<File> otherFiles = new ArrayList<>();
+        for (File file : filesToBake) {
+            if (asset.isAssetFile(file)) {
+                LOGGER.info("Baking a change to an asset [" + file.getPath() + "]");
+                asset.copySingleFile(file);
+            } else {
+                otherFiles.add(file);
+            }
+        }
+        if (otherFiles.size() == 1) {
+            bakeFile(otherFiles.get(0));
+        } else if (otherFiles.size() > 1) {
+            LOGGER.info("Running a full bake for {} changed files...", otherFiles.size());
+            bakeAll();
+        }
+    }
+
+    /**
+     * Opens a baking session for repeated bakes, e.g. while watching for changes. Until {@link #closeSession()} is
+     * called the content store stays open, and the parsers and template engines of the utensils keep what they have
+     * cached. Templates are only reloaded when they changed.
+     */
+    public synchronized void openSession() {
+        if (!sessionOpen) {
+            utensils.getContentStore().startup();
+            sessionOpen = true;
+        }
+    }
+
+    /**
+     * Closes the baking session and the content store.
+     */
+    public synchronized void closeSession() {
+        if (sessionOpen) {
+            sessionOpen = false;
+            closeStore(utensils.getContentStore());
+        }
+    }
+
+    /**
+     * @return true if a baking session is open
+     */
+    public synchronized boolean isSessionOpen() {
+        return sessionOpen;
+    }
+
+    /**
+     * Asks the running bake to stop at the next stage boundary, typically because newer changes supersede it. Files
+     * already written are kept and documents which haven't been rendered yet are rendered by the next bake. A request
+     * arriving after the bake finished is dropped when the next bake starts.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private boolean isCancelled() {
+        if (cancelled) {
+            LOGGER.info("Baking cancelled, newer changes supersede it");
+        }
+        return cancelled;
+    }
+
+    /**
+     * Crawls a single content file and only renders the documents, tag pages and aggregate pages depending on it.
+     *
+     * @param sourceFile The changed, created or deleted content file
+     * @return false if the store doesn't hold the results of a previous bake and a full bake is needed
+     */
+    private boolean bakeContentFile(File sourceFile) {
+        ContentStore contentStore = utensils.getContentStore();
+        JBakeConfiguration config = utensils.getConfiguration();
+
+        try {
+            final long start = new Date().getTime();
+            BakeMetrics metrics = startMetrics();
+            long phaseStart = System.nanoTime();
+            openStore(contentStore);
+            updateDocTypesFromConfiguration();
+            contentStore.updateSchema();
+            if (contentStore.getTemplateSignatures().isEmpty()) {
+                return false;
+            }
+            phaseStart = endPhase(PHASE_SETUP, phaseStart);
+
+            LOGGER.info("Baking a change to a content file [{}]", sourceFile.getPath());
+            ContentChange change = utensils.getCrawler().crawlFile(sourceFile);
+            phaseStart = endPhase(PHASE_CRAWL, phaseStart);
+            if (change != null) {
+                Renderer renderer = utensils.getRenderer();
+                for (RenderingTool tool : ServiceLoader.load(RenderingTool.class)) {
+                    if (isCancelled()) {
+                        return true;
+                    }
+                    long toolStart = System.nanoTime();
+                    int rendered = 0;
+                    try {
+                        if (tool instanceof IncrementalRenderingTool) {
+                            rendered = ((IncrementalRenderingTool) tool).render(renderer, contentStore, config, change);
+                        } else {
+                            rendered = tool.render(renderer, contentStore, config);
+                        }
+                        renderedCount += rendered;
+                    } catch (RenderingException e) {
+                        errors.add(e);
+                    } finally {
+                        metrics.recordRenderingTool(tool.getClass().getSimpleName(), System.nanoTime() - toolStart, rendered);
+                    }
+                }
+            }
+            endPhase(PHASE_RENDER, phaseStart);
+
+            long end = new Date().getTime();
+            LOGGER.info("Baked {} items in {}ms", renderedCount, end - start);
+            if (!errors.isEmpty()) {
+                LOGGER.error("Failed to bake {} item(s)!", errors.size());
+            }
+            finishMetrics();
+            return true;
+        } finally {
+            releaseStore(contentStore);
+        }
+    }
+
+    /**
+     * @param file A created, changed or deleted file
+     * @return true if the file is a content file the crawler would pick up
+     */
+    private boolean isContentFile(File file) {
+        JBakeConfiguration config = utensils.getConfiguration();
+        if (file.isHidden() || !Engines.getRecognizedExtensions().contains(FileUtil.fileExt(file))) {
+            return false;
+        }
+        try {
+            File contentFolder = config.getContentFolder().getCanonicalFile();
+            for (File folder = file.getCanonicalFile().getParentFile(); folder != null; folder = folder.getParentFile()) {
+                if (folder.equals(contentFolder)) {
+                    return true;
+                }
+                if (folder.isDirectory() && !FileUtil.directoryOnlyIfNotIgnored(folder)) {
+                    return false;
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.error("Unable to determine if {} is a content file", file.getPath(), e);
         }
+        return false;
     }
 
     /**
      * All the good stuff happens in here...
      */
     public void bake() {
+        startBake();
+        bakeAll();
+    }
+
+    /**
+     * Forgets the results of the previous bake, so that {@link #getErrors()} and the baked item count only cover the
+     * bake being started.
+     */
+    private void startBake() {
+        cancelled = false;
+        errors.clear();
+        renderedCount = 0;
+        utensils.getAsset().clearErrors();
+    }
+
+    private void bakeAll() {
 
         ContentStore contentStore = utensils.getContentStore();
         JBakeConfiguration config = utensils.getConfiguration();
@@ -144,20 +336,52 @@ public class Oven {
 
             final long start = new Date().getTime();
             LOGGER.info("Baking has started...");
-            contentStore.startup();
+            startMetrics();
+            long phaseStart = System.nanoTime();
+            openStore(contentStore);
             updateDocTypesFromConfiguration();
             contentStore.updateSchema();
-            contentStore.updateAndClearCacheIfNeeded(config.getClearCache(), config.getTemplateFolder());
+            if (config.getClearCache()) {
+                contentStore.updateAndClearCacheIfNeeded(true, config.getTemplateFolder());
+            }
+            utensils.getRenderer().reloadConfiguration();
+            Engines.reloadConfiguration();
+            phaseStart = endPhase(PHASE_SETUP, phaseStart);
 
             // process source content
+            FileTreeSnapshot snapshot = FileTreeSnapshot.scan(config.getContentFolder(), config.getAssetFolder());
+            crawler.setSnapshot(snapshot);
+            asset.setSnapshot(snapshot);
             crawler.crawl();
+            phaseStart = endPhase(PHASE_CRAWL, phaseStart);
+            if (isCancelled()) {
+                return;
+            }
+
+            // render again the documents depending on changed templates
+            TemplateDependencies templates = new TemplateDependencies(config);
+            templates.invalidateChangedTemplates(contentStore);
+            if (templatesLoaded && !templates.getChangedTemplates().isEmpty()) {
+                utensils.getRenderer().reloadTemplates();
+            }
+            templatesLoaded = true;
+            phaseStart = endPhase(PHASE_TEMPLATES, phaseStart);
 
             // render content
             renderContent();
+            phaseStart = endPhase(PHASE_RENDER, phaseStart);
+            if (cancelled) {
+                return;
+            }
 
             // copy assets
-            asset.copy();
-            asset.copyAssetsFromContent(config.getContentFolder());
+            if (config.getAssetSync()) {
+                asset.sync();
+            } else {
+                asset.copy();
+                asset.copyAssetsFromContent(config.getContentFolder());
+            }
+            endPhase(PHASE_ASSETS, phaseStart);
 
             errors.addAll(asset.getErrors());
 
@@ -167,12 +391,32 @@ public class Oven {
             if (!errors.isEmpty()) {
                 LOGGER.error("Failed to bake {} item(s)!", errors.size());
             }
+            finishMetrics();
         } finally {
-            contentStore.close();
-            contentStore.shutdown();
+            // later single file bakes and asset copies must see the folders as they are then
+            crawler.setSnapshot(null);
+            asset.setSnapshot(null);
+            releaseStore(contentStore);
+        }
+    }
+
+    private void openStore(ContentStore contentStore) {
+        if (!isSessionOpen()) {
+            contentStore.startup();
+        }
+    }
+
+    private void releaseStore(ContentStore contentStore) {
+        if (!isSessionOpen()) {
+            closeStore(contentStore);
         }
     }
 
+    private void closeStore(ContentStore contentStore) {
+        contentStore.close();
+        contentStore.shutdown();
+    }
+
     /**
      * Iterates over the configuration, searching for keys like "template.index.file=..."
      * in order to register new document types.
@@ -203,14 +447,71 @@ public class Oven {
         ContentStore contentStore = utensils.getContentStore();
 
         for (RenderingTool tool : ServiceLoader.load(RenderingTool.class)) {
+            if (isCancelled()) {
+                return;
+            }
+            long toolStart = System.nanoTime();
+            int rendered = 0;
             try {
-                renderedCount += tool.render(renderer, contentStore, config);
+                rendered = tool.render(renderer, contentStore, config);
+                renderedCount += rendered;
             } catch (RenderingException e) {
                 errors.add(e);
+            } finally {
+                utensils.getMetrics().recordRenderingTool(tool.getClass().getSimpleName(), System.nanoTime() - toolStart, rendered);
             }
         }
     }
 
+    /**
+     * Resets the metrics and has the crawler, the renderer and a metered content store record their timings in them,
+     * so that metrics set on the utensils after they have been created are used.
+     */
+    private BakeMetrics startMetrics() {
+        BakeMetrics metrics = utensils.getMetrics();
+        metrics.reset();
+        utensils.getCrawler().setMetrics(metrics);
+        utensils.getRenderer().setMetrics(metrics);
+        if (utensils.getContentStore() instanceof MeteredContentStore) {
+            ((MeteredContentStore) utensils.getContentStore()).setMetrics(metrics);
+        }
+        return metrics;
+    }
+
+    private long endPhase(String phase, long phaseStart) {
+        long now = System.nanoTime();
+        utensils.getMetrics().recordPhase(phase, now - phaseStart);
+        return now;
+    }
+
+    /**
+     * Stops timing the bake and writes the bake report next to the destination folder.
+     */
+    private void finishMetrics() {
+        BakeMetrics metrics = utensils.getMetrics();
+        metrics.finish();
+        LOGGER.debug("Bake phases: {}", metrics.getPhases());
+
+        JBakeConfiguration config = utensils.getConfiguration();
+        String reportFileName = config.getReportFileName();
+        if (reportFileName == null || reportFileName.isEmpty() || config.getDestinationFolder() == null) {
+            return;
+        }
+        File report = new File(config.getDestinationFolder().getAbsoluteFile().getParentFile(), reportFileName);
+        try {
+            metrics.writeReport(report);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to write the bake report {}", report, e);
+        }
+    }
+
+    /**
+     * @return the timings and counts of the last bake
+     */
+    public BakeMetrics getMetrics() {
+        return utensils.getMetrics();
+    }
+
     public List<Throwable> getErrors() {
         return new ArrayList<>(errors);
     }
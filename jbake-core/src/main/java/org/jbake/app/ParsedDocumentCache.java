@@ -0,0 +1,225 @@
+package org.jbake.app;
+
+import org.jbake.app.configuration.JBakeConfiguration;
+import org.jbake.app.configuration.JBakeProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the documents parsed from source files on disk, so that unchanged source files aren't parsed again once their
+ * documents have been removed from the {@link ContentStore}, e.g. because the templates changed.
+ * <p>
+ * There is a single entry per source file. It is only used if the SHA-1 hash of the source file, the markup engine
+ * and the hash of the configuration are the same as when it was written. Entries may be read and written
+ * concurrently by crawler threads.
+ * <p>
+ * Nothing but the source file itself is part of the key: a document is taken from the cache even if a file it
+ * includes, such as the target of an asciidoc {@code include::} directive, has changed, and it keeps the date taken
+ * from the modification time of its source file when it has no date header and the file has only been touched.
+ * Delete the folder of the cache after changing included files.
+ */
+public class ParsedDocumentCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParsedDocumentCache.class);
+    private static final String EXTENSION = ".ser";
+    private static final Pattern ENTRY_NAME = Pattern.compile("[0-9a-f]{40}\\.ser(-?\\d+\\.tmp)?");
+    private static final String[] ALLOWED_PACKAGES = {"java.lang.", "java.util.", "org.json.simple.",
+        "[Ljava.lang.", "[Ljava.util."};
+
+    private final File folder;
+    private final String configurationHash;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    /**
+     * @param folder the folder holding the cache entries
+     * @param config the configuration the documents are parsed with
+     */
+    public ParsedDocumentCache(File folder, JBakeConfiguration config) {
+        this.folder = folder;
+        this.configurationHash = configurationHash(config);
+    }
+
+    /**
+     * @param sourceFile the source file
+     * @param sha1       the SHA-1 hash of the source file
+     * @param engine     the name of the markup engine parsing the source file
+     * @return a copy of the cached document, or null if there is no entry matching the source file
+     */
+    public Map<String, Object> get(File sourceFile, String sha1, String engine) {
+        File entry = entryFile(sourceFile);
+        if (!entry.isFile()) {
+            misses.incrementAndGet();
+            return null;
+        }
+        try (ObjectInputStream in = new DocumentInputStream(new BufferedInputStream(new FileInputStream(entry)))) {
+            if (sha1.equals(in.readUTF()) && engine.equals(in.readUTF()) && configurationHash.equals(in.readUTF())) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> document = (Map<String, Object>) in.readObject();
+                hits.incrementAndGet();
+                return document;
+            }
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LOGGER.warn("Ignoring unreadable parser cache entry {} of {}", entry, sourceFile, e);
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Caches the document parsed from a source file, replacing the previous entry of the file.
+     *
+     * @param sourceFile the source file
+     * @param sha1       the SHA-1 hash of the source file
+     * @param engine     the name of the markup engine which parsed the source file
+     * @param document   the parsed document
+     */
+    public void put(File sourceFile, String sha1, String engine, Map<String, Object> document) {
+        File entry = entryFile(sourceFile);
+        File temp = null;
+        try {
+            Files.createDirectories(folder.toPath());
+            temp = File.createTempFile(entry.getName(), ".tmp", folder);
+            try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeUTF(sha1);
+                out.writeUTF(engine);
+                out.writeUTF(configurationHash);
+                out.writeObject(document);
+            }
+            try {
+                Files.move(temp.toPath(), entry.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to cache the parsed document of {}", sourceFile, e);
+            if (temp != null && !temp.delete()) {
+                temp.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Removes the entries of all source files not in the given collection, and the temporary files left by writes
+     * which failed. Other files of the folder are left alone.
+     *
+     * @param sourceFiles the source files whose entries are kept
+     */
+    public void retainOnly(Collection<File> sourceFiles) {
+        File[] entries = folder.listFiles();
+        if (entries == null) {
+            return;
+        }
+        Set<String> retained = new HashSet<>();
+        for (File sourceFile : sourceFiles) {
+            retained.add(entryFile(sourceFile).getName());
+        }
+        for (File entry : entries) {
+            if (!ENTRY_NAME.matcher(entry.getName()).matches() || retained.contains(entry.getName())) {
+                continue;
+            }
+            if (!entry.delete()) {
+                LOGGER.debug("Unable to delete parser cache entry {}", entry);
+            }
+        }
+    }
+
+    /**
+     * @return number of documents taken from the cache
+     */
+    public int getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of source files without a matching entry
+     */
+    public int getMissCount() {
+        return misses.get();
+    }
+
+    private File entryFile(File sourceFile) {
+        return new File(folder, sha1(sourceFile.getAbsolutePath()) + EXTENSION);
+    }
+
+    /**
+     * Hashes all configuration keys but the system properties and the clear cache flag, which don't change how
+     * documents are parsed.
+     */
+    private static String configurationHash(JBakeConfiguration config) {
+        List<String> keys = new ArrayList<>();
+        for (Iterator<String> it = config.getKeys(); it.hasNext(); ) {
+            String key = it.next();
+            if (!System.getProperties().containsKey(key) && !key.equals(JBakeProperty.CLEAR_CACHE)) {
+                keys.add(key);
+            }
+        }
+        Collections.sort(keys);
+        StringBuilder sb = new StringBuilder();
+        for (String key : keys) {
+            sb.append(key).append('=').append(config.get(key)).append('\n');
+        }
+        return sha1(sb.toString());
+    }
+
+    private static String sha1(String value) {
+        try {
+            byte[] bytes = MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (byte b : bytes) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Missing SHA-1 algorithm", e);
+        }
+    }
+
+    /**
+     * Only deserializes the collections and values documents are made of.
+     */
+    private static class DocumentInputStream extends ObjectInputStream {
+
+        DocumentInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            for (String allowed : ALLOWED_PACKAGES) {
+                if (desc.getName().startsWith(allowed)) {
+                    return super.resolveClass(desc);
+                }
+            }
+            throw new InvalidClassException(desc.getName(), "not allowed in a parsed document");
+        }
+    }
+}
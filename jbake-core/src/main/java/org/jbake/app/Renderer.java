@@ -6,6 +6,9 @@ import org.jbake.app.configuration.DefaultJBakeConfiguration;
 import org.jbake.app.configuration.JBakeConfiguration;
 import org.jbake.app.configuration.JBakeConfigurationFactory;
 import org.jbake.template.DelegatingTemplateEngine;
+import org.jbake.template.ModelExtractors;
+import org.jbake.template.model.DocumentsByTag;
+import org.jbake.util.ConcurrencyUtil;
 import org.jbake.util.PagingHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,10 +18,15 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Render output to a file.
@@ -35,6 +43,7 @@ public class Renderer {
     private final JBakeConfiguration config;
     private final DelegatingTemplateEngine renderingEngine;
     private final ContentStore db;
+    private BakeMetrics metrics = new BakeMetrics();
 
     /**
      * @param db            The database holding the content
@@ -100,6 +109,29 @@ public class Renderer {
         return config.getTemplateFileByDocType(docType).getName();
     }
 
+    /**
+     * @param metrics the metrics to record the rendering time of every document and template engine in
+     */
+    public void setMetrics(BakeMetrics metrics) {
+        this.metrics = metrics;
+        renderingEngine.setMetrics(metrics);
+    }
+
+    /**
+     * Drops the templates cached by the template engines, so that changed templates are used by the next renderings.
+     */
+    public void reloadTemplates() {
+        renderingEngine.reloadTemplates();
+    }
+
+    /**
+     * Drops the config model and the template files resolved by previous renderings, so that configuration changes
+     * are picked up by the next renderings.
+     */
+    public void reloadConfiguration() {
+        renderingEngine.reloadConfiguration();
+    }
+
     /**
      * Render the supplied content to a file.
      *
@@ -134,10 +166,13 @@ public class Renderer {
         model.put("content", content);
         model.put("renderer", renderingEngine);
 
+        String templateName = findTemplateName(docType);
+        long start = System.nanoTime();
         try {
             try (Writer out = createWriter(outputFile)) {
-                renderingEngine.renderDocument(model, findTemplateName(docType), out);
+                renderingEngine.renderDocument(model, templateName, out);
             }
+            metrics.recordRender(String.valueOf(content.get(Attributes.URI)), templateName, System.nanoTime() - start);
             LOGGER.info("Rendering [{}]... done!", outputFile);
         } catch (Exception e) {
             LOGGER.error("Rendering [{}]... failed!", outputFile, e);
@@ -263,26 +298,32 @@ public class Renderer {
      * @throws Exception if cannot render tags correctly
      */
     public int renderTags(String tagPath) throws Exception {
-        int renderedCount = 0;
-        final List<Throwable> errors = new LinkedList<>();
-
-        for (String tag : db.getAllTags()) {
-            try {
-                Map<String, Object> model = new HashMap<>();
-                model.put("renderer", renderingEngine);
-                model.put(Attributes.TAG, tag);
-                Map<String, Object> map = buildSimpleModel(Attributes.TAG);
-                model.put("content", map);
+        return renderTags(tagPath, db.getAllTags());
+    }
 
-                File path = new File(config.getDestinationFolder() + File.separator + tagPath + File.separator + tag + config.getOutputExtension());
-                map.put(Attributes.ROOTPATH, FileUtil.getUriPathToDestinationRoot(config, path));
+    /**
+     * Render the files of the given tags, and the tags index if enabled.
+     *
+     * @param tagPath The output path
+     * @param tags    The tags to render
+     * @return Number of rendered tags
+     * @throws Exception if cannot render tags correctly
+     */
+    public int renderTags(String tagPath, Collection<String> tags) throws Exception {
+        final List<Throwable> errors = new LinkedList<>();
+        List<String> tagList = new ArrayList<>(tags);
 
-                render(new ModelRenderingConfig(path, Attributes.TAG, model, findTemplateName(Attributes.TAG)));
+        if (tagList.size() > 1) {
+            // one pass over the published documents instead of two queries per tag page
+            DocumentsByTag.of(db).share(ModelExtractors.getInstance(), db, tagList);
+        }
 
-                renderedCount++;
-            } catch (Exception e) {
-                errors.add(e);
-            }
+        int threads = config.getRenderThreads();
+        int renderedCount;
+        if (threads > 1 && tagList.size() > 1) {
+            renderedCount = renderTagsInParallel(tagPath, tagList, threads, errors);
+        } else {
+            renderedCount = renderTags(tagPath, tagList, errors);
         }
 
         if (config.getRenderTagsIndex()) {
@@ -316,6 +357,70 @@ public class Renderer {
         }
     }
 
+    private int renderTags(String tagPath, List<String> tags, List<Throwable> errors) {
+        int renderedCount = 0;
+        for (String tag : tags) {
+            try {
+                renderTag(tagPath, tag);
+                renderedCount++;
+            } catch (Exception e) {
+                errors.add(e);
+            }
+        }
+        return renderedCount;
+    }
+
+    /**
+     * Splits the tags into one shard per thread and renders the shards concurrently. Errors are collected in the order
+     * of the tags, the same way {@link #renderTags(String, List, List)} does.
+     */
+    private int renderTagsInParallel(final String tagPath, List<String> tags, int threads, List<Throwable> errors) {
+        int shardSize = (tags.size() + threads - 1) / threads;
+        List<Future<TagShardResult>> shards = new ArrayList<>();
+        ExecutorService executor = ConcurrencyUtil.newFixedThreadPool("jbake-tags", threads);
+        try {
+            for (int start = 0; start < tags.size(); start += shardSize) {
+                final List<String> shard = new ArrayList<>(tags.subList(start, Math.min(start + shardSize, tags.size())));
+                shards.add(executor.submit(new Callable<TagShardResult>() {
+                    @Override
+                    public TagShardResult call() {
+                        TagShardResult result = new TagShardResult();
+                        result.renderedCount = renderTags(tagPath, shard, result.errors);
+                        return result;
+                    }
+                }));
+            }
+
+            int renderedCount = 0;
+            for (Future<TagShardResult> shard : shards) {
+                TagShardResult result = ConcurrencyUtil.await(shard);
+                renderedCount += result.renderedCount;
+                errors.addAll(result.errors);
+            }
+            return renderedCount;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void renderTag(String tagPath, String tag) throws Exception {
+        Map<String, Object> model = new HashMap<>();
+        model.put("renderer", renderingEngine);
+        model.put(Attributes.TAG, tag);
+        Map<String, Object> map = buildSimpleModel(Attributes.TAG);
+        model.put("content", map);
+
+        File path = new File(config.getDestinationFolder() + File.separator + tagPath + File.separator + tag + config.getOutputExtension());
+        map.put(Attributes.ROOTPATH, FileUtil.getUriPathToDestinationRoot(config, path));
+
+        render(new ModelRenderingConfig(path, Attributes.TAG, model, findTemplateName(Attributes.TAG)));
+    }
+
+    private static class TagShardResult {
+        private final List<Throwable> errors = new LinkedList<>();
+        private int renderedCount;
+    }
+
     /**
      * Builds simple map of values, which are exposed when rendering index/archive/sitemap/feed/tags.
      *
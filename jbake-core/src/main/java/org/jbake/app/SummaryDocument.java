@@ -0,0 +1,140 @@
+package org.jbake.app;
+
+import org.jbake.model.DocumentAttributes;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * The model of a document read with a projection leaving out some fields, such as
+ * {@link DocumentProjection#SUMMARY}.
+ * <p>
+ * The left out fields are listed among the keys of the model, and are loaded from the store the first time one of
+ * them is read, or the first time the model is copied or iterated over. A summary may be shared by templates rendered
+ * by several threads.
+ * <p>
+ * Template engines copying the maps of their models should adapt this one instead, so that the left out fields
+ * are only loaded when a template asks for them. For the same reason, a summary is only equal to itself: hashing it
+ * or comparing it never loads its fields.
+ */
+public class SummaryDocument extends HashMap<String, Object> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ContentStore store;
+    private final transient Set<String> excludedFields;
+    private volatile boolean complete;
+
+    /**
+     * @param store      the store to load the left out fields from
+     * @param fields     the fields read by the projection, including the type and source uri of the document
+     * @param projection the projection the fields have been read with
+     */
+    public SummaryDocument(ContentStore store, Map<String, Object> fields, DocumentProjection projection) {
+        super(fields);
+        this.store = store;
+        this.excludedFields = projection.getExcludedFields();
+        // the keys are added up front, so that loading their values never changes the structure of the map
+        for (String field : excludedFields) {
+            super.put(field, null);
+        }
+        this.complete = excludedFields.isEmpty();
+    }
+
+    /**
+     * @return true once the left out fields have been loaded
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (!complete && excludedFields.contains(key)) {
+            load();
+        }
+        return super.get(key);
+    }
+
+    @Override
+    public Object getOrDefault(Object key, Object defaultValue) {
+        if (!complete && excludedFields.contains(key)) {
+            load();
+        }
+        return super.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        load();
+        return super.containsValue(value);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        load();
+        return super.entrySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        load();
+        return super.values();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Object> action) {
+        load();
+        super.forEach(action);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    @Override
+    public Object clone() {
+        load();
+        return new HashMap<>(this);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        if (!complete && excludedFields.contains(key)) {
+            load();
+        }
+        return super.put(key, value);
+    }
+
+    private synchronized void load() {
+        if (complete) {
+            return;
+        }
+        Object docType = super.get(Crawler.Attributes.TYPE);
+        Object uri = super.get(String.valueOf(DocumentAttributes.SOURCE_URI));
+        if (store != null && docType != null && uri != null) {
+            DocumentList documents = store.getDocumentByUri(docType.toString(), uri.toString());
+            if (!documents.isEmpty()) {
+                Map<String, Object> document = documents.get(0);
+                for (String field : excludedFields) {
+                    super.put(field, document.get(field));
+                }
+            }
+        }
+        complete = true;
+    }
+
+    private Object writeReplace() {
+        load();
+        return new HashMap<>(this);
+    }
+}
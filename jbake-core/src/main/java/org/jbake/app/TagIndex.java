@@ -0,0 +1,243 @@
+package org.jbake.app;
+
+import org.jbake.app.Crawler.Attributes.Status;
+import org.jbake.model.DocumentAttributes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Inverted index from tags to the documents carrying them.
+ * <p>
+ * For every tag the index keeps the source uris of the tagged documents per document type, ordered by date, most
+ * recent first. It is updated by the {@link ContentStore} as documents are saved, updated and deleted, so tag pages
+ * and the tags model don't need to scan the documents of every type.
+ */
+public class TagIndex {
+
+    private static final String SOURCE_URI = String.valueOf(DocumentAttributes.SOURCE_URI);
+
+    private static final Comparator<Entry> BY_DATE_DESC = new Comparator<Entry>() {
+        @Override
+        public int compare(Entry first, Entry second) {
+            if (first.date != null && second.date != null) {
+                int result = second.date.compareTo(first.date);
+                if (result != 0) {
+                    return result;
+                }
+            } else if (first.date != null) {
+                return -1;
+            } else if (second.date != null) {
+                return 1;
+            }
+            return first.uri.compareTo(second.uri);
+        }
+    };
+
+    private final Map<String, Map<String, TreeSet<Entry>>> byTag = new HashMap<>();
+    private final Map<String, Integer> publishedCounts = new HashMap<>();
+    private final Map<String, Entry> byKey = new HashMap<>();
+
+    /**
+     * Indexes a document, replacing any previous version of it.
+     *
+     * @param docType  the document type
+     * @param document the document model, holding at least its source uri, tags, status and date
+     */
+    public synchronized void add(String docType, Map<String, ?> document) {
+        String uri = (String) document.get(SOURCE_URI);
+        if (uri == null) {
+            return;
+        }
+        remove(docType, uri);
+
+        String[] tags = DBUtil.toStringArray(document.get(Crawler.Attributes.TAGS));
+        if (tags.length == 0) {
+            return;
+        }
+        Object date = document.get(Crawler.Attributes.DATE);
+        Entry entry = new Entry(docType, uri, date instanceof Date ? (Date) date : null,
+            Status.PUBLISHED.equals(document.get(Crawler.Attributes.STATUS)), new LinkedHashSet<>(Arrays.asList(tags)));
+        byKey.put(key(docType, uri), entry);
+
+        for (String tag : entry.tags) {
+            Map<String, TreeSet<Entry>> byType = byTag.get(tag);
+            if (byType == null) {
+                byType = new HashMap<>();
+                byTag.put(tag, byType);
+            }
+            TreeSet<Entry> entries = byType.get(docType);
+            if (entries == null) {
+                entries = new TreeSet<>(BY_DATE_DESC);
+                byType.put(docType, entries);
+            }
+            entries.add(entry);
+            if (entry.published) {
+                Integer count = publishedCounts.get(tag);
+                publishedCounts.put(tag, count == null ? 1 : count + 1);
+            }
+        }
+    }
+
+    /**
+     * Removes a document from the index.
+     *
+     * @param docType the document type
+     * @param uri     the source uri of the document
+     */
+    public synchronized void remove(String docType, String uri) {
+        Entry entry = byKey.remove(key(docType, uri));
+        if (entry == null) {
+            return;
+        }
+        for (String tag : entry.tags) {
+            Map<String, TreeSet<Entry>> byType = byTag.get(tag);
+            TreeSet<Entry> entries = byType.get(docType);
+            entries.remove(entry);
+            if (entries.isEmpty()) {
+                byType.remove(docType);
+                if (byType.isEmpty()) {
+                    byTag.remove(tag);
+                }
+            }
+            if (entry.published) {
+                int count = publishedCounts.get(tag) - 1;
+                if (count == 0) {
+                    publishedCounts.remove(tag);
+                } else {
+                    publishedCounts.put(tag, count);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all documents of a type from the index.
+     *
+     * @param docType the document type
+     */
+    public synchronized void removeAll(String docType) {
+        for (Entry entry : new ArrayList<>(byKey.values())) {
+            if (entry.docType.equals(docType)) {
+                remove(docType, entry.uri);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        byTag.clear();
+        publishedCounts.clear();
+        byKey.clear();
+    }
+
+    /**
+     * @return the tags of the published documents of every type
+     */
+    public synchronized Set<String> getTags() {
+        return new HashSet<>(publishedCounts.keySet());
+    }
+
+    /**
+     * @param docType the document type
+     * @return the tags of the published documents of the given type
+     */
+    public synchronized Set<String> getTags(String docType) {
+        Set<String> result = new HashSet<>();
+        for (Map.Entry<String, Map<String, TreeSet<Entry>>> tag : byTag.entrySet()) {
+            TreeSet<Entry> entries = tag.getValue().get(docType);
+            if (entries != null && containsPublished(entries)) {
+                result.add(tag.getKey());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param tag the tag
+     * @return the types of the published documents carrying the tag
+     */
+    public synchronized Set<String> getDocumentTypes(String tag) {
+        Set<String> result = new HashSet<>();
+        Map<String, TreeSet<Entry>> byType = byTag.get(tag);
+        if (byType != null) {
+            for (Map.Entry<String, TreeSet<Entry>> entries : byType.entrySet()) {
+                if (containsPublished(entries.getValue())) {
+                    result.add(entries.getKey());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param tag     the tag
+     * @param docType the document type
+     * @return the source uris of the published documents of the given type carrying the tag, most recent first
+     */
+    public synchronized List<String> getPublishedUris(String tag, String docType) {
+        return getUris(tag, docType, true);
+    }
+
+    /**
+     * @param tag     the tag
+     * @param docType the document type
+     * @return the source uris of all documents of the given type carrying the tag, most recent first
+     */
+    public synchronized List<String> getUris(String tag, String docType) {
+        return getUris(tag, docType, false);
+    }
+
+    private List<String> getUris(String tag, String docType, boolean publishedOnly) {
+        Map<String, TreeSet<Entry>> byType = byTag.get(tag);
+        TreeSet<Entry> entries = byType != null ? byType.get(docType) : null;
+        if (entries == null) {
+            return Collections.emptyList();
+        }
+        List<String> uris = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            if (entry.published || !publishedOnly) {
+                uris.add(entry.uri);
+            }
+        }
+        return uris;
+    }
+
+    private static boolean containsPublished(TreeSet<Entry> entries) {
+        for (Entry entry : entries) {
+            if (entry.published) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String key(String docType, String uri) {
+        return docType + '\n' + uri;
+    }
+
+    private static class Entry {
+        private final String docType;
+        private final String uri;
+        private final Date date;
+        private final boolean published;
+        private final Set<String> tags;
+
+        Entry(String docType, String uri, Date date, boolean published, Set<String> tags) {
+            this.docType = docType;
+            this.uri = uri;
+            this.date = date;
+            this.published = published;
+            this.tags = tags;
+        }
+    }
+}
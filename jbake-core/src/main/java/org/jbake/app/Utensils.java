@@ -11,6 +11,7 @@ public class Utensils {
     private Crawler crawler;
     private Renderer renderer;
     private Asset asset;
+    private BakeMetrics metrics = new BakeMetrics();
 
     public JBakeConfiguration getConfiguration() {
         return configuration;
@@ -51,5 +52,12 @@ public class Utensils {
     public void setAsset(Asset asset) {
         this.asset = asset;
     }
-}
 
+    public BakeMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(BakeMetrics metrics) {
+        this.metrics = metrics;
+    }
+}
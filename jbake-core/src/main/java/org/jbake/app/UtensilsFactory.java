@@ -20,7 +20,7 @@ public class UtensilsFactory {
 
         Utensils utensils = new Utensils();
         utensils.setConfiguration(config);
-        ContentStore contentStore = DBUtil.createDataStore(config);
+        ContentStore contentStore = new MeteredContentStore(DBUtil.createDataStore(config), utensils.getMetrics());
         utensils.setContentStore(contentStore);
         utensils.setCrawler(new Crawler(contentStore, config));
         utensils.setRenderer(new Renderer(contentStore, config));
@@ -115,6 +115,15 @@ public class DefaultJBakeConfiguration implements JBakeConfiguration {
         return options;
     }
 
+    @Override
+    public int getAsciidoctorPoolSize() {
+        return getAsInt(JBakeProperty.ASCIIDOCTOR_POOL_SIZE, 1);
+    }
+
+    public void setAsciidoctorPoolSize(int poolSize) {
+        setProperty(JBakeProperty.ASCIIDOCTOR_POOL_SIZE, poolSize);
+    }
+
     @Override
     public File getAssetFolder() {
         return getAsFolder(ASSET_FOLDER_KEY);
@@ -140,6 +149,33 @@ public class DefaultJBakeConfiguration implements JBakeConfiguration {
         setProperty(JBakeProperty.ASSET_IGNORE_HIDDEN, assetIgnoreHidden);
     }
 
+    @Override
+    public String getAssetCopyStrategy() {
+        return getAsString(JBakeProperty.ASSET_COPY_STRATEGY, "copy");
+    }
+
+    public void setAssetCopyStrategy(String strategy) {
+        setProperty(JBakeProperty.ASSET_COPY_STRATEGY, strategy);
+    }
+
+    @Override
+    public boolean getAssetSync() {
+        return getAsBoolean(JBakeProperty.ASSET_SYNC);
+    }
+
+    public void setAssetSync(boolean assetSync) {
+        setProperty(JBakeProperty.ASSET_SYNC, assetSync);
+    }
+
+    @Override
+    public int getAssetThreads() {
+        return getAsInt(JBakeProperty.ASSET_THREADS, 1);
+    }
+
+    public void setAssetThreads(int threads) {
+        setProperty(JBakeProperty.ASSET_THREADS, threads);
+    }
+
     @Override
     public String getAttributesExportPrefixForAsciidoctor() {
         return getAsString(JBakeProperty.ASCIIDOCTOR_ATTRIBUTES_EXPORT_PREFIX, "");
@@ -183,6 +219,33 @@ public class DefaultJBakeConfiguration implements JBakeConfiguration {
         return getAsString(JBakeProperty.CONTENT_FOLDER);
     }
 
+    @Override
+    public int getCrawlerThreads() {
+        return getAsInt(JBakeProperty.CRAWLER_THREADS, 1);
+    }
+
+    public void setCrawlerThreads(int threads) {
+        setProperty(JBakeProperty.CRAWLER_THREADS, threads);
+    }
+
+    @Override
+    public boolean getCrawlerVerifyHash() {
+        return getAsBoolean(JBakeProperty.CRAWLER_VERIFY_HASH);
+    }
+
+    public void setCrawlerVerifyHash(boolean verifyHash) {
+        setProperty(JBakeProperty.CRAWLER_VERIFY_HASH, verifyHash);
+    }
+
+    @Override
+    public int getDatabaseBatchSize() {
+        return getAsInt(JBakeProperty.DB_BATCH_SIZE, 100);
+    }
+
+    public void setDatabaseBatchSize(int batchSize) {
+        setProperty(JBakeProperty.DB_BATCH_SIZE, batchSize);
+    }
+
     @Override
     public String getDatabasePath() {
         return getAsString(JBakeProperty.DB_PATH);
@@ -314,6 +377,20 @@ public class DefaultJBakeConfiguration implements JBakeConfiguration {
         setProperty(JBakeProperty.PAGINATE_INDEX, paginateIndex);
     }
 
+    @Override
+    public File getParserCacheFolder() {
+        String path = getAsString(JBakeProperty.PARSER_CACHE_FOLDER);
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+        File folder = new File(path);
+        return folder.isAbsolute() ? folder : new File(getSourceFolder(), path);
+    }
+
+    public void setParserCacheFolder(String path) {
+        setProperty(JBakeProperty.PARSER_CACHE_FOLDER, path);
+    }
+
     @Override
     public int getPostsPerPage() {
         return getAsInt(JBakeProperty.POSTS_PER_PAGE, 5);
@@ -352,6 +429,24 @@ public class DefaultJBakeConfiguration implements JBakeConfiguration {
         return getAsBoolean(JBakeProperty.RENDER_INDEX);
     }
 
+    @Override
+    public int getRenderThreads() {
+        return getAsInt(JBakeProperty.RENDER_THREADS, 1);
+    }
+
+    public void setRenderThreads(int threads) {
+        setProperty(JBakeProperty.RENDER_THREADS, threads);
+    }
+
+    @Override
+    public String getReportFileName() {
+        return getAsString(JBakeProperty.REPORT_FILE);
+    }
+
+    public void setReportFileName(String reportFileName) {
+        setProperty(JBakeProperty.REPORT_FILE, reportFileName);
+    }
+
     @Override
     public boolean getRenderSiteMap() {
         return getAsBoolean(JBakeProperty.RENDER_SITEMAP);
@@ -465,6 +560,24 @@ public class DefaultJBakeConfiguration implements JBakeConfiguration {
         return getAsString(JBakeProperty.VERSION);
     }
 
+    @Override
+    public int getWatcherDebounce() {
+        return getAsInt(JBakeProperty.WATCHER_DEBOUNCE, 250);
+    }
+
+    public void setWatcherDebounce(int debounce) {
+        setProperty(JBakeProperty.WATCHER_DEBOUNCE, debounce);
+    }
+
+    @Override
+    public boolean getWatcherNative() {
+        return getAsBoolean(JBakeProperty.WATCHER_NATIVE);
+    }
+
+    public void setWatcherNative(boolean watcherNative) {
+        setProperty(JBakeProperty.WATCHER_NATIVE, watcherNative);
+    }
+
     public void setDestinationFolderName(String folderName) {
         setProperty(JBakeProperty.DESTINATION_FOLDER, folderName);
         setupDefaultDestination();
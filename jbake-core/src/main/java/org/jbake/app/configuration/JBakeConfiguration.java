@@ -44,6 +44,11 @@ public interface JBakeConfiguration {
      */
     List<String> getAsciidoctorOptionKeys();
 
+    /**
+     * @return Maximum number of Asciidoctor engines converting documents concurrently, each one runs in its own JRuby runtime
+     */
+    int getAsciidoctorPoolSize();
+
     /**
      * @return the folder where assets are stored, they are copied directly in output folder and not processed
      */
@@ -59,6 +64,23 @@ public interface JBakeConfiguration {
      */
     boolean getAssetIgnoreHidden();
 
+    /**
+     * @return How asset files are written to the destination folder: copy, transfer (zero-copy channel transfer) or
+     * link (hard link, falling back to a copy if the file system doesn't support it)
+     */
+    String getAssetCopyStrategy();
+
+    /**
+     * @return Flag indicating if asset files whose copy is up to date should be skipped, and copies of deleted asset
+     * files removed
+     */
+    boolean getAssetSync();
+
+    /**
+     * @return Number of threads used to copy asset files, a value of 1 or less copies sequentially
+     */
+    int getAssetThreads();
+
     /**
      * @return Prefix to be used when exporting JBake properties to Asciidoctor
      */
@@ -84,13 +106,30 @@ public interface JBakeConfiguration {
      */
     String getContentFolderName();
 
+    /**
+     * @return Number of threads used to hash and parse content files, a value of 1 or less crawls sequentially
+     */
+    int getCrawlerThreads();
+
+    /**
+     * @return Flag indicating if the SHA-1 hash of every content file should be computed, even if size and modification
+     * time of the file are unchanged since the last crawl
+     */
+    boolean getCrawlerVerifyHash();
+
+    /**
+     * @return Number of documents written to the database in a single transaction while crawling
+     */
+    int getDatabaseBatchSize();
+
     /**
      * @return Folder to store database files in
      */
     String getDatabasePath();
 
     /**
-     * @return name to identify if database is kept in memory (memory) or persisted to disk (plocal)
+     * @return name to identify if database is kept in memory (memory), persisted to disk (plocal) or replaced by plain
+     * Java collections (heap)
      */
     String getDatabaseStore();
 
@@ -180,6 +219,11 @@ public interface JBakeConfiguration {
      */
     boolean getPaginateIndex();
 
+    /**
+     * @return Folder where parsed content files are cached across bakes, or null if parsed files aren't cached
+     */
+    File getParserCacheFolder();
+
     /**
      * @return How many posts per page on index
      */
@@ -210,6 +254,17 @@ public interface JBakeConfiguration {
      */
     boolean getRenderIndex();
 
+    /**
+     * @return Number of threads used to render documents, a value of 1 or less renders sequentially
+     */
+    int getRenderThreads();
+
+    /**
+     * @return Name of the JSON bake report file written next to the destination folder, empty if no report should be
+     * written
+     */
+    String getReportFileName();
+
     /**
      * @return Flag indicating if sitemap file should be generated
      */
@@ -299,6 +354,17 @@ public interface JBakeConfiguration {
      */
     String getVersion();
 
+    /**
+     * @return Milliseconds to wait for further file changes before baking a burst of changes
+     */
+    int getWatcherDebounce();
+
+    /**
+     * @return Flag indicating if file changes should be detected by the native file system watch service instead of
+     * polling
+     */
+    boolean getWatcherNative();
+
     /**
      * Set a property value for the given key
      *
@@ -7,12 +7,19 @@ public class JBakeProperty {
     public static final String ASCIIDOCTOR_ATTRIBUTES_EXPORT = "asciidoctor.attributes.export";
     public static final String ASCIIDOCTOR_OPTION = "asciidoctor.option";
     public static final String ASCIIDOCTOR_ATTRIBUTES_EXPORT_PREFIX = "asciidoctor.attributes.export.prefix";
+    public static final String ASCIIDOCTOR_POOL_SIZE = "asciidoctor.pool.size";
     public static final String ASSET_FOLDER = "asset.folder";
     public static final String ASSET_IGNORE_HIDDEN = "asset.ignore";
+    public static final String ASSET_COPY_STRATEGY = "asset.copy.strategy";
+    public static final String ASSET_SYNC = "asset.sync";
+    public static final String ASSET_THREADS = "asset.threads";
     public static final String BUILD_TIMESTAMP = "build.timestamp";
     public static final String CLEAR_CACHE = "db.clear.cache";
     public static final String CONTENT_FOLDER = "content.folder";
+    public static final String CRAWLER_THREADS = "crawler.threads";
+    public static final String CRAWLER_VERIFY_HASH = "crawler.verify.hash";
     public static final String DATE_FORMAT = "date.format";
+    public static final String DB_BATCH_SIZE = "db.batch.size";
     public static final String DB_STORE = "db.store";
     public static final String DB_PATH = "db.path";
     public static final String DEFAULT_STATUS = "default.status";
@@ -25,6 +32,7 @@ public class JBakeProperty {
     public static final String MARKDOWN_EXTENSIONS = "markdown.extensions";
     public static final String OUTPUT_EXTENSION = "output.extension";
     public static final String PAGINATE_INDEX = "index.paginate";
+    public static final String PARSER_CACHE_FOLDER = "parser.cache.folder";
     public static final String POSTS_PER_PAGE = "index.posts_per_page";
     public static final String RENDER_ARCHIVE = "render.archive";
     public static final String RENDER_FEED = "render.feed";
@@ -33,6 +41,8 @@ public class JBakeProperty {
     public static final String RENDER_TAGS = "render.tags";
     public static final String RENDER_TAGS_INDEX = "render.tagsindex";
     public static final String RENDER_ENCODING = "render.encoding";
+    public static final String RENDER_THREADS = "render.threads";
+    public static final String REPORT_FILE = "report.file";
     public static final String SERVER_PORT = "server.port";
     public static final String SERVER_HOSTNAME = "server.hostname";
     public static final String SERVER_CONTEXT_PATH = "server.contextPath";
@@ -48,6 +58,8 @@ public class JBakeProperty {
     public static final String IMG_PATH_UPDATE = "img.path.update";
     public static final String IMG_PATH_PREPEND_HOST = "img.path.prepend.host";
     public static final String VERSION = "version";
+    public static final String WATCHER_DEBOUNCE = "watcher.debounce";
+    public static final String WATCHER_NATIVE = "watcher.native";
 
     private JBakeProperty() {}
 
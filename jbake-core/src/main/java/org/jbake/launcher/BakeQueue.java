@@ -0,0 +1,129 @@
+package org.jbake.launcher;
+
+import org.jbake.app.Oven;
+import org.jbake.app.configuration.JBakeConfiguration;
+import org.jbake.util.ConcurrencyUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the file changes detected by the watchers and bakes them in bursts.
+ * <p>
+ * Changes are baked once no further change arrived for {@link JBakeConfiguration#getWatcherDebounce()} milliseconds,
+ * all together by a single {@link Oven#bake(Collection)}. Bakes run one at a time on a background thread. A change
+ * arriving while a bake runs cancels it, and the files of the cancelled bake are baked again with the newer changes.
+ * <p>
+ * All bakes share the same {@link Oven}, within a baking session kept open until the queue is stopped, so that the
+ * content store, parsers and templates stay warm between bakes.
+ */
+public class BakeQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BakeQueue.class);
+
+    private final JBakeConfiguration config;
+    private final ScheduledExecutorService executor;
+    private final Set<File> pending = new LinkedHashSet<>();
+    private ScheduledFuture<?> scheduled;
+    private Oven oven;
+    private Oven running;
+    private boolean runningCancelled;
+
+    public BakeQueue(JBakeConfiguration config) {
+        this.config = config;
+        this.executor = ConcurrencyUtil.newSingleThreadScheduledExecutor("jbake-watcher");
+    }
+
+    /**
+     * Queues a changed, created or deleted file and postpones the next bake.
+     *
+     * @param file the file
+     */
+    public synchronized void add(File file) {
+        pending.add(file);
+        if (running != null && !runningCancelled) {
+            runningCancelled = true;
+            running.cancel();
+        }
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+        scheduled = executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                bakePending();
+            }
+        }, config.getWatcherDebounce(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops baking queued changes, cancels the running bake and closes the baking session.
+     */
+    public synchronized void stop() {
+        if (executor.isShutdown()) {
+            return;
+        }
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+        if (running != null) {
+            running.cancel();
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (oven != null) {
+                    oven.closeSession();
+                }
+            }
+        });
+        executor.shutdown();
+    }
+
+    /**
+     * @return the Oven to bake all changes with
+     */
+    protected Oven createOven() {
+        return new Oven(config);
+    }
+
+    private void bakePending() {
+        Set<File> files;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            files = new LinkedHashSet<>(pending);
+            pending.clear();
+            if (oven == null) {
+                oven = createOven();
+            }
+            running = oven;
+            runningCancelled = false;
+        }
+
+        try {
+            LOGGER.debug("Baking {} changed files", files.size());
+            oven.openSession();
+            oven.bake(files);
+        } catch (Exception e) {
+            LOGGER.error("Failed to bake changed files", e);
+        } finally {
+            synchronized (this) {
+                if (runningCancelled) {
+                    files.addAll(pending);
+                    pending.clear();
+                    pending.addAll(files);
+                }
+                running = null;
+            }
+        }
+    }
+}
@@ -11,6 +11,8 @@ import org.jbake.app.configuration.JBakeConfigurationFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+
 /**
  * Delegate responsible for watching the file system for changes.
  *
@@ -19,6 +21,10 @@ import org.slf4j.LoggerFactory;
 public class BakeWatcher {
 
     private Logger logger = LoggerFactory.getLogger(BakeWatcher.class);
+    private BakeQueue queue;
+    private NativeFileWatcher nativeWatcher;
+    private DefaultFileMonitor monitor;
+    private Thread shutdownHook;
 
     /**
      * Starts watching the file system for changes to trigger a bake.
@@ -36,25 +42,80 @@ public class BakeWatcher {
 
     /**
      * Starts watching the file system for changes to trigger a bake.
+     * <p>
+     * Changes are collected by a {@link BakeQueue}, which bakes bursts of changes at once. They are detected by
+     * polling, or by the native file system watch service if {@link JBakeConfiguration#getWatcherNative()} is set.
      *
      * @param config JBakeConfiguration settings
      */
-    public void start(JBakeConfiguration config) {
+    public synchronized void start(JBakeConfiguration config) {
+        queue = new BakeQueue(config);
+        if (shutdownHook == null) {
+            // the server usually runs until the JVM is interrupted
+            shutdownHook = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    stop();
+                }
+            }, "jbake-watcher-shutdown");
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        }
+        logger.info("Watching for (content, template, asset) changes in [{}]", config.getSourceFolder().getPath());
+        if (config.getWatcherNative()) {
+            try {
+                NativeFileWatcher watcher = new NativeFileWatcher(queue, config.getSourceFolder());
+                watcher.register(config.getContentFolder());
+                watcher.register(config.getTemplateFolder());
+                watcher.register(config.getAssetFolder());
+                watcher.start();
+                nativeWatcher = watcher;
+                return;
+            } catch (IOException e) {
+                logger.error("Problems watching filesystem changes natively, polling instead", e);
+            }
+        }
         try {
             FileSystemManager fsMan = VFS.getManager();
             FileObject listenPath = fsMan.resolveFile(config.getContentFolder().toURI());
             FileObject templateListenPath = fsMan.resolveFile(config.getTemplateFolder().toURI());
             FileObject assetPath = fsMan.resolveFile(config.getAssetFolder().toURI());
 
-            logger.info("Watching for (content, template, asset) changes in [{}]", config.getSourceFolder().getPath());
-            DefaultFileMonitor monitor = new DefaultFileMonitor(new CustomFSChangeListener(config));
+            DefaultFileMonitor monitor = new DefaultFileMonitor(new CustomFSChangeListener(queue));
             monitor.setRecursive(true);
             monitor.addFile(listenPath);
             monitor.addFile(templateListenPath);
             monitor.addFile(assetPath);
             monitor.start();
+            this.monitor = monitor;
         } catch (FileSystemException e) {
             logger.error("Problems watching filesystem changes", e);
         }
     }
+
+    /**
+     * Stops watching the file system, stops baking the queued changes and closes the baking session. Called when
+     * the server stops, or when the JVM shuts down while watching.
+     */
+    public synchronized void stop() {
+        if (nativeWatcher != null) {
+            nativeWatcher.stop();
+            nativeWatcher = null;
+        }
+        if (monitor != null) {
+            monitor.stop();
+            monitor = null;
+        }
+        if (queue != null) {
+            queue.stop();
+            queue = null;
+        }
+        if (shutdownHook != null && Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // the JVM is already shutting down
+            }
+            shutdownHook = null;
+        }
+    }
 }
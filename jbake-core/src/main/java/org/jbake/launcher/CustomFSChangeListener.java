@@ -3,7 +3,6 @@ package org.jbake.launcher;
 import org.apache.commons.vfs2.FileChangeEvent;
 import org.apache.commons.vfs2.FileListener;
 import org.apache.commons.vfs2.FileObject;
-import org.jbake.app.Oven;
 import org.jbake.app.configuration.JBakeConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,10 +13,17 @@ public class CustomFSChangeListener implements FileListener {
 
     private final static Logger LOGGER = LoggerFactory.getLogger(CustomFSChangeListener.class);
 
-    private JBakeConfiguration config;
+    private final BakeQueue queue;
 
     public CustomFSChangeListener(JBakeConfiguration config) {
-        this.config = config;
+        this(new BakeQueue(config));
+    }
+
+    /**
+     * @param queue Queue collecting the changes to bake
+     */
+    public CustomFSChangeListener(BakeQueue queue) {
+        this.queue = queue;
     }
 
     @Override
@@ -39,7 +45,6 @@ public class CustomFSChangeListener implements FileListener {
     }
 
     private void exec(FileObject file) {
-        final Oven oven = new Oven(config);
-        oven.bake(new File(file.getName().getPath()));
+        queue.add(new File(file.getName().getPath()));
     }
 }
@@ -107,22 +107,27 @@ public class Main {
 
         if (res.isRunServer()) {
             watcher.start(config);
-            // TODO: short term fix until bake, server, init commands no longer share underlying values (such as source/dest)
-            if (res.isBake()) {
-                // bake and server commands have been run together
-                if (res.getDestination() != null) {
-                    // use the destination provided via the commandline
-                    runServer(res.getDestination(), config);
-                } else if (!res.getSource().getPath().equals(".")) {
-                    // use the source folder provided via the commandline
-                    runServer(res.getSource(), config);
+            try {
+                // TODO: short term fix until bake, server, init commands no longer share underlying values (such as source/dest)
+                if (res.isBake()) {
+                    // bake and server commands have been run together
+                    if (res.getDestination() != null) {
+                        // use the destination provided via the commandline
+                        runServer(res.getDestination(), config);
+                    } else if (!res.getSource().getPath().equals(".")) {
+                        // use the source folder provided via the commandline
+                        runServer(res.getSource(), config);
+                    } else {
+                        // use the default DESTINATION_FOLDER value
+                        runServer(config.getDestinationFolder(), config);
+                    }
                 } else {
-                    // use the default DESTINATION_FOLDER value
+                    // use the default destination folder
                     runServer(config.getDestinationFolder(), config);
                 }
-            } else {
-                // use the default destination folder
-                runServer(config.getDestinationFolder(), config);
+            } finally {
+                // the server has stopped, so has the need to bake changes
+                watcher.stop();
             }
         }
     }
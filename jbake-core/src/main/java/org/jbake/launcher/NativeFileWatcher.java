@@ -0,0 +1,131 @@
+package org.jbake.launcher;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Watches folders recursively with the native {@link WatchService} of the file system, instead of polling them, and
+ * queues the changed files in a {@link BakeQueue}.
+ */
+public class NativeFileWatcher implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NativeFileWatcher.class);
+
+    private final BakeQueue queue;
+    private final File sourceFolder;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> folders = new ConcurrentHashMap<>();
+
+    /**
+     * @param queue        the queue to report changes to
+     * @param sourceFolder the folder queued when events have been lost, forcing a full bake
+     * @throws IOException if the file system doesn't provide a watch service
+     */
+    public NativeFileWatcher(BakeQueue queue, File sourceFolder) throws IOException {
+        this.queue = queue;
+        this.sourceFolder = sourceFolder;
+        this.watchService = FileSystems.getDefault().newWatchService();
+    }
+
+    /**
+     * Watches a folder and all its sub-folders, if it exists.
+     *
+     * @param folder the folder
+     * @throws IOException if the folder can't be watched
+     */
+    public void register(File folder) throws IOException {
+        if (folder.isDirectory()) {
+            register(folder.toPath());
+        }
+    }
+
+    /**
+     * Starts watching on a daemon thread.
+     */
+    public void start() {
+        Thread thread = new Thread(this, "jbake-watcher-native");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching.
+     */
+    public void stop() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            LOGGER.warn("Unable to close the watch service", e);
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path folder = folders.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || folder == null) {
+                        LOGGER.info("File system events have been lost, baking everything again");
+                        queue.add(sourceFolder);
+                        continue;
+                    }
+                    handle(event.kind(), folder.resolve((Path) event.context()));
+                }
+                if (!key.reset()) {
+                    folders.remove(key);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            LOGGER.debug("Watch service closed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(WatchEvent.Kind<?> kind, Path path) {
+        boolean isDirectory = Files.isDirectory(path);
+        if (kind == StandardWatchEventKinds.ENTRY_CREATE && isDirectory) {
+            try {
+                register(path);
+            } catch (IOException e) {
+                LOGGER.error("Unable to watch folder {}", path, e);
+            }
+        }
+        // changes within a folder are reported by the files themselves
+        if (kind == StandardWatchEventKinds.ENTRY_MODIFY && isDirectory) {
+            return;
+        }
+        LOGGER.info("File event {} detected: {}", kind.name(), path);
+        queue.add(path.toFile());
+    }
+
+    private void register(Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+                folders.put(key, dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -3,21 +3,25 @@ package org.jbake.parser;
 import org.asciidoctor.Asciidoctor;
 import org.asciidoctor.AttributesBuilder;
 import org.asciidoctor.Options;
-import org.asciidoctor.ast.DocumentHeader;
+import org.asciidoctor.ast.Document;
+import org.asciidoctor.ast.Title;
 import org.asciidoctor.jruby.AsciidoctorJRuby;
 import org.jbake.app.configuration.JBakeConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 
 import static org.asciidoctor.AttributesBuilder.attributes;
 import static org.asciidoctor.OptionsBuilder.options;
@@ -33,9 +37,10 @@ public class AsciidoctorEngine extends MarkupEngine {
     public static final String JBAKE_PREFIX = "jbake-";
     public static final String REVDATE_KEY = "revdate";
 
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-
-    private Asciidoctor engine;
+    /* idle engines, at most asciidoctor.pool.size engines are created */
+    private final BlockingQueue<Asciidoctor> engines = new LinkedBlockingQueue<>();
+    private int createdEngines;
+    private volatile OptionsTemplate optionsTemplate;
     /* comma separated file paths to additional gems */
     private static final String OPT_GEM_PATH = "gemPath";
     /* comma separated gem names */
@@ -46,66 +51,122 @@ public class AsciidoctorEngine extends MarkupEngine {
         assert engineClass != null;
     }
 
-    private Asciidoctor getEngine(Options options) {
+    /**
+     * Takes an idle engine from the pool, creates a new one if the pool isn't full yet or waits for one to be
+     * released otherwise.
+     */
+    private Asciidoctor acquireEngine(Map<String, Object> options, int poolSize) {
+        Asciidoctor engine = engines.poll();
+        if (engine != null) {
+            return engine;
+        }
+        boolean create = false;
+        synchronized (this) {
+            if (createdEngines < Math.max(1, poolSize)) {
+                createdEngines++;
+                create = true;
+            }
+        }
+        if (create) {
+            try {
+                return createEngine(options);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    createdEngines--;
+                }
+                throw e;
+            }
+        }
         try {
-            lock.readLock().lock();
-            if (engine == null) {
-                lock.readLock().unlock();
-                try {
-                    lock.writeLock().lock();
-                    if (engine == null) {
-                        LOGGER.info("Initializing Asciidoctor engine...");
-                        if (options.map().containsKey(OPT_GEM_PATH)) {
-                            engine = AsciidoctorJRuby.Factory.create(String.valueOf(options.map().get(OPT_GEM_PATH)));
-                        } else {
-                            engine = Asciidoctor.Factory.create();
-                        }
-
-                        if (options.map().containsKey(OPT_REQUIRES)) {
-                            String[] requires = String.valueOf(options.map().get(OPT_REQUIRES)).split(",");
-                            if (requires.length != 0) {
-                                for (String require : requires) {
-                                    engine.requireLibrary(require);
-                                }
-                            }
-                        }
-
-                        LOGGER.info("Asciidoctor engine initialized.");
-                    }
-                } finally {
-                    lock.readLock().lock();
-                    lock.writeLock().unlock();
+            return engines.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an Asciidoctor engine", e);
+        }
+    }
+
+    private void releaseEngine(Asciidoctor engine) {
+        engines.offer(engine);
+    }
+
+    private Asciidoctor createEngine(Map<String, Object> options) {
+        LOGGER.info("Initializing Asciidoctor engine...");
+        Asciidoctor engine;
+        if (options.containsKey(OPT_GEM_PATH)) {
+            engine = AsciidoctorJRuby.Factory.create(String.valueOf(options.get(OPT_GEM_PATH)));
+        } else {
+            engine = Asciidoctor.Factory.create();
+        }
+
+        if (options.containsKey(OPT_REQUIRES)) {
+            String[] requires = String.valueOf(options.get(OPT_REQUIRES)).split(",");
+            if (requires.length != 0) {
+                for (String require : requires) {
+                    engine.requireLibrary(require);
                 }
             }
-        } finally {
-            lock.readLock().unlock();
         }
+
+        LOGGER.info("Asciidoctor engine initialized.");
         return engine;
     }
 
+    /**
+     * Parses the document once and reads its header. The parsed document is kept, with the engine which parsed it,
+     * until {@link #processBody(ParserContext)} converts it, so that documents skipped for their missing type or status
+     * are never converted. The asciidoc attributes of a file with a JBake header only fill in values the JBake header
+     * doesn't set.
+     */
     @Override
     public void processHeader(final ParserContext context) {
-        Options options = getAsciiDocOptionsAndAttributes(context);
-        final Asciidoctor asciidoctor = getEngine(options);
-        DocumentHeader header = asciidoctor.readDocumentHeader(context.getFile());
+        OptionsTemplate template = getOptionsTemplate(context.getConfig());
+        Map<String, Object> options = template.newOptions(context.getFile());
+        Asciidoctor asciidoctor = acquireEngine(options, context.getConfig().getAsciidoctorPoolSize());
+        boolean kept = false;
+        try {
+            String body = context.getFileContent();
+            if (context.hasHeader() && !context.getSourceBody().isEmpty()) {
+                body = context.getSourceBody();
+            }
+            Document document = asciidoctor.load(body, options);
+            processDocumentHeader(document, template, context);
+            context.setParsedSource(new LoadedDocument(asciidoctor, document));
+            kept = true;
+        } finally {
+            if (!kept) {
+                releaseEngine(asciidoctor);
+            }
+        }
+    }
+
+    private void processDocumentHeader(Document document, OptionsTemplate template, ParserContext context) {
+        boolean keepHeaderValues = context.hasHeader();
         Map<String, Object> documentModel = context.getDocumentModel();
-        if (header.getDocumentTitle() != null) {
-            documentModel.put("title", header.getDocumentTitle().getCombined());
+        Title title = document.getStructuredDoctitle();
+        if (title != null && !(keepHeaderValues && documentModel.containsKey("title"))) {
+            documentModel.put("title", title.getCombined());
         }
-        Map<String, Object> attributes = header.getAttributes();
+        Map<String, Object> attributes = document.getAttributes();
         for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
             String key = attribute.getKey();
             Object value = attribute.getValue();
 
+            if (template.attributes.containsKey(key)) {
+                // set by the configuration, not by the document
+                continue;
+            }
             if (hasJBakePrefix(key)) {
                 String pKey = key.substring(6);
+                if (keepHeaderValues && documentModel.containsKey(pKey.trim())) {
+                    continue;
+                }
                 if(canCastToString(value)) {
                     storeHeaderValue(pKey, (String) value, documentModel);
                 } else {
                     documentModel.put(pKey, value);
                 }
             }
-            if (hasRevdate(key) && canCastToString(value)) {
+            if (hasRevdate(key) && canCastToString(value) && !(keepHeaderValues && context.getDate() != null)) {
 
                 String dateFormat = context.getConfig().getDateFormat();
                 DateFormat df = new SimpleDateFormat(dateFormat);
@@ -117,13 +178,16 @@ public class AsciidoctorEngine extends MarkupEngine {
                 }
             }
             if (key.equals("jbake-tags")) {
+                if (keepHeaderValues && context.getTags() != null) {
+                    continue;
+                }
                 if (canCastToString(value)) {
                     context.setTags(((String) value).split(","));
                 } else {
                     LOGGER.error("Wrong value of 'jbake-tags'. Expected a String got '{}'", getValueClassName(value));
                 }
-            } else {
-                documentModel.put(key, attributes.get(key));
+            } else if (!(keepHeaderValues && documentModel.containsKey(key))) {
+                documentModel.put(key, value);
             }
         }
     }
@@ -147,55 +211,137 @@ public class AsciidoctorEngine extends MarkupEngine {
     // TODO: write tests with options and attributes
     @Override
     public void processBody(ParserContext context) {
-        StringBuilder body = new StringBuilder(context.getBody().length());
-        if (!context.hasHeader()) {
-            for (String line : context.getFileLines()) {
-                body.append(line).append("\n");
+        LoadedDocument loaded = takeLoadedDocument(context);
+        if (loaded != null) {
+            try {
+                context.setBody(loaded.document.convert());
+            } finally {
+                releaseEngine(loaded.engine);
             }
-            context.setBody(body.toString());
+            return;
+        }
+        if (!context.hasHeader()) {
+            context.setBody(context.getFileContent());
         }
         processAsciiDoc(context);
     }
 
     private void processAsciiDoc(ParserContext context) {
-        Options options = getAsciiDocOptionsAndAttributes(context);
-        final Asciidoctor asciidoctor = getEngine(options);
-        context.setBody(asciidoctor.convert(context.getBody(), options));
-    }
-
-    private Options getAsciiDocOptionsAndAttributes(ParserContext context) {
-        JBakeConfiguration config = context.getConfig();
-        List<String> asciidoctorAttributes = config.getAsciidoctorAttributes();
-        final AttributesBuilder attributes = attributes(asciidoctorAttributes.toArray(new String[0]));
-        if (config.getExportAsciidoctorAttributes()) {
-            final String prefix = config.getAttributesExportPrefixForAsciidoctor();
-
-            for (final Iterator<String> it = config.getKeys(); it.hasNext(); ) {
-                final String key = it.next();
-                if (!key.startsWith("asciidoctor")) {
-                    attributes.attribute(prefix + key.replace(".", "_"), config.get(key));
+        Map<String, Object> options = getOptionsTemplate(context.getConfig()).newOptions(context.getFile());
+        Asciidoctor asciidoctor = acquireEngine(options, context.getConfig().getAsciidoctorPoolSize());
+        try {
+            context.setBody(asciidoctor.convert(context.getBody(), options));
+        } finally {
+            releaseEngine(asciidoctor);
+        }
+    }
+
+    /**
+     * Releases the engine of a document whose body hasn't been converted.
+     */
+    @Override
+    public void processFinished(ParserContext context) {
+        LoadedDocument loaded = takeLoadedDocument(context);
+        if (loaded != null) {
+            releaseEngine(loaded.engine);
+        }
+    }
+
+    private LoadedDocument takeLoadedDocument(ParserContext context) {
+        if (!(context.getParsedSource() instanceof LoadedDocument)) {
+            return null;
+        }
+        LoadedDocument loaded = (LoadedDocument) context.getParsedSource();
+        context.setParsedSource(null);
+        return loaded;
+    }
+
+    private OptionsTemplate getOptionsTemplate(JBakeConfiguration config) {
+        OptionsTemplate template = optionsTemplate;
+        if (template == null || template.config != config) {
+            template = new OptionsTemplate(config);
+            optionsTemplate = template;
+        }
+        return template;
+    }
+
+    /**
+     * Drops the options and attributes built from the configuration, so that the next document builds them again.
+     */
+    @Override
+    public void reloadConfiguration() {
+        optionsTemplate = null;
+    }
+
+    /**
+     * A document parsed while processing its header, and the engine which parsed it, kept from other documents until
+     * the document has been converted.
+     */
+    private static final class LoadedDocument {
+        private final Asciidoctor engine;
+        private final Document document;
+
+        private LoadedDocument(Asciidoctor engine, Document document) {
+            this.engine = engine;
+            this.document = document;
+        }
+    }
+
+    /**
+     * The options and attributes derived from a configuration, built once per configuration as exporting the
+     * configuration walks through all of its keys. A configuration changed in place is only seen again after
+     * {@link #reloadConfiguration()}.
+     */
+    private final class OptionsTemplate {
+        private final JBakeConfiguration config;
+        private final Map<String, Object> options;
+        private final Map<String, Object> attributes;
+
+        private OptionsTemplate(JBakeConfiguration config) {
+            this.config = config;
+            List<String> asciidoctorAttributes = config.getAsciidoctorAttributes();
+            final AttributesBuilder attributesBuilder = attributes(asciidoctorAttributes.toArray(new String[0]));
+            if (config.getExportAsciidoctorAttributes()) {
+                final String prefix = config.getAttributesExportPrefixForAsciidoctor();
+
+                for (final Iterator<String> it = config.getKeys(); it.hasNext(); ) {
+                    final String key = it.next();
+                    if (!key.startsWith("asciidoctor")) {
+                        attributesBuilder.attribute(prefix + key.replace(".", "_"), config.get(key));
+                    }
                 }
             }
-        }
 
-        final List<String> optionsSubset = config.getAsciidoctorOptionKeys();
-        final Options options = options().attributes(attributes.get()).get();
-        for (final String optionKey : optionsSubset) {
+            final List<String> optionsSubset = config.getAsciidoctorOptionKeys();
+            final Options asciidoctorOptions = options().attributes(attributesBuilder.get()).get();
+            for (final String optionKey : optionsSubset) {
 
-            Object optionValue = config.getAsciidoctorOption(optionKey);
-            if (optionKey.equals(Options.TEMPLATE_DIRS)) {
-                List<String> dirs = getAsList(optionValue);
-                if (!dirs.isEmpty()) {
-                    options.setTemplateDirs(String.valueOf(dirs));
+                Object optionValue = config.getAsciidoctorOption(optionKey);
+                if (optionKey.equals(Options.TEMPLATE_DIRS)) {
+                    List<String> dirs = getAsList(optionValue);
+                    if (!dirs.isEmpty()) {
+                        asciidoctorOptions.setTemplateDirs(String.valueOf(dirs));
+                    }
+                } else {
+                    asciidoctorOptions.setOption(optionKey, optionValue);
                 }
-            } else {
-                options.setOption(optionKey, optionValue);
+
             }
+            asciidoctorOptions.setSafe(UNSAFE);
+            this.attributes = new HashMap<>(attributesBuilder.get().map());
+            this.options = new HashMap<>(asciidoctorOptions.map());
+        }
 
+        /**
+         * @param file the file to convert
+         * @return a copy of the options, with the folder of the file as base directory
+         */
+        private Map<String, Object> newOptions(File file) {
+            Map<String, Object> documentOptions = new HashMap<>(options);
+            documentOptions.put(Options.ATTRIBUTES, new HashMap<>(attributes));
+            documentOptions.put(Options.BASEDIR, file.getParentFile().getAbsolutePath());
+            return documentOptions;
         }
-        options.setBaseDir(context.getFile().getParentFile().getAbsolutePath());
-        options.setSafe(UNSAFE);
-        return options;
     }
 
     @SuppressWarnings("unchecked")
@@ -9,6 +9,7 @@ import java.net.URL;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -30,7 +31,8 @@ import java.util.Set;
  *
  * <p>Markup engines are singletons, so are typically used to initialize the underlying renderning engines. They
  * <b>must not</b> store specific information of a currently processed file (use {@link ParserContext the parser context}
- * for that).</p>
+ * for that). As content files may be parsed by several crawler threads at once (see <i>crawler.threads</i>), engines
+ * must also be safe to use concurrently.</p>
  *
  * This class loads the engines only if they are found on classpath. If not, the engine is not registered. This allows
  * JBake to support multiple rendering engines without the explicit need to have them on classpath. This is a better
@@ -63,6 +65,19 @@ public class Engines {
         return Collections.unmodifiableSet(INSTANCE.parsers.keySet());
     }
 
+    /**
+     * Lets every registered markup engine drop what it derived from the configuration.
+     *
+     * @see MarkupEngine#reloadConfiguration()
+     */
+    public static void reloadConfiguration() {
+        for (ParserEngine engine : new HashSet<>(INSTANCE.parsers.values())) {
+            if (engine instanceof MarkupEngine) {
+                ((MarkupEngine) engine).reloadConfiguration();
+            }
+        }
+    }
+
     private Engines() {
         parsers = new HashMap<>();
     }
@@ -10,7 +10,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Renders documents in the Markdown format.
@@ -21,10 +24,33 @@ public class MarkdownEngine extends MarkupEngine {
 
     private static final Logger logger = LoggerFactory.getLogger(MarkdownEngine.class);
 
+    /**
+     * Flexmark parsers and renderers are immutable and thread safe once built, but expensive to build: they are
+     * shared by all documents rendered with the same <code>markdown.extensions</code> configuration.
+     */
+    private final ConcurrentMap<List<String>, MarkdownProcessor> processors = new ConcurrentHashMap<>();
+
     @Override
     public void processBody(final ParserContext context) {
-        List<String> mdExts = context.getConfig().getMarkdownExtensions();
+        MarkdownProcessor processor = getProcessor(context.getConfig().getMarkdownExtensions());
+
+        Document document = processor.parser.parse(context.getBody());
+        context.setBody(processor.renderer.render(document));
+    }
+
+    private MarkdownProcessor getProcessor(List<String> mdExts) {
+        MarkdownProcessor processor = processors.get(mdExts);
+        if (processor == null) {
+            processor = new MarkdownProcessor(PegdownOptionsAdapter.flexmarkOptions(extensionsFor(mdExts)));
+            MarkdownProcessor existing = processors.putIfAbsent(new ArrayList<>(mdExts), processor);
+            if (existing != null) {
+                processor = existing;
+            }
+        }
+        return processor;
+    }
 
+    private int extensionsFor(List<String> mdExts) {
         int extensions = PegdownExtensions.NONE;
 
         for (String ext : mdExts) {
@@ -38,14 +64,7 @@ public class MarkdownEngine extends MarkupEngine {
                 extensions = addExtension(extensions, extensionFor(ext));
             }
         }
-
-        DataHolder options = PegdownOptionsAdapter.flexmarkOptions(extensions);
-
-        Parser parser = Parser.builder(options).build();
-        HtmlRenderer renderer = HtmlRenderer.builder(options).build();
-
-        Document document = parser.parse(context.getBody());
-        context.setBody(renderer.render(document));
+        return extensions;
     }
 
     private int extensionFor(String name) {
@@ -68,4 +87,13 @@ public class MarkdownEngine extends MarkupEngine {
         return previousExtensions & (~unwantedExtension);
     }
 
+    private static final class MarkdownProcessor {
+        private final Parser parser;
+        private final HtmlRenderer renderer;
+
+        private MarkdownProcessor(DataHolder options) {
+            this.parser = Parser.builder(options).build();
+            this.renderer = HtmlRenderer.builder(options).build();
+        }
+    }
 }
@@ -2,7 +2,6 @@ package org.jbake.parser;
 
 import org.apache.commons.configuration.CompositeConfiguration;
 import org.apache.commons.configuration.Configuration;
-import org.apache.commons.io.IOUtils;
 import org.jbake.app.Crawler;
 import org.jbake.app.configuration.DefaultJBakeConfiguration;
 import org.jbake.app.configuration.JBakeConfiguration;
@@ -10,14 +9,15 @@ import org.json.simple.JSONValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -32,7 +32,8 @@ import java.util.Map;
  */
 public abstract class MarkupEngine implements ParserEngine {
     private static final Logger LOGGER = LoggerFactory.getLogger(MarkupEngine.class);
-    private static final String UTF_8_BOM = "\uFEFF";
+    private static final char UTF_8_BOM = '\uFEFF';
+    private static final int BUFFER_SIZE = 8192;
 
     private JBakeConfiguration configuration;
 
@@ -64,6 +65,23 @@ public abstract class MarkupEngine implements ParserEngine {
     public void processBody(final ParserContext context) {
     }
 
+    /**
+     * Drops what the engine derived from the configuration and kept across documents, so that configuration changes
+     * are picked up by the next documents. Called when a bake starts.
+     */
+    public void reloadConfiguration() {
+    }
+
+    /**
+     * Called once parsing ends, whether the body has been processed or parsing stopped before, e.g. because the
+     * document has no type or status. Subclasses release here what {@link #processHeader(ParserContext)} kept for
+     * {@link #processBody(ParserContext)}.
+     *
+     * @param context the parser context
+     */
+    public void processFinished(final ParserContext context) {
+    }
+
     @Override
     public Map<String, Object> parse(Configuration config, File file, String contentPath) {
         return parse(new DefaultJBakeConfiguration((CompositeConfiguration) config), file);
@@ -77,14 +95,23 @@ public abstract class MarkupEngine implements ParserEngine {
      */
     public Map<String, Object> parse(JBakeConfiguration config, File file) {
         this.configuration = config;
-        List<String> fileContent = getFileContent(file, config.getRenderEncoding());
+        SourceFile source = readFile(file, config.getRenderEncoding());
 
-        if (fileContent.isEmpty()) {
+        if (source == null) {
             return null;
         }
 
-        boolean hasHeader = hasHeader(fileContent);
-        ParserContext context = new ParserContext(file, fileContent, config, hasHeader);
+        boolean hasHeader = source.headerLines != null && hasHeader(source.headerLines);
+        ParserContext context = new ParserContext(file, source.headerLines, source.body, config, hasHeader);
+        try {
+            return parse(context);
+        } finally {
+            processFinished(context);
+        }
+    }
+
+    private Map<String, Object> parse(ParserContext context) {
+        File file = context.getFile();
 
         // read header from file
         processDefaultHeader(context);
@@ -115,24 +142,82 @@ public abstract class MarkupEngine implements ParserEngine {
         return context.getDocumentModel();
     }
 
-    private List<String> getFileContent(File file, String encoding) {
-
-        try (InputStream is = new FileInputStream(file)) {
+    /**
+     * Reads a file in a single pass. Lines are read one by one only as long as they may belong to a metadata header,
+     * i.e. until the header separator or the first line that can't be a header property. The rest of the file is
+     * copied as is into the body, with line endings normalized to <code>\n</code>.
+     * <p>
+     * The body is read into a buffer sized to the file, which is copied once into the body string: reading a file
+     * needs at most twice the memory of its body at its peak, and the buffer never grows for single byte and UTF-8
+     * encodings.
+     *
+     * @param file     the file to read
+     * @param encoding the encoding of the file
+     * @return the header and the body of the file, or null if it is empty or can't be read
+     */
+    private SourceFile readFile(File file, String encoding) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), encoding))) {
             LOGGER.debug("read file '{}' with encoding '{}'", file, encoding);
-            List<String> lines = IOUtils.readLines(is, encoding);
-            if (!lines.isEmpty() && isUtf8WithBOM(encoding, lines.get(0))) {
+            reader.mark(1);
+            int first = reader.read();
+            if (first == -1) {
+                return null;
+            }
+            if (isUtf8WithBOM(encoding, (char) first)) {
                 LOGGER.warn("remove BOM from file '{}' read with encoding '{}'", file, encoding);
-                lines.set(0, lines.get(0).replace(UTF_8_BOM, ""));
+            } else {
+                reader.reset();
+            }
+
+            List<String> lines = new ArrayList<>();
+            StringBuilder body = new StringBuilder((int) Math.min(file.length(), Integer.MAX_VALUE - 8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.equals(configuration.getHeaderSeparator())) {
+                    LOGGER.debug("Header separator found");
+                    readBody(reader, body);
+                    return new SourceFile(lines, body.toString());
+                }
+                lines.add(line);
+                // header should only contain empty lines or lines with '=' in
+                if (!line.isEmpty() && !line.contains("=")) {
+                    break;
+                }
+            }
+
+            for (String bodyLine : lines) {
+                body.append(bodyLine).append('\n');
             }
-            return lines;
+            readBody(reader, body);
+            return new SourceFile(null, body.toString());
         } catch (IOException e) {
             LOGGER.error("Error while opening file {}", file, e);
-            return Collections.emptyList();
+            return null;
+        }
+    }
+
+    private void readBody(BufferedReader reader, StringBuilder body) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        boolean carriageReturn = false;
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                char c = buffer[i];
+                if (c == '\r') {
+                    body.append('\n');
+                } else if (c != '\n' || !carriageReturn) {
+                    body.append(c);
+                }
+                carriageReturn = c == '\r';
+            }
+        }
+        if (body.length() > 0 && body.charAt(body.length() - 1) != '\n') {
+            body.append('\n');
         }
     }
 
-    private boolean isUtf8WithBOM(String encoding, String line) {
-        return encoding.equals("UTF-8") && line.startsWith(UTF_8_BOM);
+    private boolean isUtf8WithBOM(String encoding, char first) {
+        return encoding.equals("UTF-8") && first == UTF_8_BOM;
     }
 
     private void sanitizeTags(ParserContext context) {
@@ -169,38 +254,26 @@ public abstract class MarkupEngine implements ParserEngine {
     /**
      * Checks if the file has a meta-data header.
      *
-     * @param contents Contents of file
+     * @param headerLines the lines above the header separator
      * @return true if header exists, false if not
      */
-    private boolean hasHeader(List<String> contents) {
-        boolean headerValid = true;
+    private boolean hasHeader(List<String> headerLines) {
         boolean statusFound = false;
         boolean typeFound = false;
 
-        if (!headerSeparatorDemarcatesHeader(contents)) {
-            return false;
-        }
-
-        for (String line : contents) {
-            if (hasHeaderSeparator(line)) {
-                LOGGER.debug("Header separator found");
-                break;
-            }
-            if (isTypeProperty(line)) {
+        for (String line : headerLines) {
+            String property = sanitize(line);
+            if (isTypeProperty(property)) {
                 LOGGER.debug("Type property found");
                 typeFound = true;
             }
 
-            if (isStatusProperty(line)) {
+            if (isStatusProperty(property)) {
                 LOGGER.debug("Status property found");
                 statusFound = true;
             }
-            if (!line.isEmpty() && !line.contains("=")) {
-                LOGGER.error("Property found without assignment [{}]", line);
-                headerValid = false;
-            }
         }
-        return headerValid && (statusFound || hasDefaultStatus()) && (typeFound || hasDefaultType());
+        return (statusFound || hasDefaultStatus()) && (typeFound || hasDefaultType());
     }
 
     private boolean hasDefaultType() {
@@ -211,41 +284,12 @@ public abstract class MarkupEngine implements ParserEngine {
         return !configuration.getDefaultStatus().isEmpty();
     }
 
-    /**
-     * Checks if header separator demarcates end of metadata header
-     *
-     * @param contents
-     * @return true if header separator resides at end of metadata header, false if not
-     */
-    private boolean headerSeparatorDemarcatesHeader(List<String> contents) {
-        List<String> subContents = null;
-        int index = contents.indexOf(configuration.getHeaderSeparator());
-        if (index != -1) {
-            // get every line above header separator
-            subContents = contents.subList(0, index);
-
-            for (String line : subContents) {
-                // header should only contain empty lines or lines with '=' in
-                if (!line.contains("=") && !line.isEmpty()) {
-                    return false;
-                }
-            }
-            return true;
-        } else {
-            return false;
-        }
-    }
-
-    private boolean hasHeaderSeparator(String line) {
-        return sanitize(line).equals(configuration.getHeaderSeparator());
+    private boolean isStatusProperty(String property) {
+        return property.startsWith("status=");
     }
 
-    private boolean isStatusProperty(String line) {
-        return sanitize(line).startsWith("status=");
-    }
-
-    private boolean isTypeProperty(String line) {
-        return sanitize(line).startsWith("type=");
+    private boolean isTypeProperty(String property) {
+        return property.startsWith("type=");
     }
 
     /**
@@ -255,11 +299,7 @@ public abstract class MarkupEngine implements ParserEngine {
      */
     private void processDefaultHeader(ParserContext context) {
         if (context.hasHeader()) {
-            for (String line : context.getFileLines()) {
-
-                if (hasHeaderSeparator(line)) {
-                    break;
-                }
+            for (String line : context.getHeaderLines()) {
                 processHeaderLine(line, context.getDocumentModel());
             }
         }
@@ -311,22 +351,20 @@ public abstract class MarkupEngine implements ParserEngine {
      * @param context the parser context
      */
     private void processDefaultBody(ParserContext context) {
-        StringBuilder body = new StringBuilder();
-        boolean inBody = false;
-        for (String line : context.getFileLines()) {
-            if (inBody) {
-                body.append(line).append("\n");
-            }
-            if (line.equals(configuration.getHeaderSeparator())) {
-                inBody = true;
-            }
+        if (context.getSourceBody().isEmpty()) {
+            context.setBody(context.getFileContent());
+        } else {
+            context.setBody(context.getSourceBody());
         }
+    }
 
-        if (body.length() == 0) {
-            for (String line : context.getFileLines()) {
-                body.append(line).append("\n");
-            }
+    private static final class SourceFile {
+        private final List<String> headerLines;
+        private final String body;
+
+        private SourceFile(List<String> headerLines, String body) {
+            this.headerLines = headerLines;
+            this.body = body;
         }
-        context.setBody(body.toString());
     }
 }
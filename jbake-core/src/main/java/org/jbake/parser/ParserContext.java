@@ -4,6 +4,9 @@ import org.jbake.app.Crawler;
 import org.jbake.app.configuration.JBakeConfiguration;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -11,7 +14,10 @@ import java.util.Map;
 
 public class ParserContext {
     private final File file;
-    private final List<String> fileLines;
+    private final List<String> headerLines;
+    private final String sourceBody;
+    private List<String> fileLines;
+    private Object parsedSource;
     private final JBakeConfiguration config;
     private final boolean hasHeader;
     private final Map<String,Object> documentModel;
@@ -23,6 +29,29 @@ public class ParserContext {
             boolean hasHeader) {
         this.file = file;
         this.fileLines = fileLines;
+        this.headerLines = null;
+        this.sourceBody = join(fileLines);
+        this.config = config;
+        this.hasHeader = hasHeader;
+        this.documentModel = new HashMap<>();
+    }
+
+    /**
+     * @param file        the source file
+     * @param headerLines the lines above the header separator, or null if the file has no header separator
+     * @param sourceBody  the text below the header separator, or the whole file if it has no header separator
+     * @param config      the configuration
+     * @param hasHeader   true if the header lines are a valid metadata header
+     */
+    public ParserContext(
+            File file,
+            List<String> headerLines,
+            String sourceBody,
+            JBakeConfiguration config,
+            boolean hasHeader) {
+        this.file = file;
+        this.headerLines = headerLines;
+        this.sourceBody = sourceBody;
         this.config = config;
         this.hasHeader = hasHeader;
         this.documentModel = new HashMap<>();
@@ -32,10 +61,45 @@ public class ParserContext {
         return file;
     }
 
+    /**
+     * @return the lines of the file
+     * @deprecated use {@link #getFileContent()}, the lines are split from it on first call
+     */
+    @Deprecated
     public List<String> getFileLines() {
+        if (fileLines == null) {
+            fileLines = new ArrayList<>(Arrays.asList(getFileContent().split("\n", -1)));
+            fileLines.remove(fileLines.size() - 1);
+        }
         return fileLines;
     }
 
+    /**
+     * @return the lines above the header separator, empty if the file has no header separator
+     */
+    public List<String> getHeaderLines() {
+        return headerLines != null ? headerLines : Collections.<String>emptyList();
+    }
+
+    /**
+     * @return the whole content of the file, with line endings normalized to <code>\n</code>
+     */
+    public String getFileContent() {
+        if (headerLines == null) {
+            return sourceBody;
+        }
+        List<String> lines = new ArrayList<>(headerLines);
+        lines.add(config.getHeaderSeparator());
+        return join(lines) + sourceBody;
+    }
+
+    /**
+     * @return the text below the header separator as read from the file, before any markup engine processed it
+     */
+    String getSourceBody() {
+        return sourceBody;
+    }
+
     public JBakeConfiguration getConfig() {
         return config;
     }
@@ -57,6 +121,18 @@ public class ParserContext {
         documentModel.put(Crawler.Attributes.BODY, str);
     }
 
+    /**
+     * @return the source file as parsed by a markup engine while processing its header, kept for processing the body,
+     * or null
+     */
+    public Object getParsedSource() {
+        return parsedSource;
+    }
+
+    public void setParsedSource(Object parsedSource) {
+        this.parsedSource = parsedSource;
+    }
+
     public Object getDate() {
         return getDocumentModel().get(Crawler.Attributes.DATE);
     }
@@ -94,4 +170,12 @@ public class ParserContext {
     public void setTags(String[] tags) {
         getDocumentModel().put(Crawler.Attributes.TAGS, tags);
     }
+
+    private static String join(List<String> lines) {
+        StringBuilder sb = new StringBuilder();
+        for (String line : lines) {
+            sb.append(line).append("\n");
+        }
+        return sb.toString();
+    }
 }
@@ -1,6 +1,7 @@
 package org.jbake.render;
 
 import org.apache.commons.configuration.CompositeConfiguration;
+import org.jbake.app.ContentChange;
 import org.jbake.app.ContentStore;
 import org.jbake.app.Renderer;
 import org.jbake.app.configuration.JBakeConfiguration;
@@ -10,7 +11,7 @@ import org.jbake.template.RenderingException;
 import java.io.File;
 
 
-public class ArchiveRenderer implements RenderingTool {
+public class ArchiveRenderer implements IncrementalRenderingTool {
 
     @Override
     public int render(Renderer renderer, ContentStore db, JBakeConfiguration config) throws RenderingException {
@@ -26,6 +27,14 @@ public class ArchiveRenderer implements RenderingTool {
         }
     }
 
+    /**
+     * Renders the archive again if the change affects published content.
+     */
+    @Override
+    public int render(Renderer renderer, ContentStore db, JBakeConfiguration config, ContentChange change) throws RenderingException {
+        return change.isPublished() ? render(renderer, db, config) : 0;
+    }
+
     @Override
     public int render(Renderer renderer, ContentStore db, File destination, File templatesPath, CompositeConfiguration config) throws RenderingException {
 
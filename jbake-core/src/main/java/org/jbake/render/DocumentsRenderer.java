@@ -1,66 +1,128 @@
 package org.jbake.render;
 
 import org.apache.commons.configuration.CompositeConfiguration;
+import org.jbake.app.ContentChange;
 import org.jbake.app.ContentStore;
 import org.jbake.app.Crawler.Attributes;
 import org.jbake.app.DocumentList;
+import org.jbake.app.DocumentProjection;
 import org.jbake.app.Renderer;
+import org.jbake.model.DocumentAttributes;
 import org.jbake.app.configuration.JBakeConfiguration;
 import org.jbake.model.DocumentTypes;
 import org.jbake.template.RenderingException;
+import org.jbake.util.ConcurrencyUtil;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
-public class DocumentsRenderer implements RenderingTool {
+public class DocumentsRenderer implements IncrementalRenderingTool {
 
     @Override
     public int render(Renderer renderer, ContentStore db, JBakeConfiguration config) throws RenderingException {
         int renderedCount = 0;
         final List<String> errors = new LinkedList<>();
-        for (String docType : DocumentTypes.getDocumentTypes()) {
-            DocumentList documentList = db.getUnrenderedContent(docType);
-
-            if (documentList == null) {
-                continue;
-            }
-
-            int index = 0;
-
-            Map<String, Object> nextDocument = null;
+        int threads = config != null ? config.getRenderThreads() : 1;
+        // one pool serves every document type, it is only started once a type has several documents to render
+        ExecutorService executor = null;
+        try {
+            for (String docType : DocumentTypes.getDocumentTypes()) {
+                DocumentList documentList = db.getUnrenderedContent(docType);
+
+                if (documentList == null) {
+                    continue;
+                }
 
-            while (index < documentList.size()) {
-                try {
-                    Map<String, Object> document = documentList.get(index);
-                    document.put("nextContent", null);
-                    document.put("previousContent", null);
+                addNavigation(documentList);
 
-                    if (index > 0) {
-                        document.put("nextContent", getContentForNav(nextDocument));
+                if (threads > 1 && documentList.size() > 1) {
+                    if (executor == null) {
+                        executor = ConcurrencyUtil.newFixedThreadPool("jbake-renderer", threads);
                     }
+                    renderedCount += renderInParallel(renderer, documentList, executor, threads, errors);
+                } else {
+                    renderedCount += renderDocuments(renderer, documentList, errors);
+                }
 
-                    if (index < documentList.size() - 1) {
-                        Map<String, Object> tempNext = documentList.get(index + 1);
-                        document.put("previousContent", getContentForNav(tempNext));
-                    }
+                db.markContentAsRendered(docType);
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+        checkErrors(errors);
+        return renderedCount;
+    }
 
-                    nextDocument = document;
+    /**
+     * Renders the changed document. If it has been added, removed, or if its summary changed, its neighbours before
+     * and after the change are rendered too, so that their navigation stays up to date. Documents left unrendered by
+     * a cancelled bake are rendered as well, as all documents of the type are marked as rendered afterwards.
+     * <p>
+     * The documents are listed without their body, only the bodies of the documents rendered are loaded.
+     */
+    @Override
+    public int render(Renderer renderer, ContentStore db, JBakeConfiguration config, ContentChange change) throws RenderingException {
+        int renderedCount = 0;
+        final List<String> errors = new LinkedList<>();
+        Set<String> uris = new HashSet<>();
+        if (change.getCurrent() != null) {
+            uris.add(change.getUri());
+        }
+        if (change.changesSummary()) {
+            uris.addAll(change.getPreviousNeighbours());
+        }
+        for (String docType : change.getDocumentTypes()) {
+            DocumentList summaries = db.getAllContent(docType, false, DocumentProjection.SUMMARY);
+            if (change.changesSummary()) {
+                uris.addAll(ContentChange.getNeighbours(summaries, change.getUri()));
+            }
 
-                    renderer.render(document);
-                    renderedCount++;
+            addNavigation(summaries);
 
-                } catch (Exception e) {
-                    errors.add(e.getMessage());
+            List<Map<String, Object>> documents = new ArrayList<>();
+            for (Map<String, Object> summary : summaries) {
+                String uri = (String) summary.get(String.valueOf(DocumentAttributes.SOURCE_URI));
+                if (uris.contains(uri) || !Boolean.TRUE.equals(summary.get(String.valueOf(DocumentAttributes.RENDERED)))) {
+                    Map<String, Object> document = loadDocument(db, docType, uri, summary);
+                    if (document != null) {
+                        documents.add(document);
+                    }
                 }
-
-                index++;
             }
+            renderedCount += renderDocuments(renderer, documents, errors);
 
             db.markContentAsRendered(docType);
         }
+        checkErrors(errors);
+        return renderedCount;
+    }
+
+    /**
+     * @return the whole document listed by the given summary, with the navigation of the summary
+     */
+    private Map<String, Object> loadDocument(ContentStore db, String docType, String uri, Map<String, Object> summary) {
+        DocumentList documents = db.getDocumentByUri(docType, uri);
+        if (documents.isEmpty()) {
+            return null;
+        }
+        Map<String, Object> document = documents.get(0);
+        document.put("nextContent", summary.get("nextContent"));
+        document.put("previousContent", summary.get("previousContent"));
+        return document;
+    }
+
+    private void checkErrors(List<String> errors) throws RenderingException {
         if (!errors.isEmpty()) {
             StringBuilder sb = new StringBuilder();
             sb.append("Failed to render documents. Cause(s):");
@@ -68,11 +130,82 @@ public class DocumentsRenderer implements RenderingTool {
                 sb.append("\n").append(error);
             }
             throw new RenderingException(sb.toString());
-        } else {
-            return renderedCount;
         }
     }
 
+    /**
+     * Adds the previous/next navigation to every document of the list, so that documents can be rendered
+     * independently of each other.
+     *
+     * @param documentList documents of one type, ordered by date descending
+     */
+    private void addNavigation(DocumentList documentList) {
+        int index = 0;
+
+        Map<String, Object> nextDocument = null;
+
+        for (Map<String, Object> document : documentList) {
+            document.put("nextContent", null);
+            document.put("previousContent", null);
+
+            if (index > 0) {
+                document.put("nextContent", getContentForNav(nextDocument));
+            }
+
+            if (index < documentList.size() - 1) {
+                Map<String, Object> tempNext = documentList.get(index + 1);
+                document.put("previousContent", getContentForNav(tempNext));
+            }
+
+            nextDocument = document;
+            index++;
+        }
+    }
+
+    private int renderDocuments(Renderer renderer, List<Map<String, Object>> documents, List<String> errors) {
+        int renderedCount = 0;
+        for (Map<String, Object> document : documents) {
+            try {
+                renderer.render(document);
+                renderedCount++;
+
+            } catch (Exception e) {
+                errors.add(e.getMessage());
+            }
+        }
+        return renderedCount;
+    }
+
+    /**
+     * Splits the documents into one shard per thread and renders the shards concurrently on the given pool. Errors
+     * are collected in the order of the document list, the same way {@link #renderDocuments(Renderer, List, List)}
+     * does.
+     */
+    private int renderInParallel(final Renderer renderer, DocumentList documentList, ExecutorService executor,
+                                 int threads, List<String> errors) {
+        int shardSize = (documentList.size() + threads - 1) / threads;
+        List<Future<ShardResult>> shards = new ArrayList<>();
+        for (int start = 0; start < documentList.size(); start += shardSize) {
+            final List<Map<String, Object>> shard = new ArrayList<>(documentList.subList(start, Math.min(start + shardSize, documentList.size())));
+            shards.add(executor.submit(new Callable<ShardResult>() {
+                @Override
+                public ShardResult call() {
+                    ShardResult result = new ShardResult();
+                    result.renderedCount = renderDocuments(renderer, shard, result.errors);
+                    return result;
+                }
+            }));
+        }
+
+        int renderedCount = 0;
+        for (Future<ShardResult> shard : shards) {
+            ShardResult result = ConcurrencyUtil.await(shard);
+            renderedCount += result.renderedCount;
+            errors.addAll(result.errors);
+        }
+        return renderedCount;
+    }
+
     /**
      * Creates a simple content model to use in individual post navigations.
      *
@@ -87,6 +220,11 @@ public class DocumentsRenderer implements RenderingTool {
         return navDocument;
     }
 
+    private static class ShardResult {
+        private final List<String> errors = new LinkedList<>();
+        private int renderedCount;
+    }
+
     @Override
     public int render(Renderer renderer, ContentStore db, File destination, File templatesPath, CompositeConfiguration config) throws RenderingException {
         return render(renderer, db, null);
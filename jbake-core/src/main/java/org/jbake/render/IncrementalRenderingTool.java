@@ -0,0 +1,27 @@
+package org.jbake.render;
+
+import org.jbake.app.ContentChange;
+import org.jbake.app.ContentStore;
+import org.jbake.app.Renderer;
+import org.jbake.app.configuration.JBakeConfiguration;
+import org.jbake.template.RenderingException;
+
+/**
+ * A {@link RenderingTool} able to only render the outputs depending on a single content change.
+ * <p>
+ * When a single content file changes, tools implementing this interface are asked to render what the change affects,
+ * the other tools render everything again.
+ */
+public interface IncrementalRenderingTool extends RenderingTool {
+
+    /**
+     * @param renderer the renderer
+     * @param db       the store, already holding the changed document
+     * @param config   the project configuration
+     * @param change   the change of the document
+     * @return number of rendered files
+     * @throws RenderingException if rendering failed
+     */
+    int render(Renderer renderer, ContentStore db, JBakeConfiguration config, ContentChange change) throws RenderingException;
+
+}
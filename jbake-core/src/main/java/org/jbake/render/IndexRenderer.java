@@ -1,6 +1,7 @@
 package org.jbake.render;
 
 import org.apache.commons.configuration.CompositeConfiguration;
+import org.jbake.app.ContentChange;
 import org.jbake.app.ContentStore;
 import org.jbake.app.Renderer;
 import org.jbake.app.configuration.JBakeConfiguration;
@@ -9,7 +10,7 @@ import org.jbake.template.RenderingException;
 
 import java.io.File;
 
-public class IndexRenderer implements RenderingTool {
+public class IndexRenderer implements IncrementalRenderingTool {
 
     @Override
     public int render(Renderer renderer, ContentStore db, JBakeConfiguration config) throws RenderingException {
@@ -32,6 +33,14 @@ public class IndexRenderer implements RenderingTool {
         }
     }
 
+    /**
+     * Renders the index again if the change affects published content.
+     */
+    @Override
+    public int render(Renderer renderer, ContentStore db, JBakeConfiguration config, ContentChange change) throws RenderingException {
+        return change.isPublished() ? render(renderer, db, config) : 0;
+    }
+
     @Override
     public int render(Renderer renderer, ContentStore db, File destination, File templatesPath, CompositeConfiguration config) throws RenderingException {
         JBakeConfiguration configuration = new JBakeConfigurationFactory().createDefaultJbakeConfiguration(templatesPath.getParentFile(), config);
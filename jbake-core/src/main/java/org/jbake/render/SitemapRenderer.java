@@ -1,6 +1,7 @@
 package org.jbake.render;
 
 import org.apache.commons.configuration.CompositeConfiguration;
+import org.jbake.app.ContentChange;
 import org.jbake.app.ContentStore;
 import org.jbake.app.Renderer;
 import org.jbake.app.configuration.JBakeConfiguration;
@@ -10,7 +11,7 @@ import org.jbake.template.RenderingException;
 import java.io.File;
 
 
-public class SitemapRenderer implements RenderingTool {
+public class SitemapRenderer implements IncrementalRenderingTool {
 
     @Override
     public int render(Renderer renderer, ContentStore db, JBakeConfiguration config) throws RenderingException {
@@ -27,6 +28,14 @@ public class SitemapRenderer implements RenderingTool {
         }
     }
 
+    /**
+     * Renders the sitemap again if published content has been added or removed, or if its uri, title, date or status changed.
+     */
+    @Override
+    public int render(Renderer renderer, ContentStore db, JBakeConfiguration config, ContentChange change) throws RenderingException {
+        return change.isPublished() && change.changesSummary() ? render(renderer, db, config) : 0;
+    }
+
     @Override
     public int render(Renderer renderer, ContentStore db, File destination, File templatesPath, CompositeConfiguration config) throws RenderingException {
         JBakeConfiguration configuration = new JBakeConfigurationFactory().createDefaultJbakeConfiguration(templatesPath.getParentFile(), config);
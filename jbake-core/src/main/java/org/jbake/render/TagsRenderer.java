@@ -1,6 +1,7 @@
 package org.jbake.render;
 
 import org.apache.commons.configuration.CompositeConfiguration;
+import org.jbake.app.ContentChange;
 import org.jbake.app.ContentStore;
 import org.jbake.app.Renderer;
 import org.jbake.app.configuration.JBakeConfiguration;
@@ -8,9 +9,10 @@ import org.jbake.app.configuration.JBakeConfigurationFactory;
 import org.jbake.template.RenderingException;
 
 import java.io.File;
+import java.util.Set;
 
 
-public class TagsRenderer implements RenderingTool {
+public class TagsRenderer implements IncrementalRenderingTool {
 
     @Override
     public int render(Renderer renderer, ContentStore db, JBakeConfiguration config) throws RenderingException {
@@ -26,6 +28,25 @@ public class TagsRenderer implements RenderingTool {
         }
     }
 
+    /**
+     * Renders the pages of the tags the document gained, kept or lost, if it is published before or after the change.
+     * Tags no document carries anymore are not rendered.
+     */
+    @Override
+    public int render(Renderer renderer, ContentStore db, JBakeConfiguration config, ContentChange change) throws RenderingException {
+        Set<String> tags = change.getTags();
+        if (config.getRenderTags() && change.isPublished() && !tags.isEmpty()) {
+            try {
+                tags.retainAll(db.getAllTags());
+                return renderer.renderTags(config.getTagPathName(), tags);
+            } catch (Exception e) {
+                throw new RenderingException(e);
+            }
+        } else {
+            return 0;
+        }
+    }
+
     @Override
     public int render(Renderer renderer, ContentStore db, File destination, File templatesPath, CompositeConfiguration config) throws RenderingException {
         JBakeConfiguration configuration = new JBakeConfigurationFactory().createDefaultJbakeConfiguration(templatesPath.getParentFile(), config);
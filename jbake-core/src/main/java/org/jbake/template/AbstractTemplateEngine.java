@@ -44,4 +44,14 @@ public abstract class AbstractTemplateEngine {
     }
 
     public abstract void renderDocument(Map<String,Object> model, String templateName, Writer writer) throws RenderingException;
+
+    /**
+     * Tells if a single instance of this engine can render documents from several threads at once. When documents
+     * are rendered in parallel, each instance of an engine which is not thread safe renders one document at a time.
+     *
+     * @return true if {@link #renderDocument(Map, String, Writer)} may be called concurrently
+     */
+    public boolean isThreadSafe() {
+        return true;
+    }
 }
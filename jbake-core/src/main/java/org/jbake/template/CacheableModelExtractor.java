@@ -0,0 +1,25 @@
+package org.jbake.template;
+
+import org.jbake.app.ContentStore;
+
+import java.util.Map;
+
+
+/**
+ * A {@link ModelExtractor} whose value only depends on the documents of the {@link ContentStore} and on a few inputs.
+ * {@link ModelExtractors} reuses its values until the store is written to.
+ *
+ * @param <T> the type of data returned by this model extractor
+ */
+public interface CacheableModelExtractor<T> extends ModelExtractor<T> {
+
+    /**
+     * @param db    the content store
+     * @param model the model of the rendered template
+     * @param key   the key the extractor is registered with
+     * @return the inputs the value depends on besides the documents, compared with {@link Object#equals(Object)}:
+     * null if the value only depends on the documents
+     */
+    Object getCacheKey(ContentStore db, Map model, String key);
+
+}
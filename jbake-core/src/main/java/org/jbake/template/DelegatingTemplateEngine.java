@@ -1,6 +1,7 @@
 package org.jbake.template;
 
 import org.apache.commons.configuration.CompositeConfiguration;
+import org.jbake.app.BakeMetrics;
 import org.jbake.app.ContentStore;
 import org.jbake.app.FileUtil;
 import org.jbake.app.configuration.JBakeConfiguration;
@@ -10,9 +11,12 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.Writer;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A template which is responsible for delegating to a supported template engine,
@@ -23,7 +27,10 @@ import java.util.Map;
 public class DelegatingTemplateEngine extends AbstractTemplateEngine {
     private static final Logger LOGGER = LoggerFactory.getLogger(DelegatingTemplateEngine.class);
 
-    private final TemplateEngines renderers;
+    private volatile TemplateEngines renderers;
+    private BakeMetrics metrics = new BakeMetrics();
+    private volatile Map<String, Object> configModel;
+    private final ConcurrentMap<String, String> resolvedTemplates = new ConcurrentHashMap<>();
 
     /**
      * @deprecated Use {@link #DelegatingTemplateEngine(ContentStore, JBakeConfiguration)} instead.
@@ -44,26 +51,93 @@ public class DelegatingTemplateEngine extends AbstractTemplateEngine {
         this.renderers = new TemplateEngines(config, db);
     }
 
+    /**
+     * Replaces the template engines, and with them all the templates they have parsed and cached, so that changed
+     * templates are loaded again.
+     */
+    public void reloadTemplates() {
+        this.renderers = new TemplateEngines(config, db);
+        resolvedTemplates.clear();
+    }
+
+    /**
+     * Drops the config model and the template files resolved so far, so that they are built again from the current
+     * configuration by the next renderings.
+     */
+    public void reloadConfiguration() {
+        configModel = null;
+        resolvedTemplates.clear();
+    }
+
+    /**
+     * @param metrics the metrics to record the rendering time of every template engine in
+     */
+    public void setMetrics(BakeMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     @Override
     public void renderDocument(final Map<String, Object> model, String templateName, final Writer writer) throws RenderingException {
         model.put("version", config.getVersion());
 
-        // TODO: create config model from configuration
-        Map<String, Object> configModel = new HashMap<>();
-        Iterator<String> configKeys = config.getKeys();
-        while (configKeys.hasNext()) {
-            String key = configKeys.next();
-            Object valueObject;
+        model.put("config", getConfigModel());
+        templateName = resolveTemplate(templateName);
+        String ext = FileUtil.fileExt(templateName);
+        TemplateEngines engines = renderers;
+        AbstractTemplateEngine engine = engines.acquireEngine(ext);
+        if (engine != null) {
+            long start = System.nanoTime();
+            try {
+                engine.renderDocument(model, templateName, writer);
+            } finally {
+                metrics.recordTemplate(engine.getClass().getSimpleName(), System.nanoTime() - start);
+                engines.releaseEngine(engine);
+            }
+        } else {
+            LOGGER.error("Warning - No template engine found for template: {}", templateName);
+        }
+    }
+
+    /**
+     * The config model is shared by all renderings until {@link #reloadConfiguration()} is called, so it can't be
+     * modified.
+     */
+    private Map<String, Object> getConfigModel() {
+        Map<String, Object> model = configModel;
+        if (model == null) {
+            model = new HashMap<>();
+            Iterator<String> configKeys = config.getKeys();
+            while (configKeys.hasNext()) {
+                String key = configKeys.next();
+                Object valueObject;
 
-            if ( key.equals(JBakeProperty.PAGINATE_INDEX) ){
-                valueObject = config.getPaginateIndex();
-            } else {
-                valueObject = config.get(key);
+                if ( key.equals(JBakeProperty.PAGINATE_INDEX) ){
+                    valueObject = config.getPaginateIndex();
+                } else {
+                    valueObject = config.get(key);
+                }
+                //replace "." in key so you can use dot notation in templates
+                model.put(key.replace(".", "_"), valueObject);
             }
-            //replace "." in key so you can use dot notation in templates
-            configModel.put(key.replace(".", "_"), valueObject);
+            model = Collections.unmodifiableMap(model);
+            configModel = model;
+        }
+        return model;
+    }
+
+    /**
+     * @return the name of the template file rendering the given template, which is looked up once
+     */
+    private String resolveTemplate(String templateName) {
+        String resolved = resolvedTemplates.get(templateName);
+        if (resolved == null) {
+            resolved = findTemplate(templateName);
+            resolvedTemplates.putIfAbsent(templateName, resolved);
         }
-        model.put("config", configModel);
+        return resolved;
+    }
+
+    private String findTemplate(String templateName) {
         // if default template exists we will use it
         File templateFolder = config.getTemplateFolder();
         File templateFile = new File(templateFolder, templateName);
@@ -75,17 +149,10 @@ public class DelegatingTemplateEngine extends AbstractTemplateEngine {
                 templateFile = new File(templateFolder, templateNameWithoutExt + "." + extension);
                 if (templateFile.exists()) {
                     LOGGER.info("Found alternative template file: {} using this instead", templateFile.getName());
-                    templateName = templateFile.getName();
-                    break;
+                    return templateFile.getName();
                 }
             }
         }
-        String ext = FileUtil.fileExt(templateName);
-        AbstractTemplateEngine engine = renderers.getEngine(ext);
-        if (engine != null) {
-            engine.renderDocument(model, templateName, writer);
-        } else {
-            LOGGER.error("Warning - No template engine found for template: {}", templateName);
-        }
+        return templateName;
     }
 }
@@ -4,6 +4,8 @@ package org.jbake.template;
 import freemarker.ext.beans.BeansWrapper;
 import freemarker.ext.beans.BeansWrapperBuilder;
 import freemarker.template.Configuration;
+import freemarker.template.DefaultMapAdapter;
+import freemarker.template.DefaultObjectWrapper;
 import freemarker.template.ObjectWrapper;
 import freemarker.template.SimpleCollection;
 import freemarker.template.SimpleDate;
@@ -15,10 +17,13 @@ import freemarker.template.TemplateException;
 import freemarker.template.TemplateHashModel;
 import freemarker.template.TemplateModel;
 import freemarker.template.TemplateModelException;
+import freemarker.template.Version;
 import org.apache.commons.configuration.CompositeConfiguration;
 import org.jbake.app.ContentStore;
 import org.jbake.app.Crawler;
+import org.jbake.app.SummaryDocument;
 import org.jbake.app.configuration.JBakeConfiguration;
+import org.jbake.template.model.TagsExtractor;
 
 import java.io.File;
 import java.io.IOException;
@@ -49,6 +54,7 @@ public class FreemarkerTemplateEngine extends AbstractTemplateEngine {
 
     private void createTemplateConfiguration() {
         templateCfg = new Configuration(Configuration.DEFAULT_INCOMPATIBLE_IMPROVEMENTS);
+        templateCfg.setObjectWrapper(new SummaryAdaptingObjectWrapper(Configuration.DEFAULT_INCOMPATIBLE_IMPROVEMENTS));
         templateCfg.setDefaultEncoding(config.getRenderEncoding());
         try {
             templateCfg.setDirectoryForTemplateLoading(config.getTemplateFolder());
@@ -69,6 +75,26 @@ public class FreemarkerTemplateEngine extends AbstractTemplateEngine {
         }
     }
 
+    /**
+     * The default object wrapper copies maps, which would load the body of every {@link SummaryDocument} as soon as
+     * a template reads any of its fields, and gather the documents of every {@link TagsExtractor.Tag} of a tag list.
+     * Summaries and tags are adapted instead, so that their fields are only loaded when they are read.
+     */
+    private static class SummaryAdaptingObjectWrapper extends DefaultObjectWrapper {
+
+        SummaryAdaptingObjectWrapper(Version incompatibleImprovements) {
+            super(incompatibleImprovements);
+        }
+
+        @Override
+        public TemplateModel wrap(Object obj) throws TemplateModelException {
+            if (obj instanceof SummaryDocument || obj instanceof TagsExtractor.Tag) {
+                return DefaultMapAdapter.adapt((Map<?, ?>) obj, this);
+            }
+            return super.wrap(obj);
+        }
+    }
+
     /**
      * A custom Freemarker model that avoids loading the whole documents into memory if not necessary.
      */
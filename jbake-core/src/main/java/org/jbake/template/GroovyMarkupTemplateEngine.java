@@ -70,6 +70,11 @@ public class GroovyMarkupTemplateEngine extends AbstractTemplateEngine {
         }
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return false;
+    }
+
     private Map<String, Object> wrap(final Map<String, Object> model) {
         return new HashMap<String, Object>(model) {
             @Override
@@ -62,6 +62,11 @@ public class GroovyTemplateEngine extends AbstractTemplateEngine {
         }
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return false;
+    }
+
     private Template findTemplate(final String templateName) throws SAXException, ParserConfigurationException, ClassNotFoundException, IOException {
         TemplateEngine ste = templateName.endsWith(".gxml") ? new XmlTemplateEngine() : new SimpleTemplateEngine();
         File sourceTemplate = new File(config.getTemplateFolder(), templateName);
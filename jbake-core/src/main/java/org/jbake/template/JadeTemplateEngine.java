@@ -66,6 +66,11 @@ public class JadeTemplateEngine extends AbstractTemplateEngine {
         }
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return false;
+    }
+
     public void renderTemplate(JadeTemplate template, Map<String, Object> model, Writer writer) throws JadeCompilerException {
         JadeModel jadeModel = wrap(jadeConfiguration.getSharedVariables());
         jadeModel.putAll(model);
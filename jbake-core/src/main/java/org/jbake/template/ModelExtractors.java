@@ -9,11 +9,15 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
 /**
@@ -30,6 +34,8 @@ import java.util.TreeMap;
  * JBake to support multiple rendering engines without the explicit need to have them on classpath. This is a better fit
  * for embedding.
  * </p>
+ * <p>The values of {@link CacheableModelExtractor}s are reused by all renderings until the {@link ContentStore} is
+ * written to, the extractors are reset or another store is used.</p>
  *
  * @author ndx
  * @author Cédric Champeau
@@ -40,6 +46,7 @@ public class ModelExtractors {
     private final static Logger LOGGER = LoggerFactory.getLogger(ModelExtractors.class);
 
     private final Map<String, ModelExtractor> extractors;
+    private volatile ValueCache cache;
 
     private static class Loader {
         private static final ModelExtractors INSTANCE = new ModelExtractors();
@@ -55,11 +62,13 @@ public class ModelExtractors {
     }
 
     public void reset() {
+        cache = null;
         extractors.clear();
         loadEngines();
     }
 
     public void registerEngine(String key, ModelExtractor extractor) {
+        cache = null;
         ModelExtractor old = extractors.put(key, extractor);
         if (old != null) {
             LOGGER.warn("Registered a model extractor for key [.{}] but another one was already defined: {}", key, old);
@@ -123,13 +132,58 @@ public class ModelExtractors {
 
     public <Type> Type extractAndTransform(ContentStore db, String key, Map map, TemplateEngineAdapter<Type> adapter) throws NoModelExtractorException {
         if (extractors.containsKey(key)) {
-            Object extractedValue = extractors.get(key).get(db, map, key);
+            Object extractedValue = extract(extractors.get(key), db, key, map);
             return adapter.adapt(key, extractedValue);
         } else {
             throw new NoModelExtractorException("no model extractor for key \"" + key + "\"");
         }
     }
 
+    private Object extract(ModelExtractor extractor, ContentStore db, String key, Map map) {
+        if (!(extractor instanceof CacheableModelExtractor)) {
+            return extractor.get(db, map, key);
+        }
+        List<Object> cacheKey = Arrays.asList(key, ((CacheableModelExtractor) extractor).getCacheKey(db, map, key));
+        ValueCache values = getCache(db);
+        Object value = values.values.get(cacheKey);
+        if (value == null) {
+            value = extractor.get(db, map, key);
+            if (value != null) {
+                values.values.putIfAbsent(cacheKey, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Records the value the extractor registered with the given key returns for a cache key, as computed by a stage
+     * preparing many renderings at once. The value is then reused like an extracted one, until the store is written
+     * to. Nothing is recorded if the extractor isn't a {@link CacheableModelExtractor}.
+     *
+     * @param db       the content store the value is computed from
+     * @param key      the key the extractor is registered with
+     * @param cacheKey the cache key returned by {@link CacheableModelExtractor#getCacheKey(ContentStore, Map, String)}
+     * @param value    the value of the extractor
+     */
+    public void putExtractedValue(ContentStore db, String key, Object cacheKey, Object value) {
+        if (value != null && extractors.get(key) instanceof CacheableModelExtractor) {
+            getCache(db).values.put(Arrays.asList(key, cacheKey), value);
+        }
+    }
+
+    /**
+     * @return the values extracted since the last write to the store
+     */
+    private ValueCache getCache(ContentStore db) {
+        long modificationCount = db.getModificationCount();
+        ValueCache values = cache;
+        if (values == null || values.db != db || values.modificationCount != modificationCount) {
+            values = new ValueCache(db, modificationCount);
+            cache = values;
+        }
+        return values;
+    }
+
     /**
      * @see java.util.Map#containsKey(java.lang.Object)
      * @param key A key a {@link ModelExtractor} is registered with
@@ -156,4 +210,15 @@ public class ModelExtractors {
         }
     }
 
-}
\ No newline at end of file
+    private static final class ValueCache {
+        private final ContentStore db;
+        private final long modificationCount;
+        private final ConcurrentMap<List<Object>, Object> values = new ConcurrentHashMap<>();
+
+        ValueCache(ContentStore db, long modificationCount) {
+            this.db = db;
+            this.modificationCount = modificationCount;
+        }
+    }
+
+}
@@ -0,0 +1,242 @@
+package org.jbake.template;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.jbake.app.ContentStore;
+import org.jbake.app.FileUtil;
+import org.jbake.app.configuration.JBakeConfiguration;
+import org.jbake.model.DocumentTypes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Tracks which template files the documents of every type are rendered with, so that a template change only
+ * re-renders the documents depending on it.
+ * <p>
+ * The dependencies of a template are found by looking for the paths of the other template files in its source, with
+ * or without their extension. This covers the include, import, extends and layout directives of all supported
+ * template engines and errs on the side of extra dependencies. The templates of the index, archive, feed, sitemap and
+ * tag pages, and the templates they depend on, are known too: these pages are rendered from all documents on every
+ * bake, so changing them invalidates no document type. Any other changed template that no document type depends on
+ * may still be loaded dynamically, so it re-renders the documents of every type.
+ * <p>
+ * Documents are only marked as not rendered, they are never parsed again because of a template change.
+ */
+public class TemplateDependencies {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TemplateDependencies.class);
+
+    static final String FILE_KEY_PREFIX = "file:";
+    static final String TYPE_KEY_PREFIX = "type:";
+
+    /**
+     * Names of the templates of the pages rendered from all documents, as configured by the
+     * <code>template.&lt;name&gt;.file</code> properties.
+     */
+    private static final String[] AGGREGATE_TEMPLATES = {"masterindex", "archive", "feed", "sitemap", "tag", "tagsindex"};
+
+    private final JBakeConfiguration config;
+    private final Map<String, String> hashes = new TreeMap<>();
+    private final Map<String, Set<String>> dependencies = new HashMap<>();
+    private final Set<String> changedTemplates = new TreeSet<>();
+
+    public TemplateDependencies(JBakeConfiguration config) {
+        this.config = config;
+    }
+
+    /**
+     * Compares the current templates with the ones recorded by the previous bake, marks the documents rendered with
+     * changed templates as not rendered and records the current templates.
+     *
+     * @param db the store holding the documents and the recorded template signatures
+     * @return the document types whose documents have to be rendered again
+     */
+    public Set<String> invalidateChangedTemplates(ContentStore db) {
+        scan();
+
+        Map<String, String> previous = db.getTemplateSignatures();
+        Map<String, String> current = new HashMap<>();
+        for (Map.Entry<String, String> hash : hashes.entrySet()) {
+            current.put(FILE_KEY_PREFIX + hash.getKey(), hash.getValue());
+        }
+
+        Set<String> usedTemplates = new HashSet<>();
+        Map<String, String> typeSignatures = new HashMap<>();
+        for (String docType : DocumentTypes.getDocumentTypes()) {
+            Set<String> templates = getTemplates(docType);
+            usedTemplates.addAll(templates);
+            String signature = signature(templates);
+            typeSignatures.put(docType, signature);
+            current.put(TYPE_KEY_PREFIX + docType, signature);
+        }
+        for (String name : AGGREGATE_TEMPLATES) {
+            usedTemplates.addAll(getTemplates(name));
+        }
+
+        changedTemplates.clear();
+        for (String key : union(previous.keySet(), current.keySet())) {
+            if (key.startsWith(FILE_KEY_PREFIX) && !equal(previous.get(key), current.get(key))) {
+                changedTemplates.add(key.substring(FILE_KEY_PREFIX.length()));
+            }
+        }
+
+        boolean unknownDependency = !usedTemplates.containsAll(changedTemplates);
+        Set<String> invalidated = new TreeSet<>();
+        for (Map.Entry<String, String> typeSignature : typeSignatures.entrySet()) {
+            String docType = typeSignature.getKey();
+            if (unknownDependency || !typeSignature.getValue().equals(previous.get(TYPE_KEY_PREFIX + docType))) {
+                invalidated.add(docType);
+            }
+        }
+
+        if (!changedTemplates.isEmpty()) {
+            LOGGER.info("Templates changed: {}", changedTemplates);
+        }
+        for (String docType : invalidated) {
+            if (db.getDocumentCount(docType) > 0) {
+                LOGGER.info("Rendering all documents of type '{}' again", docType);
+                db.markContentAsUnrendered(docType);
+            }
+        }
+        if (!current.equals(previous)) {
+            db.updateTemplateSignatures(current);
+        }
+        return invalidated;
+    }
+
+    /**
+     * @return the paths, relative to the template folder, of the templates found changed, added or removed by
+     * {@link #invalidateChangedTemplates(ContentStore)}
+     */
+    public Set<String> getChangedTemplates() {
+        return changedTemplates;
+    }
+
+    /**
+     * @param docType a document type, or the name of another configured template such as "tag"
+     * @return the paths, relative to the template folder, of the template of the document type and of all templates
+     * it depends on
+     */
+    public Set<String> getTemplates(String docType) {
+        File template = config.getTemplateFileByDocType(docType);
+        Set<String> templates = new TreeSet<>();
+        if (template == null) {
+            return templates;
+        }
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(relativePath(template));
+        while (!pending.isEmpty()) {
+            String path = pending.pop();
+            if (templates.add(path)) {
+                Set<String> references = dependencies.get(path);
+                if (references != null) {
+                    pending.addAll(references);
+                }
+            }
+        }
+        return templates;
+    }
+
+    /**
+     * Hashes every file of the template folder and looks for the references between them.
+     */
+    void scan() {
+        hashes.clear();
+        dependencies.clear();
+        File templateFolder = config.getTemplateFolder();
+        Map<String, String> sources = new HashMap<>();
+        collect(templateFolder, sources);
+
+        Map<String, Pattern> patterns = new HashMap<>();
+        for (String path : hashes.keySet()) {
+            String withoutExtension = FilenameUtils.removeExtension(path);
+            patterns.put(path, Pattern.compile("(?<![\\w./-])(" + Pattern.quote(path) + "|" + Pattern.quote(withoutExtension) + ")(?![\\w/-])"));
+        }
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            Set<String> references = new HashSet<>();
+            for (Map.Entry<String, Pattern> pattern : patterns.entrySet()) {
+                if (!pattern.getKey().equals(source.getKey()) && pattern.getValue().matcher(source.getValue()).find()) {
+                    references.add(pattern.getKey());
+                }
+            }
+            dependencies.put(source.getKey(), references);
+        }
+    }
+
+    private void collect(File folder, Map<String, String> sources) {
+        File[] files = folder.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isHidden() || file.getName().startsWith(".")) {
+                continue;
+            }
+            if (file.isDirectory()) {
+                collect(file, sources);
+            } else {
+                String path = relativePath(file);
+                try {
+                    hashes.put(path, FileUtil.sha1(file));
+                    sources.put(path, FileUtils.readFileToString(file, config.getTemplateEncoding()));
+                } catch (Exception e) {
+                    LOGGER.warn("Unable to read template file '{}'", file, e);
+                    hashes.put(path, "");
+                    sources.put(path, "");
+                }
+            }
+        }
+    }
+
+    private String relativePath(File file) {
+        String folder = FileUtil.asPath(config.getTemplateFolder());
+        String path = FileUtil.asPath(file);
+        if (path.startsWith(folder)) {
+            path = path.substring(folder.length());
+        }
+        while (path.startsWith(FileUtil.URI_SEPARATOR_CHAR)) {
+            path = path.substring(1);
+        }
+        return path;
+    }
+
+    private String signature(Set<String> templates) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            for (String template : templates) {
+                String hash = hashes.get(template);
+                digest.update((template + '=' + (hash != null ? hash : "missing") + '\n').getBytes(StandardCharsets.UTF_8));
+            }
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+
+    private static Set<String> union(Set<String> first, Set<String> second) {
+        Set<String> result = new HashSet<>(first);
+        result.addAll(second);
+        return result;
+    }
+
+    private static boolean equal(String first, String second) {
+        return first == null ? second == null : first.equals(second);
+    }
+}
@@ -11,9 +11,14 @@ import java.net.URL;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 
 
 /**
@@ -41,6 +46,10 @@ public class TemplateEngines {
     private static final Logger LOGGER = LoggerFactory.getLogger(TemplateEngines.class);
 
     private final Map<String, AbstractTemplateEngine> engines;
+    private final JBakeConfiguration config;
+    private final ContentStore db;
+    /* idle instances of the engines which are not thread safe, by engine class */
+    private final ConcurrentMap<Class<?>, Queue<AbstractTemplateEngine>> idleEngines = new ConcurrentHashMap<>();
 
     public Set<String> getRecognizedExtensions() {
         return Collections.unmodifiableSet(engines.keySet());
@@ -48,6 +57,8 @@ public class TemplateEngines {
 
     public TemplateEngines(final JBakeConfiguration config, final ContentStore db) {
         engines = new HashMap<>();
+        this.config = config;
+        this.db = db;
         loadEngines(config, db);
     }
 
@@ -58,10 +69,74 @@ public class TemplateEngines {
         }
     }
 
+    /**
+     * Get the engine registered for a file extension. Engines which are not thread safe must not be used by several
+     * threads at once, use {@link #acquireEngine(String)} to render documents concurrently.
+     *
+     * @param fileExtension the template file extension
+     * @return the engine or null if no engine is registered for the extension
+     */
     public AbstractTemplateEngine getEngine(String fileExtension) {
         return engines.get(fileExtension);
     }
 
+    /**
+     * Takes an engine for a file extension, to be given back with {@link #releaseEngine(AbstractTemplateEngine)} once
+     * the document has been rendered. Thread safe engines are shared, engines which are not thread safe are taken from
+     * a pool of idle instances, which grows as needed and lives as long as these engines, so that the templates each
+     * instance has compiled are kept across renderings.
+     *
+     * @param fileExtension the template file extension
+     * @return the engine or null if no engine is registered for the extension
+     * @throws RenderingException if another instance of an engine which is not thread safe can't be created
+     */
+    public AbstractTemplateEngine acquireEngine(String fileExtension) throws RenderingException {
+        AbstractTemplateEngine engine = engines.get(fileExtension);
+        if (engine == null || engine.isThreadSafe()) {
+            return engine;
+        }
+        AbstractTemplateEngine instance = idleInstances(engine).poll();
+        if (instance == null) {
+            LOGGER.debug("Creating another {}", engine.getClass().getSimpleName());
+            instance = tryLoadEngine(config, db, engine.getClass().getName());
+            if (instance == null) {
+                throw new RenderingException("Unable to create another instance of " + engine.getClass().getName());
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Gives back an engine taken with {@link #acquireEngine(String)}.
+     *
+     * @param engine the engine
+     */
+    public void releaseEngine(AbstractTemplateEngine engine) {
+        if (engine != null && !engine.isThreadSafe()) {
+            idleInstances(engine).offer(engine);
+        }
+    }
+
+    /**
+     * @return the idle instances of the class of the given engine, starting with the registered instance
+     */
+    private Queue<AbstractTemplateEngine> idleInstances(AbstractTemplateEngine engine) {
+        Queue<AbstractTemplateEngine> idle = idleEngines.get(engine.getClass());
+        if (idle == null) {
+            Queue<AbstractTemplateEngine> created = new ConcurrentLinkedQueue<>();
+            idle = idleEngines.putIfAbsent(engine.getClass(), created);
+            if (idle == null) {
+                idle = created;
+                for (AbstractTemplateEngine registered : new HashSet<>(engines.values())) {
+                    if (registered.getClass() == engine.getClass()) {
+                        idle.offer(registered);
+                    }
+                }
+            }
+        }
+        return idle;
+    }
+
     /**
      * This method is used to search for a specific class, telling if loading the engine would succeed. This is
      * typically used to avoid loading optional modules.
@@ -24,6 +24,9 @@ import java.util.concurrent.locks.ReentrantLock;
  * <p>This template engine is not recommended for large sites because the whole model
  * is loaded into memory due to Thymeleaf internal limitations.</p>
  *
+ * <p>An instance shares a single {@link Context} between renderings, so it is not thread safe.
+ * Parallel rendering uses one instance per thread.</p>
+ *
  * <p>The default rendering mode is "HTML", but it is possible to use another mode
  * for each document type, by adding a key in the configuration, for example:</p>
  *
@@ -107,6 +110,11 @@ public class ThymeleafTemplateEngine extends AbstractTemplateEngine {
         }
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return false;
+    }
+
     private void initializeContext(Locale locale, Map<String, Object> model) {
         context.clearVariables();
         context.setLocale(locale);
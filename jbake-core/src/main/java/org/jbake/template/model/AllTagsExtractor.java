@@ -1,16 +1,21 @@
 package org.jbake.template.model;
 
 import org.jbake.app.ContentStore;
-import org.jbake.template.ModelExtractor;
+import org.jbake.template.CacheableModelExtractor;
 
 import java.util.Map;
 import java.util.Set;
 
-public class AllTagsExtractor implements ModelExtractor<Set<String>> {
+public class AllTagsExtractor implements CacheableModelExtractor<Set<String>> {
 
     @Override
     public Set<String> get(ContentStore db, Map model, String key) {
         return db.getAllTags();
     }
 
-}
\ No newline at end of file
+    @Override
+    public Object getCacheKey(ContentStore db, Map model, String key) {
+        return null;
+    }
+
+}
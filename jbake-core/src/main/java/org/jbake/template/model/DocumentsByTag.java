@@ -0,0 +1,108 @@
+package org.jbake.template.model;
+
+import org.jbake.app.ContentStore;
+import org.jbake.app.Crawler;
+import org.jbake.app.DBUtil;
+import org.jbake.app.DocumentList;
+import org.jbake.app.DocumentProjection;
+import org.jbake.model.DocumentTypes;
+import org.jbake.template.ModelExtractors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The published documents of every tag, grouped with a single pass over the published documents of every type.
+ * <p>
+ * The lists hold summaries of the documents, in the order of the tag queries of the {@link ContentStore}: documents
+ * of the same type by date, most recent first, and types in the order of {@link DocumentTypes#getDocumentTypes()}.
+ * They are shared by all renderings and must not be modified.
+ */
+public final class DocumentsByTag {
+
+    private static final String TAG_POSTS = "tag_posts";
+    private static final String TAGGED_DOCUMENTS = "tagged_documents";
+
+    private final Map<String, Map<String, List<Map<String, Object>>>> documentsByTag;
+
+    private DocumentsByTag(Map<String, Map<String, List<Map<String, Object>>>> documentsByTag) {
+        this.documentsByTag = documentsByTag;
+    }
+
+    /**
+     * @param db the content store
+     * @return the published documents of every tag
+     */
+    public static DocumentsByTag of(ContentStore db) {
+        Map<String, Map<String, List<Map<String, Object>>>> documentsByTag = new HashMap<>();
+        for (String docType : DocumentTypes.getDocumentTypes()) {
+            for (Map<String, Object> document : db.getPublishedContent(docType, DocumentProjection.SUMMARY)) {
+                for (String tag : DBUtil.toStringArray(document.get(Crawler.Attributes.TAGS))) {
+                    Map<String, List<Map<String, Object>>> byType = documentsByTag.get(tag);
+                    if (byType == null) {
+                        byType = new LinkedHashMap<>();
+                        documentsByTag.put(tag, byType);
+                    }
+                    List<Map<String, Object>> documents = byType.get(docType);
+                    if (documents == null) {
+                        documents = new ArrayList<>();
+                        byType.put(docType, documents);
+                    }
+                    documents.add(document);
+                }
+            }
+        }
+        return new DocumentsByTag(documentsByTag);
+    }
+
+    private Map<String, List<Map<String, Object>>> getDocumentsByType(String tag) {
+        Map<String, List<Map<String, Object>>> byType = documentsByTag.get(tag);
+        return byType != null ? byType : Collections.<String, List<Map<String, Object>>>emptyMap();
+    }
+
+    /**
+     * @param tag the tag
+     * @return the published posts with the given tag, as {@link ContentStore#getPublishedPostsByTag(String)} lists them
+     */
+    public DocumentList getTaggedPosts(String tag) {
+        DocumentList posts = new DocumentList();
+        List<Map<String, Object>> documents = getDocumentsByType(tag).get("post");
+        if (documents != null) {
+            posts.addAll(documents);
+        }
+        return posts;
+    }
+
+    /**
+     * @param tag the tag
+     * @return the published documents with the given tag, as {@link ContentStore#getPublishedDocumentsByTag(String)}
+     * lists them
+     */
+    public DocumentList getTaggedDocuments(String tag) {
+        DocumentList documents = new DocumentList();
+        for (List<Map<String, Object>> ofType : getDocumentsByType(tag).values()) {
+            documents.addAll(ofType);
+        }
+        return documents;
+    }
+
+    /**
+     * Hands the documents of the given tags to the tag post and tagged document extractors, so that rendering the
+     * pages of these tags doesn't query the store again.
+     *
+     * @param extractors the model extractors
+     * @param db         the content store the pages are rendered from
+     * @param tags       the tags whose pages are about to be rendered
+     */
+    public void share(ModelExtractors extractors, ContentStore db, Collection<String> tags) {
+        for (String tag : tags) {
+            extractors.putExtractedValue(db, TAG_POSTS, tag, getTaggedPosts(tag));
+            extractors.putExtractedValue(db, TAGGED_DOCUMENTS, tag, getTaggedDocuments(tag));
+        }
+    }
+}
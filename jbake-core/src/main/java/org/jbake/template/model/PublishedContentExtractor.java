@@ -2,22 +2,28 @@ package org.jbake.template.model;
 
 import org.jbake.app.ContentStore;
 import org.jbake.app.DocumentList;
+import org.jbake.app.DocumentProjection;
 import org.jbake.model.DocumentTypes;
-import org.jbake.template.ModelExtractor;
+import org.jbake.template.CacheableModelExtractor;
 
 import java.util.Map;
 
-public class PublishedContentExtractor implements ModelExtractor<DocumentList> {
+public class PublishedContentExtractor implements CacheableModelExtractor<DocumentList> {
 
     @Override
     public DocumentList get(ContentStore db, Map model, String key) {
         DocumentList publishedContent = new DocumentList();
         String[] documentTypes = DocumentTypes.getDocumentTypes();
         for (String docType : documentTypes) {
-            DocumentList query = db.getPublishedContent(docType);
+            DocumentList query = db.getPublishedContent(docType, DocumentProjection.SUMMARY);
             publishedContent.addAll(query);
         }
         return publishedContent;
     }
 
-}
\ No newline at end of file
+    @Override
+    public Object getCacheKey(ContentStore db, Map model, String key) {
+        return null;
+    }
+
+}
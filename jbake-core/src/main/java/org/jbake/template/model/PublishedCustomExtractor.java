@@ -2,11 +2,12 @@ package org.jbake.template.model;
 
 import org.jbake.app.ContentStore;
 import org.jbake.app.DocumentList;
-import org.jbake.template.ModelExtractor;
+import org.jbake.app.DocumentProjection;
+import org.jbake.template.CacheableModelExtractor;
 
 import java.util.Map;
 
-public class PublishedCustomExtractor implements ModelExtractor<DocumentList> {
+public class PublishedCustomExtractor implements CacheableModelExtractor<DocumentList> {
 
     String customDocumentType;
 
@@ -17,7 +18,12 @@ public class PublishedCustomExtractor implements ModelExtractor<DocumentList> {
     @Override
     public DocumentList get(ContentStore db, Map model, String key) {
 
-        return db.getPublishedContent(customDocumentType);
+        return db.getPublishedContent(customDocumentType, DocumentProjection.SUMMARY);
     }
 
-}
\ No newline at end of file
+    @Override
+    public Object getCacheKey(ContentStore db, Map model, String key) {
+        return null;
+    }
+
+}
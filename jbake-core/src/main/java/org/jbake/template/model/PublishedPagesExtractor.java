@@ -2,15 +2,21 @@ package org.jbake.template.model;
 
 import org.jbake.app.ContentStore;
 import org.jbake.app.DocumentList;
-import org.jbake.template.ModelExtractor;
+import org.jbake.app.DocumentProjection;
+import org.jbake.template.CacheableModelExtractor;
 
 import java.util.Map;
 
-public class PublishedPagesExtractor implements ModelExtractor<DocumentList> {
+public class PublishedPagesExtractor implements CacheableModelExtractor<DocumentList> {
 
     @Override
     public DocumentList get(ContentStore db, Map model, String key) {
-        return db.getPublishedPages();
+        return db.getPublishedContent("page", DocumentProjection.SUMMARY);
     }
 
-}
\ No newline at end of file
+    @Override
+    public Object getCacheKey(ContentStore db, Map model, String key) {
+        return null;
+    }
+
+}
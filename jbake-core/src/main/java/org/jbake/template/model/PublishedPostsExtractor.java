@@ -2,19 +2,32 @@ package org.jbake.template.model;
 
 import org.jbake.app.ContentStore;
 import org.jbake.app.DocumentList;
-import org.jbake.template.ModelExtractor;
+import org.jbake.app.DocumentProjection;
+import org.jbake.template.CacheableModelExtractor;
 
+import java.util.Arrays;
 import java.util.Map;
 
-public class PublishedPostsExtractor implements ModelExtractor<DocumentList> {
+public class PublishedPostsExtractor implements CacheableModelExtractor<DocumentList> {
 
     @Override
     public DocumentList get(ContentStore db, Map model, String key) {
         if (model.containsKey("numberOfPages")) {
-            return db.getPublishedPosts(true);
+            return db.getPublishedPosts(true, DocumentProjection.SUMMARY);
         } else {
-            return db.getPublishedPosts();
+            return db.getPublishedPosts(false, DocumentProjection.SUMMARY);
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Paginated posts depend on the page selected by the start and limit of the store.
+     */
+    @Override
+    public Object getCacheKey(ContentStore db, Map model, String key) {
+        if (model.containsKey("numberOfPages")) {
+            return Arrays.asList(db.getStart(), db.getLimit());
+        }
+        return null;
+    }
+
+}
@@ -3,11 +3,12 @@ package org.jbake.template.model;
 import org.jbake.app.ContentStore;
 import org.jbake.app.Crawler;
 import org.jbake.app.DocumentList;
-import org.jbake.template.ModelExtractor;
+import org.jbake.app.DocumentProjection;
+import org.jbake.template.CacheableModelExtractor;
 
 import java.util.Map;
 
-public class TagPostsExtractor implements ModelExtractor<DocumentList> {
+public class TagPostsExtractor implements CacheableModelExtractor<DocumentList> {
 
     @Override
     public DocumentList get(ContentStore db, Map model, String key) {
@@ -16,7 +17,12 @@ public class TagPostsExtractor implements ModelExtractor<DocumentList> {
             tag = model.get(Crawler.Attributes.TAG).toString();
         }
         // fetch the tag posts from db
-        return db.getPublishedPostsByTag(tag);
+        return db.getPublishedPostsByTag(tag, DocumentProjection.SUMMARY);
     }
 
-}
\ No newline at end of file
+    @Override
+    public Object getCacheKey(ContentStore db, Map model, String key) {
+        return model.get(Crawler.Attributes.TAG) != null ? model.get(Crawler.Attributes.TAG).toString() : null;
+    }
+
+}
@@ -3,11 +3,12 @@ package org.jbake.template.model;
 import org.jbake.app.ContentStore;
 import org.jbake.app.Crawler;
 import org.jbake.app.DocumentList;
-import org.jbake.template.ModelExtractor;
+import org.jbake.app.DocumentProjection;
+import org.jbake.template.CacheableModelExtractor;
 
 import java.util.Map;
 
-public class TaggedDocumentsExtractor implements ModelExtractor<DocumentList> {
+public class TaggedDocumentsExtractor implements CacheableModelExtractor<DocumentList> {
 
     @Override
     public DocumentList get(ContentStore db, Map model, String key) {
@@ -16,7 +17,12 @@ public class TaggedDocumentsExtractor implements ModelExtractor<DocumentList> {
             tag = model.get(Crawler.Attributes.TAG).toString();
         }
         // fetch the tagged documents from db
-        return db.getPublishedDocumentsByTag(tag);
+        return db.getPublishedDocumentsByTag(tag, DocumentProjection.SUMMARY);
+    }
+
+    @Override
+    public Object getCacheKey(ContentStore db, Map model, String key) {
+        return model.get(Crawler.Attributes.TAG) != null ? model.get(Crawler.Attributes.TAG).toString() : null;
     }
 
 }
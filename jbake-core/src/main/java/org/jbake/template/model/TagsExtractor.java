@@ -3,16 +3,33 @@ package org.jbake.template.model;
 import org.jbake.app.ContentStore;
 import org.jbake.app.DocumentList;
 import org.jbake.app.FileUtil;
-import org.jbake.template.ModelExtractor;
+import org.jbake.app.SummaryDocument;
+import org.jbake.template.CacheableModelExtractor;
 
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 import static org.jbake.app.configuration.JBakeProperty.OUTPUT_EXTENSION;
 import static org.jbake.app.configuration.JBakeProperty.TAG_PATH;
 
 
-public class TagsExtractor implements ModelExtractor<DocumentList> {
+/**
+ * Builds the tags model from a single pass over the published documents of every type ({@link DocumentsByTag}), instead
+ * of querying the tagged documents of every tag. The tagged documents of a tag are only gathered into lists when a
+ * template asks for them.
+ */
+public class TagsExtractor implements CacheableModelExtractor<DocumentList> {
+
+    private static final String NAME = "name";
+    private static final String URI = "uri";
+    private static final String TAGGED_POSTS = "tagged_posts";
+    private static final String TAGGED_DOCUMENTS = "tagged_documents";
 
     @Override
     public DocumentList get(ContentStore db, Map model, String key) {
@@ -20,20 +37,121 @@ public class TagsExtractor implements ModelExtractor<DocumentList> {
         Map<?, ?> config = (Map<?, ?>) model.get("config");
 
         String tagPath = config.get(TAG_PATH.replace(".", "_")).toString();
+        String outputExtension = config.get(OUTPUT_EXTENSION.replace(".", "_")).toString();
 
+        DocumentsByTag documentsByTag = DocumentsByTag.of(db);
         for (String tag : db.getAllTags()) {
-            Map<String, Object> newTag = new HashMap<>();
-            String tagName = tag;
-            newTag.put("name", tagName);
+            String uri = tagPath + FileUtil.URI_SEPARATOR_CHAR + tag + outputExtension;
+            dl.push(new Tag(tag, uri, documentsByTag));
+        }
+        return dl;
+    }
 
-            String uri = tagPath + FileUtil.URI_SEPARATOR_CHAR + tag + config.get(OUTPUT_EXTENSION.replace(".", "_")).toString();
+    @Override
+    public Object getCacheKey(ContentStore db, Map model, String key) {
+        Map<?, ?> config = (Map<?, ?>) model.get("config");
+        return Arrays.asList(config.get(TAG_PATH.replace(".", "_")), config.get(OUTPUT_EXTENSION.replace(".", "_")));
+    }
 
-            newTag.put("uri", uri);
-            newTag.put("tagged_posts", db.getPublishedPostsByTag(tagName));
-            newTag.put("tagged_documents", db.getPublishedDocumentsByTag(tagName));
-            dl.push(newTag);
+    /**
+     * The model of a tag, which can't be modified. Its document lists are shared by all renderings and must not be
+     * modified either. Template engines copying the maps of their models should adapt this one instead, so that the
+     * document lists are only gathered when a template asks for them.
+     */
+    public static final class Tag extends AbstractMap<String, Object> {
+
+        private static final Set<String> KEYS = Collections.unmodifiableSet(
+            new LinkedHashSet<>(Arrays.asList(NAME, URI, TAGGED_POSTS, TAGGED_DOCUMENTS)));
+
+        private final String name;
+        private final String uri;
+        private final DocumentsByTag documentsByTag;
+        private volatile DocumentList taggedPosts;
+        private volatile DocumentList taggedDocuments;
+
+        Tag(String name, String uri, DocumentsByTag documentsByTag) {
+            this.name = name;
+            this.uri = uri;
+            this.documentsByTag = documentsByTag;
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (NAME.equals(key)) {
+                return name;
+            } else if (URI.equals(key)) {
+                return uri;
+            } else if (TAGGED_POSTS.equals(key)) {
+                return getTaggedPosts();
+            } else if (TAGGED_DOCUMENTS.equals(key)) {
+                return getTaggedDocuments();
+            }
+            return null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return KEYS.contains(key);
+        }
+
+        @Override
+        public int size() {
+            return KEYS.size();
+        }
+
+        /**
+         * The entries are read one at a time, without hashing their values the way a set of entries would, so that
+         * copying a tag never touches the {@link SummaryDocument}s it lists.
+         */
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    final Iterator<String> keys = KEYS.iterator();
+                    return new Iterator<Entry<String, Object>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return keys.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            String key = keys.next();
+                            return new SimpleImmutableEntry<>(key, get(key));
+                        }
+
+                        @Override
+                        public void remove() {
+                            throw new UnsupportedOperationException();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return KEYS.size();
+                }
+            };
+        }
+
+        private DocumentList getTaggedPosts() {
+            DocumentList posts = taggedPosts;
+            if (posts == null) {
+                posts = documentsByTag.getTaggedPosts(name);
+                taggedPosts = posts;
+            }
+            return posts;
+        }
+
+        private DocumentList getTaggedDocuments() {
+            DocumentList documents = taggedDocuments;
+            if (documents == null) {
+                documents = documentsByTag.getTaggedDocuments(name);
+                taggedDocuments = documents;
+            }
+            return documents;
         }
-        return dl;
     }
 
 }
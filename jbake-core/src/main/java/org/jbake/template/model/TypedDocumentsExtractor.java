@@ -2,23 +2,29 @@ package org.jbake.template.model;
 
 import org.jbake.app.ContentStore;
 import org.jbake.app.DocumentList;
+import org.jbake.app.DocumentProjection;
 import org.jbake.model.DocumentTypeUtils;
-import org.jbake.template.ModelExtractor;
+import org.jbake.template.CacheableModelExtractor;
 
 import java.util.Map;
 
-public class TypedDocumentsExtractor implements ModelExtractor<DocumentList> {
+public class TypedDocumentsExtractor implements CacheableModelExtractor<DocumentList> {
 
     @Override
     public DocumentList get(ContentStore db, Map model, String key) {
         // document types are pluralized in model, so unpluralize
         try {
             String type = DocumentTypeUtils.unpluralize(key);
-            return db.getAllContent(type);
+            return db.getAllContent(type, false, DocumentProjection.SUMMARY);
         } catch (UnsupportedOperationException e) {
 
             return new DocumentList();
         }
     }
 
-}
\ No newline at end of file
+    @Override
+    public Object getCacheKey(ContentStore db, Map model, String key) {
+        return null;
+    }
+
+}
@@ -0,0 +1,77 @@
+package org.jbake.util;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides helpers for the worker pools used by the parallel stages of a bake and by the file watcher.
+ */
+public class ConcurrencyUtil {
+
+    private ConcurrencyUtil() {
+    }
+
+    /**
+     * Creates a fixed size pool of daemon threads.
+     *
+     * @param name    prefix for the thread names, e.g. "jbake-crawler"
+     * @param threads number of worker threads
+     * @return a new {@link ExecutorService}
+     */
+    public static ExecutorService newFixedThreadPool(String name, int threads) {
+        return Executors.newFixedThreadPool(threads, newDaemonThreadFactory(name));
+    }
+
+    /**
+     * Creates a single daemon thread running delayed tasks one after the other.
+     *
+     * @param name prefix for the thread name, e.g. "jbake-watcher"
+     * @return a new {@link ScheduledExecutorService}
+     */
+    public static ScheduledExecutorService newSingleThreadScheduledExecutor(String name) {
+        return Executors.newSingleThreadScheduledExecutor(newDaemonThreadFactory(name));
+    }
+
+    private static ThreadFactory newDaemonThreadFactory(final String name) {
+        return new ThreadFactory() {
+            private final AtomicInteger counter = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+
+    /**
+     * Waits for the result of a task and rethrows its failure unchanged if it is a {@link RuntimeException}
+     * or an {@link Error}.
+     *
+     * @param future the task to wait for
+     * @param <T>    the type of the result
+     * @return the result of the task
+     */
+    public static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a worker", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause.getMessage(), cause);
+        }
+    }
+}
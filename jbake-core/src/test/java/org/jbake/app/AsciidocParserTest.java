@@ -4,6 +4,7 @@ import org.jbake.TestUtils;
 import org.jbake.app.configuration.ConfigUtil;
 import org.jbake.app.configuration.DefaultJBakeConfiguration;
 import org.jbake.app.configuration.JBakeProperty;
+import org.jbake.parser.Engines;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -12,7 +13,13 @@ import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -227,4 +234,56 @@ public class AsciidocParserTest {
             .contains("<p>JBake now supports AsciiDoc documents without JBake meta data.</p>");
     }
 
+    @Test
+    public void parseAsciiDocFilesConcurrentlyWithEnginePool() throws Exception {
+        config.setAsciidoctorPoolSize(2);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Map<String, Object>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                final File file = i % 2 == 0 ? validAsciidocFile : validAsciiDocFileWithoutHeader;
+                results.add(executor.submit(new Callable<Map<String, Object>>() {
+                    @Override
+                    public Map<String, Object> call() {
+                        return parser.processFile(file);
+                    }
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                Map<String, Object> map = results.get(i).get();
+                Assert.assertNotNull(map);
+                Assert.assertEquals(i % 2 == 0 ? "post" : "page", map.get("type"));
+                assertThat(map.get("body").toString()).contains("<p>JBake now supports AsciiDoc.</p>");
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void parseValidAsciiDocFileKeepsJBakeHeaderValues() {
+        Map<String, Object> map = parser.processFile(validAsciidocFile);
+        Assert.assertNotNull(map);
+        Assert.assertEquals("This is a Title = This is a valid Title", map.get("title"));
+        Assert.assertEquals("draft", map.get("status"));
+    }
+
+    @Test
+    public void parseAsciidocFileAfterConfigurationReloaded() {
+        config.setProperty(JBakeProperty.ASCIIDOCTOR_ATTRIBUTES, "testattribute=I Love Jbake");
+        assertThat(parser.processFile(asciidocWithSource).get("body").toString()).contains("I Love Jbake");
+
+        config.setProperty(JBakeProperty.ASCIIDOCTOR_ATTRIBUTES, "testattribute=I Still Love Jbake");
+        Engines.reloadConfiguration();
+        assertThat(parser.processFile(asciidocWithSource).get("body").toString()).contains("I Still Love Jbake");
+    }
+
+    @Test
+    public void skippedAsciiDocFilesReleaseTheirEngine() {
+        config.setAsciidoctorPoolSize(1);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertNull(parser.processFile(invalidAsciiDocFileWithoutHeader));
+        }
+        Assert.assertNotNull(parser.processFile(validAsciiDocFileWithoutHeader));
+    }
 }
@@ -15,6 +15,8 @@ import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -216,6 +218,92 @@ public class AssetTest extends LoggingTest {
         Assertions.assertTrue(asset.getErrors().isEmpty(), "Errors during asset copying");
     }
 
+    @Test
+    public void testCopyWithSeveralThreads() throws Exception {
+        config.setAssetThreads(4);
+        Asset asset = new Asset(config);
+        asset.copy();
+
+        Assertions.assertTrue(new File(folder.toFile(), "css/bootstrap.min.css").exists());
+        Assertions.assertTrue(new File(folder.toFile(), "img/glyphicons-halflings.png").exists());
+        Assertions.assertTrue(new File(folder.toFile(), "js/bootstrap.min.js").exists());
+        Assertions.assertTrue(asset.getErrors().isEmpty(), "Errors during asset copying");
+    }
+
+    @Test
+    public void testSyncSkipsUnchangedFiles() throws Exception {
+        File destination = folder.resolve("output").toFile();
+        config.setDestinationFolder(destination);
+        Asset asset = new Asset(config);
+        asset.sync();
+
+        File source = new File(config.getAssetFolder(), "js/bootstrap.min.js");
+        File target = new File(destination, "js/bootstrap.min.js");
+        Assertions.assertTrue(target.exists(), () -> "File " + target.getAbsolutePath() + " does not exist");
+        Assertions.assertTrue(new File(destination, "blog/2013/images/custom-image.jpg").exists());
+
+        // same size and modification time: the next sync must leave the copy alone
+        byte[] marker = new byte[(int) source.length()];
+        Files.write(target.toPath(), marker);
+        target.setLastModified(source.lastModified());
+        asset.sync();
+        Assertions.assertArrayEquals(marker, Files.readAllBytes(target.toPath()));
+
+        // a changed copy is written again
+        target.setLastModified(source.lastModified() - 10000);
+        asset.sync();
+        Assertions.assertArrayEquals(Files.readAllBytes(source.toPath()), Files.readAllBytes(target.toPath()));
+        Assertions.assertTrue(asset.getErrors().isEmpty(), "Errors during asset sync");
+    }
+
+    @Test
+    public void testSyncRemovesCopiesOfDeletedAssets() throws Exception {
+        File assets = folder.resolve("assets").toFile();
+        FileUtils.copyDirectory(config.getAssetFolder(), assets);
+        File destination = folder.resolve("output").toFile();
+        config.setAssetFolder(assets);
+        config.setDestinationFolder(destination);
+        Asset asset = new Asset(config);
+        asset.sync();
+
+        File generated = new File(destination, "generated.txt");
+        FileUtils.write(generated, "not an asset", StandardCharsets.UTF_8);
+        FileUtils.deleteDirectory(new File(assets, "js"));
+        asset.sync();
+
+        Assertions.assertFalse(new File(destination, "js").exists(), "Copies of deleted assets must be removed");
+        Assertions.assertTrue(new File(destination, "css/bootstrap.min.css").exists());
+        Assertions.assertTrue(generated.exists(), "Files which aren't assets must be kept");
+        Assertions.assertTrue(new File(destination, Asset.SYNC_MANIFEST).isFile(), "The manifest must be kept in the destination");
+        Assertions.assertFalse(new File(folder.toFile(), Asset.SYNC_MANIFEST).exists(), "The manifest must not be written next to the destination");
+    }
+
+    @Test
+    public void testCopyWithLinkStrategy() throws Exception {
+        config.setAssetCopyStrategy("link");
+        Asset asset = new Asset(config);
+        asset.copy();
+        asset.copy();
+
+        File source = new File(config.getAssetFolder(), "css/bootstrap.min.css");
+        File target = new File(folder.toFile(), "css/bootstrap.min.css");
+        Assertions.assertArrayEquals(Files.readAllBytes(source.toPath()), Files.readAllBytes(target.toPath()));
+        Assertions.assertTrue(asset.getErrors().isEmpty(), "Errors during asset copying");
+    }
+
+    @Test
+    public void testCopyWithTransferStrategy() throws Exception {
+        config.setAssetCopyStrategy("transfer");
+        Asset asset = new Asset(config);
+        asset.copy();
+
+        File source = new File(config.getAssetFolder(), "img/glyphicons-halflings.png");
+        File target = new File(folder.toFile(), "img/glyphicons-halflings.png");
+        Assertions.assertArrayEquals(Files.readAllBytes(source.toPath()), Files.readAllBytes(target.toPath()));
+        Assertions.assertEquals(source.lastModified(), target.lastModified());
+        Assertions.assertTrue(asset.getErrors().isEmpty(), "Errors during asset copying");
+    }
+
     @Test
     public void testIsFileAsset() {
         File cssAsset = new File(config.getAssetFolder().getAbsolutePath() + File.separatorChar + "css" + File.separatorChar + "bootstrap.min.css");
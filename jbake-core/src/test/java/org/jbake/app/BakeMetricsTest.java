@@ -0,0 +1,83 @@
+package org.jbake.app;
+
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BakeMetricsTest {
+
+    private BakeMetrics metrics;
+
+    @Before
+    public void setUp() {
+        metrics = new BakeMetrics(2);
+        metrics.reset();
+    }
+
+    @Test
+    public void shouldKeepSlowestDocumentsOnly() {
+        metrics.recordParse("MarkdownEngine", "fast.md", millis(1));
+        metrics.recordParse("MarkdownEngine", "slow.md", millis(30));
+        metrics.recordParse("AsciidoctorEngine", "slower.adoc", millis(50));
+        metrics.recordParse("MarkdownEngine", "medium.md", millis(10));
+
+        assertThat(metrics.getSlowestParsedDocuments()).extracting("document").containsExactly("slower.adoc", "slow.md");
+        assertThat(metrics.getCounter(BakeMetrics.DOCUMENTS_PARSED)).isEqualTo(4);
+    }
+
+    @Test
+    public void shouldBuildHistogramsByEngine() {
+        metrics.recordTemplate("FreemarkerTemplateEngine", millis(0));
+        metrics.recordTemplate("FreemarkerTemplateEngine", millis(3));
+        metrics.recordTemplate("FreemarkerTemplateEngine", millis(3));
+        metrics.recordTemplate("FreemarkerTemplateEngine", millis(100000));
+
+        BakeMetrics.Timing timing = metrics.getTemplateEngines().get("FreemarkerTemplateEngine");
+        assertThat(timing.getCount()).isEqualTo(4);
+        assertThat(timing.getMax()).isEqualTo(100000);
+        Map<String, Long> histogram = timing.getHistogram();
+        assertThat(histogram).containsEntry("1", 1L).containsEntry("4", 2L).containsEntry("inf", 1L).hasSize(3);
+    }
+
+    @Test
+    public void shouldAddUpPhasesAndForgetThemOnReset() {
+        metrics.recordPhase("render", millis(5));
+        metrics.recordPhase("render", millis(7));
+        metrics.increment(BakeMetrics.FILES_HASHED, 3);
+
+        assertThat(metrics.getPhases()).containsEntry("render", 12L);
+        assertThat(metrics.getCounter(BakeMetrics.FILES_HASHED)).isEqualTo(3);
+
+        metrics.reset();
+
+        assertThat(metrics.getPhases()).isEmpty();
+        assertThat(metrics.getCounter(BakeMetrics.FILES_HASHED)).isZero();
+    }
+
+    @Test
+    public void shouldWriteMetricsAsJson() {
+        metrics.recordPhase("crawl", millis(5));
+        metrics.recordRenderingTool("DocumentsRenderer", millis(8), 3);
+        metrics.recordQuery("getPublishedPosts", millis(2));
+        metrics.recordRender("blog/post.html", "post.ftl", millis(4));
+        metrics.finish();
+
+        JSONObject report = (JSONObject) JSONValue.parse(metrics.toJson());
+
+        assertThat(((JSONObject) report.get("phases")).get("crawl")).isEqualTo(5L);
+        assertThat(((JSONObject) report.get("renderingTools")).get("DocumentsRenderer")).isEqualTo(8L);
+        assertThat(((JSONObject) report.get("counters")).get("rendered.DocumentsRenderer")).isEqualTo(3L);
+        assertThat(((JSONObject) ((JSONObject) report.get("queries")).get("getPublishedPosts")).get("count")).isEqualTo(1L);
+        assertThat(report.get("slowestRenderedDocuments").toString()).contains("blog\\/post.html");
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -1,18 +1,23 @@
 package org.jbake.app;
 
 import com.orientechnologies.orient.core.record.impl.ODocument;
+import java.io.File;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.jbake.FakeDocumentBuilder;
-import static org.jbake.app.ContentStore.quoteIdentifier;
+import static org.jbake.app.OrientContentStore.quoteIdentifier;
 import org.jbake.app.Crawler.Attributes.Status;
 import org.jbake.model.DocumentAttributes;
 import org.jbake.model.DocumentTypes;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 
 public class ContentStoreTest extends ContentStoreIntegrationTest {
@@ -40,6 +45,45 @@ public class ContentStoreTest extends ContentStoreIntegrationTest {
         assertEquals(5, db.getPublishedCount(DOC_TYPE_POST));
     }
 
+    @Test
+    public void shouldSaveMergedDocument() {
+        final String uri = "test/shouldSaveMergedDocument";
+
+        ODocument doc = new ODocument(DOC_TYPE_POST);
+        Map<String, String> values = new HashMap();
+        values.put(Crawler.Attributes.TYPE, DOC_TYPE_POST);
+        values.put(DocumentAttributes.SOURCE_URI.toString(), uri);
+        values.put("foo", "originalValue");
+        doc.fromMap(values);
+        doc.save();
+
+        long modifications = db.getModificationCount();
+        values.put("foo", "newValue");
+        db.mergeDocument(values);
+
+        assertTrue(db.getModificationCount() > modifications);
+        // read back from the storage, not from the record cache
+        doc.reload(null, true);
+        assertEquals("newValue", doc.field("foo"));
+
+        db.deleteContent(DOC_TYPE_POST, uri);
+    }
+
+    @Test
+    public void shouldClearCacheOnRequestWithoutTouchingTemplateSignatures() {
+        new FakeDocumentBuilder(DOC_TYPE_POST)
+                .withName("clearedOnRequest")
+                .withStatus("published")
+                .withRandomSha1()
+                .build();
+        db.updateTemplateSignatures(Collections.singletonMap("post", "0123456789abcdef"));
+
+        db.updateAndClearCacheIfNeeded(true, new File(sourceFolder, "templates"));
+
+        assertEquals(0, db.getDocumentCount(DOC_TYPE_POST));
+        assertEquals(Collections.singletonMap("post", "0123456789abcdef"), db.getTemplateSignatures());
+    }
+
     @Test
     public void testMergeDocument() {
         final String uri = "test/testMergeDocument";
@@ -165,6 +209,95 @@ public class ContentStoreTest extends ContentStoreIntegrationTest {
         db.deleteAllByDocType(typeWithHyphen);
     }
 
+    @Test
+    public void shouldSaveAndDeleteDocumentsInBatches() {
+        int batchSize = db.getBatchSize();
+        db.setBatchSize(2);
+        try {
+            List<Map<String, Object>> documents = new ArrayList<>();
+            List<String> uris = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                Map<String, Object> values = new HashMap<>();
+                values.put(Crawler.Attributes.TYPE, DOC_TYPE_POST);
+                values.put(DocumentAttributes.SOURCE_URI.toString(), "test/batch" + i);
+                values.put(DocumentAttributes.SHA1.toString(), "sha" + i);
+                values.put(DocumentAttributes.RENDERED.toString(), false);
+                values.put(DocumentAttributes.CACHED.toString(), true);
+                values.put(DocumentAttributes.STATUS.toString(), "published");
+                documents.add(values);
+                uris.add("test/batch" + i);
+            }
+
+            db.saveAll(documents);
+            assertEquals(5, db.getDocumentCount(DOC_TYPE_POST));
+
+            db.deleteAll(DOC_TYPE_POST, uris.subList(0, 3));
+            assertEquals(2, db.getDocumentCount(DOC_TYPE_POST));
+            assertEquals(1, db.getDocumentByUri(DOC_TYPE_POST, "test/batch4").size());
+        } finally {
+            db.setBatchSize(batchSize);
+        }
+    }
+
+    @Test
+    public void shouldKeepTagIndexUpToDate() {
+        Map<String, Object> values = new HashMap<>();
+        values.put(Crawler.Attributes.TYPE, DOC_TYPE_POST);
+        values.put(Crawler.Attributes.TAGS, new String[]{"java"});
+        values.put(Crawler.Attributes.STATUS, Status.PUBLISHED);
+        values.put(Crawler.Attributes.DATE, new Date());
+        values.put(DocumentAttributes.SOURCE_URI.toString(), "test/tagged");
+        values.put(DocumentAttributes.SHA1.toString(), "sha");
+        values.put(DocumentAttributes.RENDERED.toString(), false);
+        values.put(DocumentAttributes.CACHED.toString(), true);
+
+        assertEquals(Collections.emptySet(), db.getAllTags());
+
+        db.saveAll(Collections.singletonList(values));
+        assertEquals(Collections.singleton("java"), db.getAllTags());
+        assertEquals(1, db.getPublishedPostsByTag("java").size());
+
+        Map<String, Object> draft = new HashMap<>();
+        draft.put(Crawler.Attributes.TYPE, DOC_TYPE_POST);
+        draft.put(DocumentAttributes.SOURCE_URI.toString(), "test/tagged");
+        draft.put(Crawler.Attributes.STATUS, Status.DRAFT);
+        db.mergeDocument(draft);
+        assertEquals(Collections.emptySet(), db.getTags());
+
+        db.deleteContent(DOC_TYPE_POST, "test/tagged");
+        assertEquals(0, db.getPublishedDocumentsByTag("java").size());
+    }
+
+    @Test
+    public void shouldLoadBodyOfSummariesWhenRead() {
+        Map<String, Object> values = new HashMap<>();
+        values.put(Crawler.Attributes.TYPE, DOC_TYPE_POST);
+        values.put(Crawler.Attributes.TAGS, new String[]{"java"});
+        values.put(Crawler.Attributes.STATUS, Status.PUBLISHED);
+        values.put(Crawler.Attributes.DATE, new Date());
+        values.put(Crawler.Attributes.BODY, "<p>body</p>");
+        values.put(DocumentAttributes.SOURCE_URI.toString(), "test/summary");
+        values.put(DocumentAttributes.SHA1.toString(), "sha");
+        values.put(DocumentAttributes.RENDERED.toString(), false);
+        values.put(DocumentAttributes.CACHED.toString(), true);
+        db.saveAll(Collections.singletonList(values));
+
+        DocumentList summaries = db.getPublishedContent(DOC_TYPE_POST, DocumentProjection.SUMMARY);
+        assertEquals(1, summaries.size());
+        SummaryDocument summary = (SummaryDocument) summaries.get(0);
+        assertFalse(summary.isComplete());
+        assertEquals("test/summary", summary.get(DocumentAttributes.SOURCE_URI.toString()));
+        assertFalse(summary.isComplete());
+        assertEquals("<p>body</p>", summary.get(Crawler.Attributes.BODY));
+        assertTrue(summary.isComplete());
+
+        Map<String, Object> tagged = db.getPublishedPostsByTag("java", DocumentProjection.SUMMARY).get(0);
+        assertEquals("<p>body</p>", new HashMap<>(tagged).get(Crawler.Attributes.BODY));
+        assertEquals("<p>body</p>", db.getPublishedPostsByTag("java").get(0).get(Crawler.Attributes.BODY));
+
+        db.deleteContent(DOC_TYPE_POST, "test/summary");
+    }
+
     @Test
     public void testIdentifierQuoting() {
         assertNull(quoteIdentifier(null));
@@ -8,6 +8,7 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.io.File;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -47,6 +48,75 @@ public class CrawlerTest extends ContentStoreIntegrationTest {
         Assert.assertEquals(3, publishedPostsByTag.size());
     }
 
+    @Test
+    public void crawlWithWorkerThreads() {
+        config.setCrawlerThreads(4);
+        try {
+            Crawler crawler = new Crawler(db, config);
+            crawler.crawl();
+        } finally {
+            config.setCrawlerThreads(1);
+        }
+
+        Assert.assertEquals(4, db.getDocumentCount("post"));
+        Assert.assertEquals(3, db.getDocumentCount("page"));
+
+        DocumentList results = db.getPublishedPosts();
+
+        assertThat(results.size()).isEqualTo(3);
+
+        for (Map<String, Object> content : results) {
+            assertThat(content)
+                    .containsKey(Crawler.Attributes.ROOTPATH)
+                    .containsValue("../../../");
+        }
+
+        DocumentList publishedPostsByTag = db.getPublishedPostsByTag("blog");
+        Assert.assertEquals(3, publishedPostsByTag.size());
+    }
+
+    @Test
+    public void crawlWithParserCacheAfterStoreHasBeenCleared() throws Exception {
+        config.setParserCacheFolder(folder.newFolder("parsed").getAbsolutePath());
+        try {
+            BakeMetrics first = new BakeMetrics();
+            Crawler crawler = new Crawler(db, config);
+            crawler.setMetrics(first);
+            crawler.crawl();
+
+            db.drop();
+            db.startup();
+
+            BakeMetrics second = new BakeMetrics();
+            crawler = new Crawler(db, config);
+            crawler.setMetrics(second);
+            crawler.crawl();
+
+            assertThat(second.getCounter(BakeMetrics.DOCUMENTS_CACHED)).isGreaterThan(0);
+            assertThat(second.getCounter(BakeMetrics.DOCUMENTS_CACHED) + second.getCounter(BakeMetrics.DOCUMENTS_PARSED))
+                .isEqualTo(first.getCounter(BakeMetrics.DOCUMENTS_PARSED));
+        } finally {
+            config.setParserCacheFolder("");
+        }
+
+        Assert.assertEquals(4, db.getDocumentCount("post"));
+        Assert.assertEquals(3, db.getDocumentCount("page"));
+        Assert.assertEquals(3, db.getPublishedPostsByTag("blog").size());
+    }
+
+    @Test
+    public void crawlFileReportsUnchangedDocumentOnlyOnceRendered() {
+        Crawler crawler = new Crawler(db, config);
+        crawler.crawl();
+        File post = new File(config.getContentFolder(), "blog/2013/second-post.html");
+
+        // a bake cancelled before rendering leaves the document stored but unrendered
+        assertThat(crawler.crawlFile(post)).isNotNull();
+
+        db.markContentAsRendered("post");
+        assertThat(crawler.crawlFile(post)).isNull();
+    }
+
     @Test
     public void renderWithPrettyUrls() throws Exception {
 
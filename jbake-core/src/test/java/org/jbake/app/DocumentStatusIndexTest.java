@@ -0,0 +1,68 @@
+package org.jbake.app;
+
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import org.jbake.model.DocumentAttributes;
+import org.jbake.model.DocumentStatus;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DocumentStatusIndexTest extends ContentStoreIntegrationTest {
+
+    @Test
+    public void shouldDetectNewDocument() {
+        DocumentStatusIndex index = new DocumentStatusIndex(db);
+        index.load();
+
+        assertThat(index.update("blog/new.html", "abc")).isEqualTo(DocumentStatus.NEW);
+    }
+
+    @Test
+    public void shouldDetectIdenticalDocument() {
+        saveDocument("post", "blog/same.html", "abc", true);
+
+        DocumentStatusIndex index = new DocumentStatusIndex(db);
+        index.load();
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.update("blog/same.html", "abc")).isEqualTo(DocumentStatus.IDENTICAL);
+        assertThat(db.getDocumentCount("post")).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldDeleteModifiedDocument() {
+        saveDocument("page", "about.html", "abc", true);
+
+        DocumentStatusIndex index = new DocumentStatusIndex(db);
+        index.load();
+
+        assertThat(index.update("about.html", "def")).isEqualTo(DocumentStatus.UPDATED);
+        assertThat(index.size()).isEqualTo(0);
+        assertThat(db.getDocumentCount("page")).isEqualTo(1);
+
+        index.deleteOutdated();
+        assertThat(db.getDocumentCount("page")).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldDeleteUnrenderedDocument() {
+        saveDocument("post", "blog/draft.html", "abc", false);
+
+        DocumentStatusIndex index = new DocumentStatusIndex(db);
+        index.load();
+
+        assertThat(index.update("blog/draft.html", "abc")).isEqualTo(DocumentStatus.UPDATED);
+        index.deleteOutdated();
+        assertThat(db.getDocumentCount("post")).isEqualTo(0);
+    }
+
+    private void saveDocument(String docType, String uri, String sha1, boolean rendered) {
+        ODocument document = new ODocument(docType);
+        document.field(String.valueOf(DocumentAttributes.SOURCE_URI), uri);
+        document.field(String.valueOf(DocumentAttributes.SHA1), sha1);
+        document.field(String.valueOf(DocumentAttributes.RENDERED), rendered);
+        document.field(String.valueOf(DocumentAttributes.CACHED), true);
+        document.field(String.valueOf(DocumentAttributes.STATUS), "published");
+        document.save();
+    }
+}
@@ -0,0 +1,89 @@
+package org.jbake.app;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FileMetadataIndexTest extends ContentStoreIntegrationTest {
+
+    @Test
+    public void shouldHashNewFile() throws Exception {
+        File file = folder.newFile("new.md");
+        FileUtils.write(file, "original content", StandardCharsets.UTF_8);
+
+        FileMetadataIndex index = new FileMetadataIndex(db, false);
+        index.load();
+
+        assertThat(index.sha1(file)).isEqualTo(FileUtil.sha1(file));
+        assertThat(index.getHashedCount()).isEqualTo(1);
+        assertThat(index.getSkippedCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldReuseHashOfUnchangedFile() throws Exception {
+        File file = folder.newFile("unchanged.md");
+        FileUtils.write(file, "original content", StandardCharsets.UTF_8);
+        String originalHash = FileUtil.sha1(file);
+
+        FileMetadataIndex index = new FileMetadataIndex(db, false);
+        index.load();
+        index.sha1(file);
+        index.save();
+
+        // same size and modification time, but different content
+        long lastModified = file.lastModified();
+        FileUtils.write(file, "modified content", StandardCharsets.UTF_8);
+        file.setLastModified(lastModified);
+
+        FileMetadataIndex reloaded = new FileMetadataIndex(db, false);
+        reloaded.load();
+
+        assertThat(reloaded.sha1(file)).isEqualTo(originalHash);
+        assertThat(reloaded.getSkippedCount()).isEqualTo(1);
+        assertThat(reloaded.getHashedCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldHashFileWithChangedAttributes() throws Exception {
+        File file = folder.newFile("changed.md");
+        FileUtils.write(file, "original content", StandardCharsets.UTF_8);
+
+        FileMetadataIndex index = new FileMetadataIndex(db, false);
+        index.load();
+        index.sha1(file);
+        index.save();
+
+        FileUtils.write(file, "a longer modified content", StandardCharsets.UTF_8);
+
+        FileMetadataIndex reloaded = new FileMetadataIndex(db, false);
+        reloaded.load();
+
+        assertThat(reloaded.sha1(file)).isEqualTo(FileUtil.sha1(file));
+        assertThat(reloaded.getHashedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldHashUnchangedFileWhenVerificationIsForced() throws Exception {
+        File file = folder.newFile("verified.md");
+        FileUtils.write(file, "original content", StandardCharsets.UTF_8);
+
+        FileMetadataIndex index = new FileMetadataIndex(db, false);
+        index.load();
+        index.sha1(file);
+        index.save();
+
+        long lastModified = file.lastModified();
+        FileUtils.write(file, "modified content", StandardCharsets.UTF_8);
+        file.setLastModified(lastModified);
+
+        FileMetadataIndex verifying = new FileMetadataIndex(db, true);
+        verifying.load();
+
+        assertThat(verifying.sha1(file)).isEqualTo(FileUtil.sha1(file));
+        assertThat(verifying.getSkippedCount()).isEqualTo(0);
+    }
+}
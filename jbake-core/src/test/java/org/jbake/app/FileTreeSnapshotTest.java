@@ -0,0 +1,88 @@
+package org.jbake.app;
+
+import org.apache.commons.io.FileUtils;
+import org.jbake.TestUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FileTreeSnapshotTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File fixtureDir;
+
+    @Before
+    public void setUp() throws Exception {
+        fixtureDir = TestUtils.getTestResourcesAsSourceFolder();
+    }
+
+    @Test
+    public void shouldSelectSameFilesAsFileFilters() {
+        File content = new File(fixtureDir, "content");
+        File assets = new File(fixtureDir, "assets");
+        FileTreeSnapshot snapshot = FileTreeSnapshot.scan(content, assets);
+
+        assertThat(snapshot.getContentFiles(content)).containsExactlyElementsOf(walk(content, FileUtil.getFileFilter()));
+        assertThat(snapshot.getNotContentFiles(content)).containsExactlyElementsOf(walk(content, FileUtil.getNotContentFileFilter()));
+        assertThat(snapshot.getFiles(assets, true)).isNotEmpty();
+    }
+
+    @Test
+    public void shouldSkipIgnoredFolders() throws Exception {
+        File root = folder.getRoot();
+        FileUtils.write(new File(root, "index.md"), "content", StandardCharsets.UTF_8);
+        FileUtils.write(new File(root, "ignored/page.md"), "content", StandardCharsets.UTF_8);
+        FileUtils.write(new File(root, "ignored/.jbakeignore"), "", StandardCharsets.UTF_8);
+        FileUtils.write(new File(root, "upper/page.md"), "content", StandardCharsets.UTF_8);
+        FileUtils.write(new File(root, "upper/.JBAKEIGNORE"), "", StandardCharsets.UTF_8);
+        FileUtils.write(new File(root, "upper/nested/page.md"), "content", StandardCharsets.UTF_8);
+
+        FileTreeSnapshot snapshot = FileTreeSnapshot.scan(root);
+
+        assertThat(snapshot.getContentFiles(root)).containsExactly(new File(root, "index.md"));
+        assertThat(snapshot.getFiles(root, false)).containsExactly(new File(root, "index.md"));
+        assertThat(snapshot.directoryOnlyIfNotIgnored(new File(root, "ignored"))).isFalse();
+        assertThat(snapshot.directoryOnlyIfNotIgnored(new File(root, "upper"))).isFalse();
+        assertThat(snapshot.contains(new File(root, "upper/nested/page.md"))).isFalse();
+    }
+
+    @Test
+    public void shouldKeepAttributesOfScannedFiles() throws Exception {
+        File file = folder.newFile("about.html");
+        FileUtils.write(file, "<p>About</p>", StandardCharsets.UTF_8);
+
+        FileTreeSnapshot snapshot = FileTreeSnapshot.scan(folder.getRoot());
+        FileUtils.write(file, "<p>About us</p>", StandardCharsets.UTF_8);
+
+        assertThat(snapshot.getAttributes(file).size()).isEqualTo("<p>About</p>".length());
+        assertThat(snapshot.getAttributes(new File(folder.getRoot(), "missing.html"))).isNull();
+    }
+
+    private List<File> walk(File path, FileFilter filter) {
+        List<File> files = new ArrayList<>();
+        File[] contents = path.listFiles(filter);
+        if (contents != null) {
+            Arrays.sort(contents);
+            for (File file : contents) {
+                if (file.isFile()) {
+                    files.add(file);
+                } else if (file.isDirectory()) {
+                    files.addAll(walk(file, filter));
+                }
+            }
+        }
+        return files;
+    }
+}
@@ -0,0 +1,144 @@
+package org.jbake.app;
+
+import org.apache.commons.io.FileUtils;
+import org.jbake.app.Crawler.Attributes.Status;
+import org.jbake.model.DocumentAttributes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InMemoryContentStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private InMemoryContentStore db;
+
+    @Before
+    public void setUp() {
+        db = new InMemoryContentStore();
+        db.startup();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void shouldReturnPublishedContentOrderedByDate() {
+        db.saveAll(Arrays.asList(
+            document("post", "first.html", Status.PUBLISHED, 1000L),
+            document("post", "third.html", Status.PUBLISHED, 3000L),
+            document("post", "draft.html", Status.DRAFT, 4000L),
+            document("post", "second.html", Status.PUBLISHED, 2000L)));
+
+        assertThat(db.getDocumentCount("post")).isEqualTo(4);
+        assertThat(db.getPublishedCount("post")).isEqualTo(3);
+
+        DocumentList posts = db.getPublishedPosts();
+        assertThat(posts).extracting(Crawler.Attributes.URI).containsExactly("third.html", "second.html", "first.html");
+
+        db.setStart(1);
+        db.setLimit(1);
+        assertThat(db.getPublishedPosts(true)).extracting(Crawler.Attributes.URI).containsExactly("second.html");
+        assertThat(db.getAllContent("post", true)).extracting(Crawler.Attributes.URI).containsExactly("third.html");
+        db.resetPagination();
+    }
+
+    @Test
+    public void shouldQueryPublishedDocumentsByTag() {
+        Map<String, Object> post = document("post", "post.html", Status.PUBLISHED, 1000L);
+        post.put(Crawler.Attributes.TAGS, new String[]{"java", "blog"});
+        Map<String, Object> page = document("page", "page.html", Status.PUBLISHED, 2000L);
+        page.put(Crawler.Attributes.TAGS, new String[]{"java"});
+        Map<String, Object> draft = document("post", "draft.html", Status.DRAFT, 3000L);
+        draft.put(Crawler.Attributes.TAGS, new String[]{"draft"});
+        db.saveAll(Arrays.asList(post, page, draft));
+
+        assertThat(db.getPublishedPostsByTag("java")).extracting(Crawler.Attributes.URI).containsExactly("post.html");
+        assertThat(db.getPublishedDocumentsByTag("java")).hasSize(2);
+        assertThat(db.getTags()).containsOnly("java", "blog");
+        assertThat(db.getAllTags()).containsOnly("java", "blog");
+        assertThat(DBUtil.toStringArray(db.getPublishedPosts().get(0).get(Crawler.Attributes.TAGS))).containsExactly("java", "blog");
+    }
+
+    @Test
+    public void shouldMarkCachedContentAsRendered() {
+        Map<String, Object> uncached = document("post", "uncached.html", Status.PUBLISHED, 1000L);
+        uncached.put(DocumentAttributes.CACHED.toString(), false);
+        db.saveAll(Arrays.asList(document("post", "cached.html", Status.PUBLISHED, 2000L), uncached));
+
+        assertThat(db.getUnrenderedContent("post")).hasSize(2);
+
+        db.markContentAsRendered("post");
+
+        assertThat(db.getUnrenderedContent("post")).extracting(Crawler.Attributes.URI).containsExactly("uncached.html");
+        assertThat(db.getDocumentStatus("post", "cached.html").get(0).get(DocumentAttributes.RENDERED.toString())).isEqualTo(true);
+    }
+
+    @Test
+    public void shouldMergeAndDeleteDocuments() {
+        db.saveAll(Arrays.asList(
+            document("page", "about.html", Status.DRAFT, 1000L),
+            document("page", "contact.html", Status.DRAFT, 2000L)));
+
+        Map<String, Object> published = new HashMap<>();
+        published.put(DocumentAttributes.SOURCE_URI.toString(), "about.html");
+        published.put(Crawler.Attributes.TYPE, "page");
+        published.put(Crawler.Attributes.STATUS, Status.PUBLISHED);
+        db.mergeDocument(published);
+
+        assertThat(db.getPublishedPages()).extracting(Crawler.Attributes.URI).containsExactly("about.html");
+        assertThat(db.getDocumentStatuses("page")).hasSize(2);
+
+        db.deleteAll("page", Collections.singletonList("about.html"));
+        assertThat(db.getPublishedCount("page")).isEqualTo(0);
+
+        db.deleteContent("page", "contact.html");
+        assertThat(db.getDocumentCount("page")).isEqualTo(0);
+    }
+
+    @Test(expected = JBakeException.class)
+    public void shouldRejectDuplicateDocuments() {
+        db.saveAll(Collections.singletonList(document("page", "about.html", Status.DRAFT, 1000L)));
+        db.saveAll(Collections.singletonList(document("page", "about.html", Status.DRAFT, 1000L)));
+    }
+
+    @Test
+    public void shouldClearDocumentsWhenTemplatesChange() throws Exception {
+        db.updateAndClearCacheIfNeeded(false, folder.getRoot());
+        db.saveAll(Collections.singletonList(document("page", "about.html", Status.DRAFT, 1000L)));
+
+        db.updateAndClearCacheIfNeeded(false, folder.getRoot());
+        assertThat(db.getDocumentCount("page")).isEqualTo(1);
+
+        FileUtils.write(folder.newFile("page.ftl"), "${content.body}", StandardCharsets.UTF_8);
+        db.updateAndClearCacheIfNeeded(false, folder.getRoot());
+        assertThat(db.getDocumentCount("page")).isEqualTo(0);
+    }
+
+    private Map<String, Object> document(String type, String uri, String status, long date) {
+        Map<String, Object> document = new HashMap<>();
+        document.put(Crawler.Attributes.TYPE, type);
+        document.put(Crawler.Attributes.URI, uri);
+        document.put(Crawler.Attributes.STATUS, status);
+        document.put(Crawler.Attributes.DATE, new Date(date));
+        document.put(DocumentAttributes.SOURCE_URI.toString(), uri);
+        document.put(DocumentAttributes.SHA1.toString(), "sha-" + uri);
+        document.put(DocumentAttributes.RENDERED.toString(), false);
+        document.put(DocumentAttributes.CACHED.toString(), true);
+        return document;
+    }
+}
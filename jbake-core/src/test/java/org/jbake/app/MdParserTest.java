@@ -12,7 +12,13 @@ import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -668,5 +674,26 @@ public class MdParserTest {
         assertThat(map.get("body").toString()).contains("<h1>header &amp; some <em>formatting</em> ~~chars~~</h1>");
     }
 
-
+    @Test
+    public void parseMdFilesConcurrentlyWithSharedEngine() throws Exception {
+        config.setMarkdownExtensions("HARDWRAPS");
+        final Parser parser = new Parser(config);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Map<String, Object>>> results = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                results.add(executor.submit(new Callable<Map<String, Object>>() {
+                    @Override
+                    public Map<String, Object> call() {
+                        return parser.processFile(mdFileHardWraps);
+                    }
+                }));
+            }
+            for (Future<Map<String, Object>> result : results) {
+                assertThat(result.get().get("body").toString()).contains("<p>First line<br />\nSecond line</p>\n");
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
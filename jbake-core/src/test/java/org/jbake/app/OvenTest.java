@@ -10,23 +10,29 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.nio.Buffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class OvenTest {
 
@@ -182,7 +188,7 @@ public class OvenTest {
         configuration.setContentFolder(content);
         configuration.setAssetFolder(assets);
 
-        contentStore = spy(new ContentStore("memory", "documents" + System.currentTimeMillis()));
+        contentStore = spy(new OrientContentStore("memory", "documents" + System.currentTimeMillis()));
 
         Crawler crawler = mock(Crawler.class);
         Renderer renderer = mock(Renderer.class);
@@ -204,4 +210,230 @@ public class OvenTest {
         verify(crawler, times(1)).crawl();
         verify(asset, times(1)).copy();
     }
+
+    @Test
+    public void shouldOnlyReportErrorsOfLatestBake() throws Exception {
+        configuration.setTemplateFolder(TestUtils.newFolder(root.toFile(), "template"));
+        configuration.setContentFolder(TestUtils.newFolder(root.toFile(), "content"));
+        configuration.setAssetFolder(TestUtils.newFolder(root.toFile(), "assets"));
+
+        contentStore = new InMemoryContentStore();
+        Asset asset = mock(Asset.class);
+        when(asset.getErrors()).thenReturn(Collections.<Throwable>singletonList(new Exception("copy failed")),
+            Collections.<Throwable>emptyList());
+
+        Utensils utensils = new Utensils();
+        utensils.setConfiguration(configuration);
+        utensils.setContentStore(contentStore);
+        utensils.setRenderer(mock(Renderer.class));
+        utensils.setCrawler(mock(Crawler.class));
+        utensils.setAsset(asset);
+
+        Oven oven = new Oven(utensils);
+        oven.openSession();
+        oven.bake();
+        assertThat(oven.getErrors()).hasSize(1);
+
+        oven.bake();
+        assertThat(oven.getErrors()).isEmpty();
+        verify(asset, times(2)).clearErrors();
+        oven.closeSession();
+    }
+
+    @Test
+    public void shouldForgetFolderSnapshotAfterBake() throws Exception {
+        configuration.setTemplateFolder(TestUtils.newFolder(root.toFile(), "template"));
+        configuration.setContentFolder(TestUtils.newFolder(root.toFile(), "content"));
+        configuration.setAssetFolder(TestUtils.newFolder(root.toFile(), "assets"));
+
+        contentStore = new InMemoryContentStore();
+        Asset asset = mock(Asset.class);
+        Crawler crawler = mock(Crawler.class);
+
+        Utensils utensils = new Utensils();
+        utensils.setConfiguration(configuration);
+        utensils.setContentStore(contentStore);
+        utensils.setRenderer(mock(Renderer.class));
+        utensils.setCrawler(crawler);
+        utensils.setAsset(asset);
+
+        Oven oven = new Oven(utensils);
+        oven.openSession();
+        oven.bake();
+        oven.closeSession();
+
+        InOrder inOrder = inOrder(crawler, asset);
+        inOrder.verify(crawler).setSnapshot(any(FileTreeSnapshot.class));
+        inOrder.verify(crawler).setSnapshot(null);
+        verify(asset).setSnapshot(null);
+    }
+
+    @Test
+    public void shouldOnlyRenderAffectedFilesWhenContentFileChanges() throws Exception {
+        File content = root.resolve("content").toFile();
+        FileUtils.copyDirectory(new File(sourceFolder, "content"), content);
+        configuration.setContentFolder(content);
+        configuration.setAssetFolder(new File(sourceFolder, "assets"));
+
+        // keeps its documents across bakes, like a persistent store
+        contentStore = new InMemoryContentStore() {
+            @Override
+            public synchronized void close() {
+            }
+        };
+        Utensils utensils = new Utensils();
+        utensils.setConfiguration(configuration);
+        utensils.setContentStore(contentStore);
+        utensils.setCrawler(new Crawler(contentStore, configuration));
+        utensils.setRenderer(new Renderer(contentStore, configuration));
+        utensils.setAsset(new Asset(configuration));
+
+        Oven oven = new Oven(utensils);
+        oven.bake();
+        assertThat(oven.getErrors()).isEmpty();
+
+        File output = configuration.getDestinationFolder();
+        File post = new File(output, "blog/2013/second-post.html");
+        File about = new File(output, "about.html");
+        File index = new File(output, "index.html");
+        assertThat(post).isFile();
+        assertThat(about.delete()).isTrue();
+        assertThat(index.delete()).isTrue();
+
+        File source = new File(content, "blog/2013/second-post.html");
+        String header = FileUtils.readFileToString(source, StandardCharsets.UTF_8);
+        FileUtils.write(source, header.replace("Lorem ipsum", "Incremental ipsum"), StandardCharsets.UTF_8);
+
+        oven.bake(source);
+
+        assertThat(oven.getErrors()).isEmpty();
+        assertThat(FileUtils.readFileToString(post, StandardCharsets.UTF_8)).contains("Incremental ipsum");
+        assertThat(index).isFile();
+        assertThat(about).doesNotExist();
+    }
+
+    @Test
+    public void shouldRenderDocumentsLeftByCancelledBakeOnNextFileBake() throws Exception {
+        File content = root.resolve("content").toFile();
+        FileUtils.copyDirectory(new File(sourceFolder, "content"), content);
+        configuration.setContentFolder(content);
+        configuration.setAssetFolder(new File(sourceFolder, "assets"));
+
+        contentStore = new InMemoryContentStore() {
+            @Override
+            public synchronized void close() {
+            }
+        };
+        final Oven[] oven = new Oven[1];
+        final boolean[] cancel = new boolean[1];
+        Utensils utensils = new Utensils();
+        utensils.setConfiguration(configuration);
+        utensils.setContentStore(contentStore);
+        // cancels the bake once the changed documents are stored, before any of them is rendered
+        utensils.setCrawler(new Crawler(contentStore, configuration) {
+            @Override
+            public void crawl() {
+                super.crawl();
+                if (cancel[0]) {
+                    oven[0].cancel();
+                }
+            }
+        });
+        utensils.setRenderer(new Renderer(contentStore, configuration));
+        utensils.setAsset(new Asset(configuration));
+
+        oven[0] = new Oven(utensils);
+        oven[0].bake();
+        assertThat(oven[0].getErrors()).isEmpty();
+
+        File output = configuration.getDestinationFolder();
+        File firstPost = new File(output, "blog/2012/first-post.html");
+        File firstSource = new File(content, "blog/2012/first-post.html");
+        String first = FileUtils.readFileToString(firstSource, StandardCharsets.UTF_8);
+        FileUtils.write(firstSource, first.replace("Lorem ipsum", "Cancelled ipsum"), StandardCharsets.UTF_8);
+        cancel[0] = true;
+        oven[0].bake();
+        cancel[0] = false;
+        assertThat(FileUtils.readFileToString(firstPost, StandardCharsets.UTF_8)).doesNotContain("Cancelled ipsum");
+
+        File secondSource = new File(content, "blog/2013/second-post.html");
+        String second = FileUtils.readFileToString(secondSource, StandardCharsets.UTF_8);
+        FileUtils.write(secondSource, second.replace("Lorem ipsum", "Incremental ipsum"), StandardCharsets.UTF_8);
+
+        oven[0].bake(secondSource);
+
+        assertThat(oven[0].getErrors()).isEmpty();
+        assertThat(FileUtils.readFileToString(new File(output, "blog/2013/second-post.html"), StandardCharsets.UTF_8))
+            .contains("Incremental ipsum");
+        // the post left unrendered by the cancelled bake is rendered with the changed one
+        assertThat(FileUtils.readFileToString(firstPost, StandardCharsets.UTF_8)).contains("Cancelled ipsum");
+        assertThat(contentStore.getUnrenderedContent("post")).isEmpty();
+    }
+
+    @Test
+    public void shouldKeepContentStoreOpenDuringSession() throws Exception {
+        contentStore = new InMemoryContentStore();
+        Utensils utensils = new Utensils();
+        utensils.setConfiguration(configuration);
+        utensils.setContentStore(contentStore);
+        utensils.setCrawler(new Crawler(contentStore, configuration));
+        utensils.setRenderer(new Renderer(contentStore, configuration));
+        utensils.setAsset(new Asset(configuration));
+
+        Oven oven = new Oven(utensils);
+        oven.openSession();
+        oven.bake();
+        assertThat(oven.getErrors()).isEmpty();
+        assertThat(contentStore.getDocumentCount("post")).isGreaterThan(0);
+
+        oven.bake();
+        assertThat(oven.getErrors()).isEmpty();
+        assertThat(oven.isSessionOpen()).isTrue();
+        assertThat(contentStore.getDocumentCount("post")).isGreaterThan(0);
+
+        oven.closeSession();
+        assertThat(oven.isSessionOpen()).isFalse();
+        assertThat(contentStore.getDocumentCount("post")).isZero();
+    }
+
+    @Test
+    public void shouldRecordMetricsAndWriteBakeReport() throws Exception {
+        configuration.setContentFolder(new File(sourceFolder, "content"));
+        configuration.setAssetFolder(new File(sourceFolder, "assets"));
+        assertThat(configuration.getReportFileName()).isEmpty();
+        configuration.setReportFileName("jbake-report.json");
+
+        final Oven oven = new Oven(configuration);
+        contentStore = oven.getUtensils().getContentStore();
+        oven.bake();
+
+        assertThat(oven.getErrors()).isEmpty();
+        BakeMetrics metrics = oven.getMetrics();
+        assertThat(metrics.getPhases()).containsKeys("setup", "crawl", "templates", "render", "assets");
+        assertThat(metrics.getRenderingTools()).containsKey("DocumentsRenderer");
+        assertThat(metrics.getParserEngines()).isNotEmpty();
+        assertThat(metrics.getTemplateEngines()).containsKey("FreemarkerTemplateEngine");
+        assertThat(metrics.getQueries()).containsKey("saveAll");
+        assertThat(metrics.getCounter(BakeMetrics.FILES_HASHED)).isPositive();
+        assertThat(metrics.getSlowestRenderedDocuments()).isNotEmpty();
+
+        File report = root.resolve("jbake-report.json").toFile();
+        assertThat(report).isFile();
+        assertThat(FileUtils.readFileToString(report, StandardCharsets.UTF_8)).contains("\"phases\"");
+    }
+
+    @Test
+    public void shouldRecordQueriesInMetricsSetAfterUtensilsWereCreated() throws Exception {
+        configuration.setContentFolder(new File(sourceFolder, "content"));
+        configuration.setAssetFolder(new File(sourceFolder, "assets"));
+
+        final Oven oven = new Oven(configuration);
+        contentStore = oven.getUtensils().getContentStore();
+        BakeMetrics metrics = new BakeMetrics();
+        oven.getUtensils().setMetrics(metrics);
+        oven.bake();
+
+        assertThat(oven.getMetrics()).isSameAs(metrics);
+        assertThat(metrics.getQueries()).containsKey("saveAll");
+    }
 }
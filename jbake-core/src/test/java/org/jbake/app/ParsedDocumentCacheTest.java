@@ -0,0 +1,104 @@
+package org.jbake.app;
+
+import org.jbake.TestUtils;
+import org.jbake.app.configuration.ConfigUtil;
+import org.jbake.app.configuration.DefaultJBakeConfiguration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParsedDocumentCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private DefaultJBakeConfiguration config;
+    private File cacheFolder;
+    private File sourceFile;
+    private Map<String, Object> document;
+
+    @Before
+    public void setUp() throws Exception {
+        config = (DefaultJBakeConfiguration) new ConfigUtil().loadConfig(TestUtils.getTestResourcesAsSourceFolder());
+        cacheFolder = folder.newFolder("parsed");
+        sourceFile = folder.newFile("post.md");
+
+        document = new HashMap<>();
+        document.put(Crawler.Attributes.TITLE, "A post");
+        document.put(Crawler.Attributes.DATE, new Date(1000L));
+        document.put(Crawler.Attributes.TAGS, new String[]{"blog", "java"});
+        document.put(Crawler.Attributes.BODY, "<p>Body</p>");
+    }
+
+    @Test
+    public void shouldReturnCachedDocument() {
+        new ParsedDocumentCache(cacheFolder, config).put(sourceFile, "sha1", "MarkdownEngine", document);
+
+        ParsedDocumentCache cache = new ParsedDocumentCache(cacheFolder, config);
+        Map<String, Object> cached = cache.get(sourceFile, "sha1", "MarkdownEngine");
+
+        assertThat(cached).isNotSameAs(document);
+        assertThat(cached.get(Crawler.Attributes.TITLE)).isEqualTo("A post");
+        assertThat(cached.get(Crawler.Attributes.DATE)).isEqualTo(new Date(1000L));
+        assertThat((String[]) cached.get(Crawler.Attributes.TAGS)).containsExactly("blog", "java");
+        assertThat(cached.get(Crawler.Attributes.BODY)).isEqualTo("<p>Body</p>");
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldMissIfSourceFileOrEngineChanged() {
+        ParsedDocumentCache cache = new ParsedDocumentCache(cacheFolder, config);
+        cache.put(sourceFile, "sha1", "MarkdownEngine", document);
+
+        assertThat(cache.get(sourceFile, "other", "MarkdownEngine")).isNull();
+        assertThat(cache.get(sourceFile, "sha1", "RawMarkupEngine")).isNull();
+        assertThat(cache.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldMissIfConfigurationChanged() {
+        new ParsedDocumentCache(cacheFolder, config).put(sourceFile, "sha1", "MarkdownEngine", document);
+
+        config.setMarkdownExtensions("HARDWRAPS");
+        ParsedDocumentCache cache = new ParsedDocumentCache(cacheFolder, config);
+
+        assertThat(cache.get(sourceFile, "sha1", "MarkdownEngine")).isNull();
+    }
+
+    @Test
+    public void shouldRemoveEntriesOfDeletedSourceFiles() throws Exception {
+        File otherFile = folder.newFile("other.md");
+        ParsedDocumentCache cache = new ParsedDocumentCache(cacheFolder, config);
+        cache.put(sourceFile, "sha1", "MarkdownEngine", document);
+        cache.put(otherFile, "sha1", "MarkdownEngine", document);
+
+        cache.retainOnly(Collections.singletonList(otherFile));
+
+        assertThat(cache.get(sourceFile, "sha1", "MarkdownEngine")).isNull();
+        assertThat(cache.get(otherFile, "sha1", "MarkdownEngine")).isNotNull();
+        assertThat(cacheFolder.listFiles()).hasSize(1);
+    }
+
+    @Test
+    public void shouldOnlyRemoveCacheEntriesAndLeftoverTemporaryFiles() throws Exception {
+        ParsedDocumentCache cache = new ParsedDocumentCache(cacheFolder, config);
+        cache.put(sourceFile, "sha1", "MarkdownEngine", document);
+        File leftover = new File(cacheFolder, cacheFolder.list()[0] + "123.tmp");
+        File unrelated = new File(cacheFolder, "notes.txt");
+        assertThat(leftover.createNewFile()).isTrue();
+        assertThat(unrelated.createNewFile()).isTrue();
+
+        cache.retainOnly(Collections.<File>emptyList());
+
+        assertThat(cacheFolder.listFiles()).containsExactly(unrelated);
+    }
+}
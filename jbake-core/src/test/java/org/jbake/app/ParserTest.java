@@ -14,6 +14,8 @@ import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.Arrays;
 import java.util.Calendar;
@@ -323,6 +325,32 @@ public class ParserTest {
         assertJSONExtracted(map.get("jsondata"));
     }
 
+    @Test
+    public void parseFileWithWindowsLineEndings() throws Exception {
+        File file = folder.newFile("windows.html");
+        Files.write(file.toPath(), "title=Windows\r\nstatus=draft\r\ntype=post\r\n~~~~~~\r\n<p>First</p>\r\n<p>Second</p>"
+            .getBytes(StandardCharsets.UTF_8));
+
+        Map<String, Object> map = parser.processFile(file);
+
+        assertThat(map.get("title")).isEqualTo("Windows");
+        assertThat(map.get("status")).isEqualTo("draft");
+        assertThat(map.get("body")).isEqualTo("<p>First</p>\n<p>Second</p>\n");
+    }
+
+    @Test
+    public void parseFileWithoutHeaderKeepsWholeContentAsBody() throws Exception {
+        config.setDefaultStatus("published");
+        config.setDefaultType("page");
+        File file = folder.newFile("noHeader.html");
+        Files.write(file.toPath(), "<p>a=b</p>\n<p>No header</p>\n~~~~~~\n<p>After</p>\n".getBytes(StandardCharsets.UTF_8));
+
+        Map<String, Object> map = parser.processFile(file);
+
+        assertThat(map.get("type")).isEqualTo("page");
+        assertThat(map.get("body")).isEqualTo("<p>a=b</p>\n<p>No header</p>\n~~~~~~\n<p>After</p>\n");
+    }
+
     private void assertJSONExtracted(Object jsonDataEntry) {
         assertThat(jsonDataEntry).isInstanceOf(JSONObject.class);
         JSONObject jsonData = (JSONObject) jsonDataEntry;
@@ -0,0 +1,82 @@
+package org.jbake.app;
+
+import org.jbake.app.Crawler.Attributes.Status;
+import org.jbake.model.DocumentAttributes;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TagIndexTest {
+
+    private TagIndex index;
+
+    @Before
+    public void setUp() {
+        index = new TagIndex();
+    }
+
+    @Test
+    public void shouldListPublishedDocumentsByTagOrderedByDate() {
+        index.add("post", document("old.html", Status.PUBLISHED, 1000L, "java"));
+        index.add("post", document("new.html", Status.PUBLISHED, 3000L, "java", "blog"));
+        index.add("post", document("draft.html", Status.DRAFT, 2000L, "java"));
+        index.add("page", document("page.html", Status.PUBLISHED, 2000L, "java"));
+
+        assertThat(index.getPublishedUris("java", "post")).containsExactly("new.html", "old.html");
+        assertThat(index.getUris("java", "post")).containsExactly("new.html", "draft.html", "old.html");
+        assertThat(index.getDocumentTypes("java")).containsOnly("post", "page");
+        assertThat(index.getDocumentTypes("blog")).containsOnly("post");
+    }
+
+    @Test
+    public void shouldOnlyReturnTagsOfPublishedDocuments() {
+        index.add("post", document("post.html", Status.PUBLISHED, 1000L, "java"));
+        index.add("post", document("draft.html", Status.DRAFT, 1000L, "draft"));
+        index.add("page", document("page.html", Status.PUBLISHED, 1000L, "about"));
+
+        assertThat(index.getTags()).containsOnly("java", "about");
+        assertThat(index.getTags("post")).containsOnly("java");
+    }
+
+    @Test
+    public void shouldReplaceUpdatedDocument() {
+        index.add("post", document("post.html", Status.DRAFT, 1000L, "java"));
+        assertThat(index.getTags()).isEmpty();
+
+        index.add("post", document("post.html", Status.PUBLISHED, 1000L, "groovy"));
+
+        assertThat(index.getTags()).containsOnly("groovy");
+        assertThat(index.getUris("java", "post")).isEmpty();
+    }
+
+    @Test
+    public void shouldRemoveDocuments() {
+        index.add("post", document("first.html", Status.PUBLISHED, 1000L, "java"));
+        index.add("post", document("second.html", Status.PUBLISHED, 2000L, "java"));
+        index.add("page", document("page.html", Status.PUBLISHED, 2000L, "java"));
+
+        index.remove("post", "second.html");
+        assertThat(index.getPublishedUris("java", "post")).containsExactly("first.html");
+
+        index.removeAll("post");
+        assertThat(index.getDocumentTypes("java")).containsOnly("page");
+
+        index.clear();
+        assertThat(index.getTags()).isEmpty();
+    }
+
+    private Map<String, Object> document(String uri, String status, long date, String... tags) {
+        Map<String, Object> document = new HashMap<>();
+        document.put(DocumentAttributes.SOURCE_URI.toString(), uri);
+        document.put(Crawler.Attributes.STATUS, status);
+        document.put(Crawler.Attributes.DATE, new Date(date));
+        document.put(Crawler.Attributes.TAGS, Arrays.asList(tags));
+        return document;
+    }
+}
@@ -248,6 +248,26 @@ public abstract class AbstractTemplateEngineRenderingTest extends ContentStoreIn
         }
     }
 
+    @Test
+    public void renderTagsInParallel() throws Exception {
+        int threads = config.getRenderThreads();
+        config.setRenderThreads(2);
+        try {
+            int renderedCount = renderer.renderTags("tags");
+
+            int indexCount = config.getRenderTagsIndex() ? 1 : 0;
+            assertThat(renderedCount).isEqualTo(db.getAllTags().size() + indexCount);
+            File outputFile = new File(destinationFolder + File.separator + "tags" + File.separator + "blog.html");
+            Assert.assertTrue(outputFile.exists());
+            String output = FileUtils.readFileToString(outputFile, Charset.defaultCharset());
+            for (String string : getOutputStrings("tags")) {
+                assertThat(output).contains(string);
+            }
+        } finally {
+            config.setRenderThreads(threads);
+        }
+    }
+
     @Test
     public void renderTagsIndex() throws Exception {
         config.setRenderTagsIndex(true);
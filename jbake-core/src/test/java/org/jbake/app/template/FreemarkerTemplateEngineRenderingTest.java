@@ -24,11 +24,18 @@
 package org.jbake.app.template;
 
 import org.apache.commons.io.FileUtils;
+import org.jbake.app.DocumentList;
+import org.jbake.app.SummaryDocument;
+import org.jbake.app.configuration.JBakeProperty;
+import org.jbake.template.ModelExtractors;
+import org.jbake.template.TemplateEngineAdapter;
 import org.junit.Test;
 
 import java.io.File;
 import java.nio.charset.Charset;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertFalse;
@@ -81,4 +88,43 @@ public class FreemarkerTemplateEngineRenderingTest extends AbstractTemplateEngin
 
     }
 
+    @Test
+    public void shouldUseConfigurationChangesAfterReload() throws Exception {
+        File outputFile = new File(destinationFolder, "feed.xml");
+        config.setSiteHost("http://first.example.org");
+        renderer.renderFeed("feed.xml");
+        assertThat(FileUtils.readFileToString(outputFile, Charset.defaultCharset())).contains("http://first.example.org");
+
+        config.setSiteHost("http://second.example.org");
+        renderer.renderFeed("feed.xml");
+        assertThat(FileUtils.readFileToString(outputFile, Charset.defaultCharset())).contains("http://first.example.org");
+
+        renderer.reloadConfiguration();
+        renderer.renderFeed("feed.xml");
+        assertThat(FileUtils.readFileToString(outputFile, Charset.defaultCharset())).contains("http://second.example.org");
+    }
+
+    @Test
+    public void shouldRenderTagsListWithoutLoadingBodies() throws Exception {
+        Map<String, Object> configModel = new HashMap<>();
+        configModel.put(JBakeProperty.TAG_PATH.replace(".", "_"), config.get(JBakeProperty.TAG_PATH));
+        configModel.put(JBakeProperty.OUTPUT_EXTENSION.replace(".", "_"), config.get(JBakeProperty.OUTPUT_EXTENSION));
+        Map<String, Object> model = new HashMap<>();
+        model.put("config", configModel);
+        DocumentList tags = (DocumentList) ModelExtractors.getInstance().extractAndTransform(db, "tags", model, new TemplateEngineAdapter.NoopAdapter());
+        assertThat(tags).isNotEmpty();
+
+        config.setRenderTagsIndex(true);
+        renderer.renderTags("tags");
+
+        assertThat(FileUtils.readFileToString(new File(destinationFolder, "tags/index.html"), Charset.defaultCharset())).contains("blog");
+        assertThat((Object) ModelExtractors.getInstance().extractAndTransform(db, "tags", model, new TemplateEngineAdapter.NoopAdapter())).isSameAs(tags);
+        for (Map<String, Object> tag : tags) {
+            for (Map<String, Object> document : (DocumentList) tag.get("tagged_documents")) {
+                assertThat(document).isInstanceOf(SummaryDocument.class);
+                assertFalse(((SummaryDocument) document).isComplete());
+            }
+        }
+    }
+
 }
@@ -0,0 +1,111 @@
+package org.jbake.launcher;
+
+import org.jbake.app.Oven;
+import org.jbake.app.configuration.JBakeConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BakeQueueTest {
+
+    private Oven oven;
+    private BakeQueue queue;
+
+    @BeforeEach
+    public void setUp() {
+        JBakeConfiguration config = mock(JBakeConfiguration.class);
+        when(config.getWatcherDebounce()).thenReturn(50);
+        oven = mock(Oven.class);
+        queue = new BakeQueue(config) {
+            @Override
+            protected Oven createOven() {
+                return oven;
+            }
+        };
+    }
+
+    @AfterEach
+    public void tearDown() {
+        queue.stop();
+    }
+
+    @Test
+    public void shouldBakeBurstOfChangesAtOnce() {
+        queue.add(new File("first.md"));
+        queue.add(new File("second.md"));
+        queue.add(new File("first.md"));
+
+        ArgumentCaptor<Collection<File>> files = filesCaptor();
+        verify(oven, timeout(5000).times(1)).bake(files.capture());
+        assertThat(files.getValue()).containsExactly(new File("first.md"), new File("second.md"));
+    }
+
+    @Test
+    public void shouldCancelRunningBakeAndBakeItsFilesAgain() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        final AtomicInteger bakes = new AtomicInteger();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                if (bakes.incrementAndGet() == 1) {
+                    started.countDown();
+                    cancelled.await(5, TimeUnit.SECONDS);
+                }
+                return null;
+            }
+        }).when(oven).bake(anyCollection());
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                cancelled.countDown();
+                return null;
+            }
+        }).when(oven).cancel();
+
+        queue.add(new File("first.md"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        queue.add(new File("second.md"));
+
+        verify(oven, timeout(5000)).cancel();
+        ArgumentCaptor<Collection<File>> files = filesCaptor();
+        verify(oven, timeout(5000).times(2)).bake(files.capture());
+        assertThat(files.getAllValues().get(1)).containsExactly(new File("first.md"), new File("second.md"));
+    }
+
+    @Test
+    public void shouldKeepBakingSessionOpenUntilStopped() {
+        queue.add(new File("first.md"));
+        verify(oven, timeout(5000)).bake(anyCollection());
+        queue.add(new File("second.md"));
+        verify(oven, timeout(5000).times(2)).bake(anyCollection());
+        verify(oven, never()).closeSession();
+
+        queue.stop();
+
+        verify(oven, timeout(5000)).closeSession();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<Collection<File>> filesCaptor() {
+        return ArgumentCaptor.forClass((Class) Collection.class);
+    }
+}
@@ -67,6 +67,7 @@ public class MainTest extends LoggingTest {
         main.run(args);
 
         verify(mockJetty).run(expectedOutput.getPath(),configuration);
+        verify(mockWatcher).stop();
     }
 
     @Test
@@ -1,10 +1,12 @@
 package org.jbake.render;
 
+import org.jbake.app.ContentChange;
 import org.jbake.app.ContentStore;
 import org.jbake.app.Crawler.Attributes;
 import org.jbake.app.DocumentList;
 import org.jbake.app.Renderer;
 import org.jbake.app.configuration.JBakeConfiguration;
+import org.jbake.model.DocumentAttributes;
 import org.jbake.model.DocumentTypes;
 import org.jbake.template.RenderingException;
 import org.junit.Before;
@@ -16,6 +18,8 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.Captor;
 import org.mockito.MockitoAnnotations;
 
+import java.util.Arrays;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -164,10 +168,115 @@ public class DocumentsRendererTest {
         assertThat(renderResponse).isEqualTo(4);
     }
 
+    @Test
+    public void shouldRenderDocumentsInParallel() throws Exception {
+        DocumentTypes.addDocumentType("customType");
+
+        DocumentList documents = new DocumentList();
+        for (int i = 0; i < 10; i++) {
+            documents.add(simpleDocument("Document " + i));
+        }
+
+        when(db.getUnrenderedContent(anyString())).thenReturn(emptyDocumentList);
+        when(db.getUnrenderedContent("customType")).thenReturn(documents);
+        when(configuration.getRenderThreads()).thenReturn(3);
+
+        int renderResponse = documentsRenderer.render(renderer, db, configuration);
+
+        verify(renderer, times(10)).render(argument.capture());
+
+        Map<String, Object> fifthDoc = simpleDocument("Document 5");
+        fifthDoc.put("nextContent", simpleDocument("Document 4"));
+        fifthDoc.put("previousContent", simpleDocument("Document 6"));
+
+        assertThat(argument.getAllValues()).contains(fifthDoc);
+        assertThat(renderResponse).isEqualTo(10);
+    }
+
+    @Test
+    public void shouldCollectErrorMessagesWhenRenderingInParallel() throws Exception {
+        String fakeExceptionMessage = "fake exception";
+        // expect
+        exception.expect(RenderingException.class);
+        exception.expectMessage(fakeExceptionMessage + "\n" + fakeExceptionMessage + "\n" + fakeExceptionMessage);
+
+        // given
+        DocumentTypes.addDocumentType("customType");
+
+        DocumentList documentList = new DocumentList();
+        documentList.add(emptyDocument());
+        documentList.add(emptyDocument());
+        documentList.add(emptyDocument());
+
+        doThrow(new Exception(fakeExceptionMessage)).when(renderer).render(ArgumentMatchers.<String, Object>anyMap());
+        when(db.getUnrenderedContent(anyString())).thenReturn(emptyDocumentList);
+        when(db.getUnrenderedContent("customType")).thenReturn(documentList);
+        when(configuration.getRenderThreads()).thenReturn(2);
+
+        // when
+        documentsRenderer.render(renderer, db, configuration);
+    }
+
+    @Test
+    public void shouldRenderChangedDocumentAndItsNeighbours() throws Exception {
+        DocumentTypes.addDocumentType("customType");
+
+        DocumentList documents = new DocumentList();
+        documents.add(storedDocument("Fourth Document"));
+        documents.add(storedDocument("Third Document"));
+        documents.add(storedDocument("Second Document"));
+        documents.add(storedDocument("First Document"));
+        when(db.getAllContent("customType")).thenReturn(documents);
+
+        // the second document moved between the third and the fourth one
+        Map<String, Object> previous = storedDocument("Second Document");
+        previous.put(Attributes.DATE, new Date(0));
+        ContentChange change = new ContentChange(null, "Second_Document", previous, documents.get(2),
+            Arrays.asList("Fourth_Document", "Third_Document"));
+
+        int renderResponse = documentsRenderer.render(renderer, db, configuration, change);
+
+        verify(renderer, times(4)).render(argument.capture());
+        assertThat(renderResponse).isEqualTo(4);
+        verify(db).markContentAsRendered("customType");
+    }
+
+    @Test
+    public void shouldOnlyRenderChangedDocumentIfItsSummaryIsUnchanged() throws Exception {
+        DocumentTypes.addDocumentType("customType");
+
+        DocumentList documents = new DocumentList();
+        documents.add(storedDocument("Third Document"));
+        documents.add(storedDocument("Second Document"));
+        documents.add(storedDocument("First Document"));
+        when(db.getAllContent("customType")).thenReturn(documents);
+
+        Map<String, Object> previous = storedDocument("Second Document");
+        previous.put(Attributes.BODY, "previous body");
+        ContentChange change = new ContentChange(null, "Second_Document", previous, documents.get(1),
+            Arrays.asList("Third_Document", "First_Document"));
+
+        int renderResponse = documentsRenderer.render(renderer, db, configuration, change);
+
+        verify(renderer, times(1)).render(argument.capture());
+        assertThat(argument.getValue().get(Attributes.TITLE)).isEqualTo("Second Document");
+        assertThat(argument.getValue().get("nextContent")).isEqualTo(simpleDocument("Third Document"));
+        assertThat(argument.getValue().get("previousContent")).isEqualTo(simpleDocument("First Document"));
+        assertThat(renderResponse).isEqualTo(1);
+    }
+
     private HashMap<String, Object> emptyDocument() {
         return new HashMap<>();
     }
 
+    private Map<String, Object> storedDocument(String title) {
+        Map<String, Object> document = simpleDocument(title);
+        document.put(String.valueOf(DocumentAttributes.SOURCE_URI), document.get(Attributes.URI));
+        document.put(Attributes.TYPE, "customType");
+        document.put(Attributes.DATE, new Date(1000));
+        return document;
+    }
+
     private Map<String, Object> simpleDocument(String title) {
         Map<String, Object> simpleDoc = new HashMap<>();
         String uri = title.replace(" ", "_");
@@ -1,14 +1,20 @@
 package org.jbake.render;
 
+import org.jbake.app.ContentChange;
 import org.jbake.app.ContentStore;
+import org.jbake.app.Crawler.Attributes;
 import org.jbake.app.Renderer;
 import org.jbake.app.configuration.DefaultJBakeConfiguration;
 import org.jbake.app.configuration.JBakeConfiguration;
 import org.jbake.template.RenderingException;
 import org.junit.Test;
+import org.mockito.ArgumentMatchers;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -109,6 +115,51 @@ public class TagsRendererTest {
 
         verify(mockRenderer, never()).renderTags(anyString());
     }
-}
 
+    @Test
+    public void rendersOnlyTagsOfChangedDocument() throws Exception {
+        TagsRenderer renderer = new TagsRenderer();
+
+        JBakeConfiguration configuration = mock(DefaultJBakeConfiguration.class);
+        when(configuration.getRenderTags()).thenReturn(true);
+        when(configuration.getTagPathName()).thenReturn("mocktagpath");
+
+        ContentStore contentStore = mock(ContentStore.class);
+        when(contentStore.getAllTags()).thenReturn(new HashSet<>(Arrays.asList("kept", "gained", "unrelated")));
+        Renderer mockRenderer = mock(Renderer.class);
+        when(mockRenderer.renderTags(anyString(), ArgumentMatchers.<String>anyCollection())).thenReturn(3);
+
+        ContentChange change = new ContentChange(null, "post.html", post("kept", "lost"), post("kept", "gained"),
+            Collections.<String>emptyList());
+        int renderResponse = renderer.render(mockRenderer, contentStore, configuration, change);
+
+        assertThat(renderResponse).isEqualTo(3);
+        verify(mockRenderer, times(1)).renderTags("mocktagpath", new HashSet<>(Arrays.asList("kept", "gained")));
+        verify(mockRenderer, never()).renderTags(anyString());
+    }
 
+    @Test
+    public void doesNotRenderTagsOfDraftDocument() throws Exception {
+        TagsRenderer renderer = new TagsRenderer();
+
+        JBakeConfiguration configuration = mock(DefaultJBakeConfiguration.class);
+        when(configuration.getRenderTags()).thenReturn(true);
+        ContentStore contentStore = mock(ContentStore.class);
+        Renderer mockRenderer = mock(Renderer.class);
+
+        Map<String, Object> draft = post("tag");
+        draft.put(Attributes.STATUS, Attributes.Status.DRAFT);
+        ContentChange change = new ContentChange(null, "post.html", null, draft, Collections.<String>emptyList());
+
+        assertThat(renderer.render(mockRenderer, contentStore, configuration, change)).isEqualTo(0);
+        verify(mockRenderer, never()).renderTags(anyString(), ArgumentMatchers.<String>anyCollection());
+    }
+
+    private Map<String, Object> post(String... tags) {
+        Map<String, Object> post = new HashMap<>();
+        post.put(Attributes.TYPE, "post");
+        post.put(Attributes.STATUS, Attributes.Status.PUBLISHED);
+        post.put(Attributes.TAGS, tags);
+        return post;
+    }
+}
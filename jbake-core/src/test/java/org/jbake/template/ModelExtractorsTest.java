@@ -1,11 +1,23 @@
 package org.jbake.template;
 
+import org.jbake.app.ContentStore;
+import org.jbake.app.Crawler;
+import org.jbake.app.InMemoryContentStore;
+import org.jbake.model.DocumentAttributes;
 import org.jbake.model.DocumentTypes;
 import org.junit.After;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class ModelExtractorsTest {
@@ -100,4 +112,82 @@ public class ModelExtractorsTest {
         assertThat(ModelExtractors.getInstance().keySet().size()).isEqualTo(15);
 
     }
+
+    @Test
+    public void shouldReuseCacheableValuesUntilStoreIsWrittenTo() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        ModelExtractors.getInstance().registerEngine("counted", new CacheableModelExtractor<Integer>() {
+            @Override
+            public Integer get(ContentStore db, Map model, String key) {
+                return calls.incrementAndGet();
+            }
+
+            @Override
+            public Object getCacheKey(ContentStore db, Map model, String key) {
+                return model.get("page");
+            }
+        });
+        InMemoryContentStore db = new InMemoryContentStore();
+        db.startup();
+        Map<String, Object> model = new HashMap<>();
+        model.put("page", 1);
+
+        assertThat(extract(db, model)).isEqualTo(1);
+        assertThat(extract(db, model)).isEqualTo(1);
+
+        model.put("page", 2);
+        assertThat(extract(db, model)).isEqualTo(2);
+
+        Map<String, Object> post = new HashMap<>();
+        post.put(Crawler.Attributes.TYPE, "post");
+        post.put(DocumentAttributes.SOURCE_URI.toString(), "post.html");
+        post.put(DocumentAttributes.SHA1.toString(), "sha1");
+        post.put(Crawler.Attributes.DATE, new Date());
+        db.saveAll(Collections.singletonList(post));
+        assertThat(extract(db, model)).isEqualTo(3);
+        db.close();
+    }
+
+    @Test
+    public void shouldBuildTagsModelFromPublishedDocuments() throws Exception {
+        InMemoryContentStore db = new InMemoryContentStore();
+        db.startup();
+        db.saveAll(Arrays.asList(
+            document("post", "old-post.html", "published", 1000L, "java"),
+            document("post", "new-post.html", "published", 2000L, "java", "blog"),
+            document("post", "draft.html", "draft", 3000L, "java"),
+            document("page", "about.html", "published", 500L, "java")));
+        Map<String, Object> config = new HashMap<>();
+        config.put("tag_path", "tags");
+        config.put("output_extension", ".html");
+        Map<String, Object> model = new HashMap<>();
+        model.put("config", config);
+
+        List<?> tags = (List<?>) ModelExtractors.getInstance().extractAndTransform(db, "tags", model, new TemplateEngineAdapter.NoopAdapter());
+
+        assertThat(tags).hasSize(2);
+        Map<?, ?> java = (Map<?, ?>) ("java".equals(((Map<?, ?>) tags.get(0)).get("name")) ? tags.get(0) : tags.get(1));
+        assertThat(java.get("uri")).isEqualTo("tags/java.html");
+        assertThat((List<?>) java.get("tagged_posts")).extracting("uri").containsExactly("new-post.html", "old-post.html");
+        assertThat((List<?>) java.get("tagged_documents")).extracting("uri")
+            .containsExactlyInAnyOrder("new-post.html", "old-post.html", "about.html");
+        db.close();
+    }
+
+    private Map<String, Object> document(String type, String uri, String status, long date, String... tags) {
+        Map<String, Object> document = new HashMap<>();
+        document.put(Crawler.Attributes.TYPE, type);
+        document.put(DocumentAttributes.SOURCE_URI.toString(), uri);
+        document.put(Crawler.Attributes.URI, uri);
+        document.put(DocumentAttributes.SHA1.toString(), "sha1");
+        document.put(Crawler.Attributes.STATUS, status);
+        document.put(Crawler.Attributes.DATE, new Date(date));
+        document.put(Crawler.Attributes.TAGS, tags);
+        return document;
+    }
+
+    private Object extract(ContentStore db, Map<String, Object> model) throws Exception {
+        return ModelExtractors.getInstance().extractAndTransform(db, "counted", model, new TemplateEngineAdapter.NoopAdapter());
+    }
+
 }
@@ -0,0 +1,135 @@
+package org.jbake.template;
+
+import org.apache.commons.io.FileUtils;
+import org.jbake.TestUtils;
+import org.jbake.app.ContentStore;
+import org.jbake.app.Crawler;
+import org.jbake.app.InMemoryContentStore;
+import org.jbake.app.configuration.ConfigUtil;
+import org.jbake.app.configuration.DefaultJBakeConfiguration;
+import org.jbake.model.DocumentAttributes;
+import org.jbake.model.DocumentTypes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TemplateDependenciesTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private DefaultJBakeConfiguration config;
+    private ContentStore db;
+    private File templateFolder;
+
+    @Before
+    public void setUp() throws Exception {
+        DocumentTypes.resetDocumentTypes();
+        config = (DefaultJBakeConfiguration) new ConfigUtil().loadConfig(TestUtils.getTestResourcesAsSourceFolder());
+        templateFolder = folder.newFolder("templates");
+        config.setTemplateFolder(templateFolder);
+
+        write("page.ftl", "<#include \"header.ftl\">${content.body}");
+        write("post.ftl", "<#include \"footer.ftl\">${content.body}");
+        write("header.ftl", "<h1>header</h1>");
+        write("footer.ftl", "<#include \"common/copyright\"><p>footer</p>");
+        write("common/copyright.ftl", "<p>copyright</p>");
+        write("unused.ftl", "<p>unused</p>");
+
+        db = new InMemoryContentStore();
+        db.startup();
+        db.saveAll(Arrays.asList(document("page", "about.html"), document("post", "first.html")));
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void shouldFindTransitiveDependencies() {
+        TemplateDependencies dependencies = new TemplateDependencies(config);
+        dependencies.scan();
+
+        assertThat(dependencies.getTemplates("page")).containsOnly("page.ftl", "header.ftl");
+        assertThat(dependencies.getTemplates("post")).containsOnly("post.ftl", "footer.ftl", "common/copyright.ftl");
+    }
+
+    @Test
+    public void shouldOnlyInvalidateDocumentTypesDependingOnChangedTemplate() throws Exception {
+        assertThat(new TemplateDependencies(config).invalidateChangedTemplates(db)).contains("page", "post");
+        markAllAsRendered();
+
+        assertThat(new TemplateDependencies(config).invalidateChangedTemplates(db)).isEmpty();
+        assertThat(db.getUnrenderedContent("page")).isEmpty();
+
+        write("common/copyright.ftl", "<p>copyright 2024</p>");
+
+        assertThat(new TemplateDependencies(config).invalidateChangedTemplates(db)).containsExactly("post");
+        assertThat(db.getUnrenderedContent("page")).isEmpty();
+        assertThat(db.getUnrenderedContent("post")).hasSize(1);
+        assertThat(db.getDocumentCount("post")).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldInvalidateAllDocumentTypesWhenUnreferencedTemplateChanges() throws Exception {
+        new TemplateDependencies(config).invalidateChangedTemplates(db);
+        markAllAsRendered();
+
+        write("unused.ftl", "<p>maybe used after all</p>");
+
+        assertThat(new TemplateDependencies(config).invalidateChangedTemplates(db)).contains("page", "post");
+        assertThat(db.getUnrenderedContent("page")).hasSize(1);
+        assertThat(db.getUnrenderedContent("post")).hasSize(1);
+    }
+
+    @Test
+    public void shouldNotInvalidateDocumentTypesWhenTagTemplateChanges() throws Exception {
+        write("tags.ftl", "<#include \"menu.ftl\"><#list tag_posts as post>${post.title}</#list>");
+        write("menu.ftl", "<ul></ul>");
+        new TemplateDependencies(config).invalidateChangedTemplates(db);
+        markAllAsRendered();
+
+        write("tags.ftl", "<#include \"menu.ftl\"><#list tag_posts as post>${post.uri}</#list>");
+        write("menu.ftl", "<ul><li>tags</li></ul>");
+
+        assertThat(new TemplateDependencies(config).invalidateChangedTemplates(db)).isEmpty();
+        assertThat(db.getUnrenderedContent("page")).isEmpty();
+        assertThat(db.getUnrenderedContent("post")).isEmpty();
+    }
+
+    private void markAllAsRendered() {
+        db.markContentAsRendered("page");
+        db.markContentAsRendered("post");
+        assertThat(db.getUnrenderedContent("page")).isEmpty();
+        assertThat(db.getUnrenderedContent("post")).isEmpty();
+    }
+
+    private void write(String path, String content) throws Exception {
+        FileUtils.write(new File(templateFolder, path), content, StandardCharsets.UTF_8);
+    }
+
+    private Map<String, Object> document(String type, String uri) {
+        Map<String, Object> document = new HashMap<>();
+        document.put(Crawler.Attributes.TYPE, type);
+        document.put(Crawler.Attributes.URI, uri);
+        document.put(Crawler.Attributes.STATUS, Crawler.Attributes.Status.PUBLISHED);
+        document.put(Crawler.Attributes.DATE, new Date());
+        document.put(DocumentAttributes.SOURCE_URI.toString(), uri);
+        document.put(DocumentAttributes.SHA1.toString(), "sha-" + uri);
+        document.put(DocumentAttributes.RENDERED.toString(), false);
+        document.put(DocumentAttributes.CACHED.toString(), true);
+        return document;
+    }
+}
@@ -0,0 +1,44 @@
+package org.jbake.template;
+
+import org.jbake.TestUtils;
+import org.jbake.app.InMemoryContentStore;
+import org.jbake.app.configuration.ConfigUtil;
+import org.jbake.app.configuration.DefaultJBakeConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TemplateEnginesTest {
+
+    private TemplateEngines engines;
+
+    @Before
+    public void setUp() throws Exception {
+        DefaultJBakeConfiguration config = (DefaultJBakeConfiguration) new ConfigUtil().loadConfig(TestUtils.getTestResourcesAsSourceFolder());
+        engines = new TemplateEngines(config, new InMemoryContentStore());
+    }
+
+    @Test
+    public void shouldShareThreadSafeEngines() throws Exception {
+        AbstractTemplateEngine first = engines.acquireEngine("ftl");
+        AbstractTemplateEngine second = engines.acquireEngine("ftl");
+
+        assertThat(first.isThreadSafe()).isTrue();
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    public void shouldReuseIdleInstancesOfEnginesWhichAreNotThreadSafe() throws Exception {
+        AbstractTemplateEngine registered = engines.getEngine("groovy");
+        AbstractTemplateEngine first = engines.acquireEngine("groovy");
+        AbstractTemplateEngine second = engines.acquireEngine("groovy");
+
+        assertThat(first.isThreadSafe()).isFalse();
+        assertThat(first).isSameAs(registered);
+        assertThat(second).isNotSameAs(first);
+
+        engines.releaseEngine(second);
+        assertThat(engines.acquireEngine("groovy")).isSameAs(second);
+    }
+}